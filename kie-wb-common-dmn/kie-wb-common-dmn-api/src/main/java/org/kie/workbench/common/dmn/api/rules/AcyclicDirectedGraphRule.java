@@ -85,6 +85,9 @@ public class AcyclicDirectedGraphRule extends RuleExtensionHandler<AcyclicDirect
 
                                 final Set<Node> inProgress = new HashSet<>();
 
+                                //Nodes whose descendants have all been checked; shared sub-paths are not walked again
+                                final Set<Node> visited = new HashSet<>();
+
                                 @Override
                                 public void startGraphTraversal(final Graph graph) {
                                 }
@@ -94,6 +97,9 @@ public class AcyclicDirectedGraphRule extends RuleExtensionHandler<AcyclicDirect
                                     if (inProgress.contains(node)) {
                                         throw new DirectedAcrylicGraphViolationException();
                                     }
+                                    if (!visited.add(node)) {
+                                        return false;
+                                    }
                                     inProgress.add(node);
                                     return true;
                                 }
@@ -146,4 +146,60 @@ public class AcyclicDirectedGraphRuleTest extends BaseGraphRuleTest<AcyclicDirec
         assertEquals(AcyclicDirectedGraphRule.ERROR_MESSAGE,
                      violation.getArguments().get()[0]);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkSharedSubPathsAreWalkedOnce() {
+        //A chain of diamonds has 2^n distinct paths; each node must only be walked once
+        final int diamonds = 64;
+        Node head = new NodeImpl<>("node0");
+        final Node root = head;
+        graph.addNode(root);
+        for (int i = 1; i <= diamonds; i++) {
+            final Node left = new NodeImpl<>("left" + i);
+            final Node right = new NodeImpl<>("right" + i);
+            final Node tail = new NodeImpl<>("node" + i);
+            graph.addNode(left);
+            graph.addNode(right);
+            graph.addNode(tail);
+            connectNodes(head,
+                         left,
+                         new EdgeImpl<>("edge" + i + "-1"));
+            connectNodes(head,
+                         right,
+                         new EdgeImpl<>("edge" + i + "-2"));
+            connectNodes(left,
+                         tail,
+                         new EdgeImpl<>("edge" + i + "-3"));
+            connectNodes(right,
+                         tail,
+                         new EdgeImpl<>("edge" + i + "-4"));
+            head = tail;
+        }
+
+        final Node leaf = new NodeImpl<>("leaf");
+        graph.addNode(leaf);
+        when(context.getSource()).thenReturn(Optional.of(head));
+        when(context.getTarget()).thenReturn(Optional.of(leaf));
+
+        final RuleViolations acyclic = check.evaluate(rule,
+                                                      context);
+        assertFalse(acyclic.violations().iterator().hasNext());
+
+        when(context.getTarget()).thenReturn(Optional.of(root));
+
+        final RuleViolations cyclic = check.evaluate(rule,
+                                                     context);
+        assertTrue(cyclic.violations().iterator().hasNext());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void connectNodes(final Node source,
+                              final Node target,
+                              final Edge connector) {
+        source.getOutEdges().add(connector);
+        target.getInEdges().add(connector);
+        connector.setSourceNode(source);
+        connector.setTargetNode(target);
+    }
 }
@@ -0,0 +1,636 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.backend;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+
+/**
+ * Compact binary encoding of a DMN graph, as an alternative to Errai's JSON.
+ * <p>
+ * The content starts with the <code>DMNC</code> magic bytes and the format version, followed by the graph, its nodes
+ * and its edges, with the edges referring to their source and target nodes by index. Element contents, such as the
+ * DMN v1_1 definitions, are encoded field by field following {@link DMNCompactGraphSchema}: the first time a type is
+ * written, its name and the names of its fields are written too, and its values are then written in that order. Only
+ * the types and fields of the schema are read, any other one found in the content fails the read. Strings are written
+ * once and then referred to by index.
+ * <p>
+ * Version 2 is the first one written following an explicit schema, any change to the fields of the schema must bump
+ * the version.
+ */
+public class DMNCompactGraphMarshaller {
+
+    static final byte[] MAGIC = new byte[]{'D', 'M', 'N', 'C'};
+    static final int VERSION = 2;
+
+    // Guards the reader against content nesting values deep enough to exhaust the stack.
+    private static final int MAX_DEPTH = 256;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+    private static final int INTEGER = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int INTEGRAL_DOUBLE = 7;
+    private static final int FLOAT = 8;
+    private static final int SHORT = 9;
+    private static final int BYTE = 10;
+    private static final int CHARACTER = 11;
+    private static final int ENUM = 12;
+    private static final int LIST = 13;
+    private static final int SET = 14;
+    private static final int MAP = 15;
+    private static final int OBJECT = 16;
+
+    /**
+     * @return <code>true</code> if the given header, the first bytes of some content, is the one of this format.
+     */
+    public static boolean accepts(final byte[] header,
+                                  final int length) {
+        if (length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void marshall(final Graph graph,
+                         final OutputStream output) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        new GraphWriter(out).write(graph);
+        out.flush();
+    }
+
+    public Graph unmarshall(final InputStream input) throws IOException {
+        return new GraphReader(new DataInputStream(input)).read();
+    }
+
+    private static class GraphWriter {
+
+        private final DataOutputStream out;
+        private final DMNCompactGraphSchema schema = DMNCompactGraphSchema.get();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, Integer> types = new HashMap<>();
+
+        private GraphWriter(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void write(final Graph graph) throws IOException {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeString(graph.getUUID());
+            writeLabels(graph);
+            writeValue(graph.getContent());
+
+            final Map<Node, Integer> nodeIndexes = new IdentityHashMap<>();
+            final List<Node> nodes = new ArrayList<>();
+            for (Object node : graph.nodes()) {
+                nodeIndexes.put((Node) node,
+                                nodes.size());
+                nodes.add((Node) node);
+            }
+            final Map<Edge, Integer> edgeIndexes = new IdentityHashMap<>();
+            final List<Edge> edges = new ArrayList<>();
+            for (Node<?, Edge> node : nodes) {
+                collectEdges(node.getOutEdges(),
+                             edgeIndexes,
+                             edges);
+                collectEdges(node.getInEdges(),
+                             edgeIndexes,
+                             edges);
+            }
+
+            writeVarInt(nodes.size());
+            for (Node node : nodes) {
+                writeString(node.getUUID());
+                writeLabels(node);
+                writeValue(node.getContent());
+            }
+            writeVarInt(edges.size());
+            for (Edge edge : edges) {
+                writeString(edge.getUUID());
+                writeLabels(edge);
+                writeValue(edge.getContent());
+                writeReference(nodeIndexes,
+                               edge.getSourceNode());
+                writeReference(nodeIndexes,
+                               edge.getTargetNode());
+            }
+            // Keep the order of the edges of each node.
+            for (Node<?, Edge> node : nodes) {
+                writeReferences(edgeIndexes,
+                                node.getOutEdges());
+                writeReferences(edgeIndexes,
+                                node.getInEdges());
+            }
+        }
+
+        private void collectEdges(final List<Edge> nodeEdges,
+                                  final Map<Edge, Integer> edgeIndexes,
+                                  final List<Edge> edges) {
+            if (null == nodeEdges) {
+                return;
+            }
+            for (Edge edge : nodeEdges) {
+                if (!edgeIndexes.containsKey(edge)) {
+                    edgeIndexes.put(edge,
+                                    edges.size());
+                    edges.add(edge);
+                }
+            }
+        }
+
+        private <T> void writeReference(final Map<T, Integer> indexes,
+                                        final T element) throws IOException {
+            final Integer index = null != element ? indexes.get(element) : null;
+            writeVarInt(null != index ? index + 1 : 0);
+        }
+
+        private <T> void writeReferences(final Map<T, Integer> indexes,
+                                         final List<T> elements) throws IOException {
+            if (null == elements) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(elements.size());
+            for (T element : elements) {
+                writeReference(indexes,
+                               element);
+            }
+        }
+
+        private void writeLabels(final Element<?> element) throws IOException {
+            final Set<String> labels = element.getLabels();
+            writeVarInt(labels.size());
+            for (String label : labels) {
+                writeString(label);
+            }
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            if (null == value) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                writeVarLong((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                writeVarLong((Long) value);
+            } else if (value instanceof Double) {
+                writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHARACTER);
+                out.writeChar((Character) value);
+            } else if (value instanceof Enum && schema.isEnumType(((Enum) value).getDeclaringClass())) {
+                out.writeByte(ENUM);
+                writeType(((Enum) value).getDeclaringClass(),
+                          null);
+                writeString(((Enum) value).name());
+            } else if (value instanceof List) {
+                out.writeByte(LIST);
+                writeValues((Collection<?>) value);
+            } else if (value instanceof Set) {
+                out.writeByte(SET);
+                writeValues((Collection<?>) value);
+            } else if (value instanceof Map) {
+                out.writeByte(MAP);
+                final Map<?, ?> map = (Map<?, ?>) value;
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                final DMNCompactGraphSchema.ObjectType type = schema.getObjectType(value.getClass());
+                if (null == type) {
+                    throw new IllegalArgumentException("Type [" + value.getClass().getName() + "] is not supported.");
+                }
+                out.writeByte(OBJECT);
+                writeType(value.getClass(),
+                          type);
+                try {
+                    for (Field field : type.getFields()) {
+                        writeValue(field.get(value));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+
+        private void writeValues(final Collection<?> values) throws IOException {
+            writeVarInt(values.size());
+            for (Object value : values) {
+                writeValue(value);
+            }
+        }
+
+        // Most coordinates and sizes are integral values, these are written as variable length integers.
+        private void writeDouble(final double value) throws IOException {
+            final long integral = (long) value;
+            if (integral == value && Math.abs(integral) < (1L << 48) && !(value == 0 && 1 / value < 0)) {
+                out.writeByte(INTEGRAL_DOUBLE);
+                writeVarLong(integral);
+            } else {
+                out.writeByte(DOUBLE);
+                out.writeDouble(value);
+            }
+        }
+
+        // Writes a reference to the type, and its name and field names the first time it's written.
+        private void writeType(final Class<?> type,
+                               final DMNCompactGraphSchema.ObjectType objectType) throws IOException {
+            final Integer index = types.get(type);
+            if (null != index) {
+                writeVarInt(index + 1);
+                return;
+            }
+            types.put(type,
+                      types.size());
+            writeVarInt(0);
+            writeString(type.getName());
+            if (null != objectType) {
+                writeVarInt(objectType.getFields().size());
+                for (Field field : objectType.getFields()) {
+                    writeString(field.getName());
+                }
+            }
+        }
+
+        // 0 is null, 1 is a new string that follows, any other value refers to a string already written.
+        private void writeString(final String value) throws IOException {
+            if (null == value) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (null != index) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(value,
+                        strings.size());
+            writeVarInt(1);
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.writeByte(v);
+        }
+
+        // Zig-zag encoded, so small negative values are short too.
+        private void writeVarLong(final long value) throws IOException {
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                out.writeByte((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.writeByte((int) v);
+        }
+    }
+
+    private static class GraphReader {
+
+        private final DMNCompactGraphSchema schema = DMNCompactGraphSchema.get();
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final List<TypeEntry> types = new ArrayList<>();
+        private int depth;
+
+        private GraphReader(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Graph read() throws IOException {
+            final byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!accepts(magic,
+                         magic.length)) {
+                throw new IOException("The content is not a compact DMN graph.");
+            }
+            final int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Compact DMN graph version [" + version + "] is not supported.");
+            }
+            final GraphImpl graph = new GraphImpl(readString(),
+                                                  new GraphNodeStoreImpl());
+            readLabels(graph);
+            graph.setContent(readValue());
+
+            final int nodeCount = readSize();
+            final List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < nodeCount; i++) {
+                final NodeImpl node = new NodeImpl(readString());
+                readLabels(node);
+                node.setContent(readValue());
+                nodes.add(node);
+            }
+            final int edgeCount = readSize();
+            final List<Edge> edges = new ArrayList<>();
+            for (int i = 0; i < edgeCount; i++) {
+                final EdgeImpl edge = new EdgeImpl(readString());
+                readLabels(edge);
+                edge.setContent(readValue());
+                edge.setSourceNode(readReference(nodes));
+                edge.setTargetNode(readReference(nodes));
+                edges.add(edge);
+            }
+            for (Node<?, Edge> node : nodes) {
+                readReferences(edges,
+                               node.getOutEdges());
+                readReferences(edges,
+                               node.getInEdges());
+                graph.addNode(node);
+            }
+            return graph;
+        }
+
+        private <T> T readReference(final List<T> elements) throws IOException {
+            final int index = readVarInt();
+            if (index < 0 || index > elements.size()) {
+                throw new IOException("Unexpected reference [" + index + "].");
+            }
+            return index > 0 ? elements.get(index - 1) : null;
+        }
+
+        private <T> void readReferences(final List<T> elements,
+                                        final List<T> target) throws IOException {
+            final int size = readSize();
+            for (int i = 0; i < size; i++) {
+                target.add(readReference(elements));
+            }
+        }
+
+        private void readLabels(final Element<?> element) throws IOException {
+            final int size = readSize();
+            for (int i = 0; i < size; i++) {
+                element.getLabels().add(readString());
+            }
+        }
+
+        private Object readValue() throws IOException {
+            if (++depth > MAX_DEPTH) {
+                throw new IOException("Values nested deeper than [" + MAX_DEPTH + "] levels.");
+            }
+            try {
+                return readTaggedValue(in.readUnsignedByte());
+            } finally {
+                depth--;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readTaggedValue(final int tag) throws IOException {
+            switch (tag) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString();
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INTEGER:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case DOUBLE:
+                    return in.readDouble();
+                case INTEGRAL_DOUBLE:
+                    return (double) readVarLong();
+                case FLOAT:
+                    return in.readFloat();
+                case SHORT:
+                    return in.readShort();
+                case BYTE:
+                    return in.readByte();
+                case CHARACTER:
+                    return in.readChar();
+                case ENUM:
+                    final TypeEntry enumType = readType();
+                    if (null == enumType.enumType) {
+                        throw new IOException("Type [" + enumType.name + "] is not an enum.");
+                    }
+                    final String constant = readString();
+                    try {
+                        return Enum.valueOf(enumType.enumType,
+                                            constant);
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        throw new IOException("Constant [" + constant + "] not found in [" + enumType.name + "].",
+                                              e);
+                    }
+                case LIST:
+                    return readValues(new ArrayList<>());
+                case SET:
+                    return readValues(new LinkedHashSet<>());
+                case MAP:
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    final int entries = readSize();
+                    for (int i = 0; i < entries; i++) {
+                        map.put(readValue(),
+                                readValue());
+                    }
+                    return map;
+                case OBJECT:
+                    final TypeEntry type = readType();
+                    if (null == type.objectType) {
+                        throw new IOException("Type [" + type.name + "] is not an object type.");
+                    }
+                    final Object object = type.objectType.newInstance();
+                    try {
+                        for (Field field : type.fields) {
+                            field.set(object,
+                                      readValue());
+                        }
+                    } catch (IllegalAccessException | IllegalArgumentException e) {
+                        throw new IOException("Cannot read an instance of [" + type.name + "].",
+                                              e);
+                    }
+                    return object;
+                default:
+                    throw new IOException("Unexpected value tag [" + tag + "].");
+            }
+        }
+
+        private Collection<Object> readValues(final Collection<Object> values) throws IOException {
+            final int size = readSize();
+            for (int i = 0; i < size; i++) {
+                values.add(readValue());
+            }
+            return values;
+        }
+
+        // Types are only looked up in the schema, the names of the fields written must all be part of it.
+        private TypeEntry readType() throws IOException {
+            final int index = readVarInt();
+            if (index < 0 || index > types.size()) {
+                throw new IOException("Unexpected type reference [" + index + "].");
+            }
+            if (index > 0) {
+                return types.get(index - 1);
+            }
+            final String name = readString();
+            final TypeEntry entry;
+            final DMNCompactGraphSchema.ObjectType objectType = schema.getObjectType(name);
+            if (null != objectType) {
+                final Field[] fields = new Field[readSize()];
+                final Set<String> fieldNames = new HashSet<>();
+                for (int i = 0; i < fields.length; i++) {
+                    final String fieldName = readString();
+                    fields[i] = objectType.getField(fieldName);
+                    if (null == fields[i] || !fieldNames.add(fieldName)) {
+                        throw new IOException("Unexpected field [" + fieldName + "] in type [" + name + "].");
+                    }
+                }
+                entry = new TypeEntry(name,
+                                      objectType,
+                                      fields,
+                                      null);
+            } else if (null != schema.getEnumType(name)) {
+                entry = new TypeEntry(name,
+                                      null,
+                                      null,
+                                      schema.getEnumType(name));
+            } else {
+                throw new IOException("Type [" + name + "] is not supported.");
+            }
+            types.add(entry);
+            return entry;
+        }
+
+        private String readString() throws IOException {
+            final int index = readVarInt();
+            if (index == 0) {
+                return null;
+            }
+            if (index > 1) {
+                return strings.get(index - 2);
+            }
+            final byte[] bytes = new byte[readSize()];
+            in.readFully(bytes);
+            final String value = new String(bytes,
+                                            StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private int readSize() throws IOException {
+            final int size = readVarInt();
+            if (size < 0) {
+                throw new IOException("Unexpected size [" + size + "].");
+            }
+            return size;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static class TypeEntry {
+
+        private final String name;
+        private final DMNCompactGraphSchema.ObjectType objectType;
+        private final Field[] fields;
+        private final Class<? extends Enum> enumType;
+
+        private TypeEntry(final String name,
+                          final DMNCompactGraphSchema.ObjectType objectType,
+                          final Field[] fields,
+                          final Class<? extends Enum> enumType) {
+            this.name = name;
+            this.objectType = objectType;
+            this.fields = fields;
+            this.enumType = enumType;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.backend;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.kie.workbench.common.dmn.api.DMNDefinitionSet;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Artifact;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Association;
+import org.kie.workbench.common.dmn.api.definition.v1_1.AuthorityRequirement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Binding;
+import org.kie.workbench.common.dmn.api.definition.v1_1.BuiltinAggregator;
+import org.kie.workbench.common.dmn.api.definition.v1_1.BusinessContextElement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.BusinessKnowledgeModel;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Context;
+import org.kie.workbench.common.dmn.api.definition.v1_1.ContextEntry;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNDiagram;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNElement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNElementReference;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNModelInstrumentedBase;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DRGElement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Decision;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionRule;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionService;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionTable;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionTableOrientation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Definitions;
+import org.kie.workbench.common.dmn.api.definition.v1_1.ElementCollection;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Expression;
+import org.kie.workbench.common.dmn.api.definition.v1_1.FunctionDefinition;
+import org.kie.workbench.common.dmn.api.definition.v1_1.HitPolicy;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Import;
+import org.kie.workbench.common.dmn.api.definition.v1_1.ImportedValues;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InformationItem;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InformationRequirement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InputClause;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InputData;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Invocation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.ItemDefinition;
+import org.kie.workbench.common.dmn.api.definition.v1_1.KnowledgeRequirement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.KnowledgeSource;
+import org.kie.workbench.common.dmn.api.definition.v1_1.LiteralExpression;
+import org.kie.workbench.common.dmn.api.definition.v1_1.NamedElement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.OrganizationalUnit;
+import org.kie.workbench.common.dmn.api.definition.v1_1.OutputClause;
+import org.kie.workbench.common.dmn.api.definition.v1_1.PerformanceIndicator;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Relation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.TextAnnotation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.UnaryTests;
+import org.kie.workbench.common.dmn.api.property.background.BackgroundSet;
+import org.kie.workbench.common.dmn.api.property.background.BgColour;
+import org.kie.workbench.common.dmn.api.property.background.BorderColour;
+import org.kie.workbench.common.dmn.api.property.background.BorderSize;
+import org.kie.workbench.common.dmn.api.property.dimensions.Height;
+import org.kie.workbench.common.dmn.api.property.dimensions.RectangleDimensionsSet;
+import org.kie.workbench.common.dmn.api.property.dimensions.Width;
+import org.kie.workbench.common.dmn.api.property.dmn.AllowedAnswers;
+import org.kie.workbench.common.dmn.api.property.dmn.Description;
+import org.kie.workbench.common.dmn.api.property.dmn.ExpressionLanguage;
+import org.kie.workbench.common.dmn.api.property.dmn.Id;
+import org.kie.workbench.common.dmn.api.property.dmn.ImportType;
+import org.kie.workbench.common.dmn.api.property.dmn.ImportedElement;
+import org.kie.workbench.common.dmn.api.property.dmn.KnowledgeSourceType;
+import org.kie.workbench.common.dmn.api.property.dmn.LocationURI;
+import org.kie.workbench.common.dmn.api.property.dmn.Name;
+import org.kie.workbench.common.dmn.api.property.dmn.Namespace;
+import org.kie.workbench.common.dmn.api.property.dmn.QName;
+import org.kie.workbench.common.dmn.api.property.dmn.Question;
+import org.kie.workbench.common.dmn.api.property.dmn.Text;
+import org.kie.workbench.common.dmn.api.property.dmn.TextFormat;
+import org.kie.workbench.common.dmn.api.property.font.FontBorderSize;
+import org.kie.workbench.common.dmn.api.property.font.FontColour;
+import org.kie.workbench.common.dmn.api.property.font.FontFamily;
+import org.kie.workbench.common.dmn.api.property.font.FontSet;
+import org.kie.workbench.common.dmn.api.property.font.FontSize;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionImpl;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Parent;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Magnet;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+
+/**
+ * The types the compact DMN graph format can contain, and how each one is written.
+ * <p>
+ * Only the types registered here are written and read, any other type name found in some content is rejected. Each
+ * type declares the fields it writes, by name, and the factory used to create its instances when reading, so renaming
+ * or adding a field in the model classes fails when this schema is built instead of silently changing the format.
+ * Final fields are constants of the model classes, these are never written. Collections are always read as
+ * <code>ArrayList</code>, <code>LinkedHashSet</code> and <code>LinkedHashMap</code>.
+ */
+final class DMNCompactGraphSchema {
+
+    private static final DMNCompactGraphSchema INSTANCE = new DMNCompactGraphSchema();
+
+    private final Map<Class<?>, List<String>> declaredFields = new HashMap<>();
+    private final Map<Class<?>, ObjectType> objectTypes = new HashMap<>();
+    private final Map<String, ObjectType> objectTypesByName = new HashMap<>();
+    private final Map<String, Class<? extends Enum>> enumTypesByName = new HashMap<>();
+
+    static DMNCompactGraphSchema get() {
+        return INSTANCE;
+    }
+
+    private DMNCompactGraphSchema() {
+        // Stunner graph contents.
+        type(DefinitionSetImpl.class,
+             () -> new DefinitionSetImpl(null),
+             "id",
+             "bounds");
+        type(DefinitionImpl.class,
+             () -> new DefinitionImpl<>(null),
+             "definition");
+        type(ViewImpl.class,
+             () -> new ViewImpl<>(null,
+                                  null),
+             "definition",
+             "bounds");
+        type(ViewConnectorImpl.class,
+             () -> new ViewConnectorImpl<>(null,
+                                           null),
+             "definition",
+             "bounds",
+             "sourceMagnet",
+             "targetMagnet");
+        type(BoundsImpl.class,
+             () -> new BoundsImpl(null,
+                                  null),
+             "lr",
+             "ul");
+        type(BoundImpl.class,
+             () -> new BoundImpl(null,
+                                 null),
+             "x",
+             "y");
+        type(MagnetImpl.class,
+             () -> MagnetImpl.Builder.build((Magnet.MagnetType) null),
+             "location",
+             "magnetType");
+        type(Point2D.class,
+             () -> new Point2D(0,
+                               0),
+             "x",
+             "y");
+        type(Child.class,
+             Child::new);
+        type(Parent.class,
+             Parent::new);
+        type(Dock.class,
+             Dock::new);
+        enumType(Magnet.MagnetType.class);
+
+        // DMN definitions.
+        type(DMNDefinitionSet.class,
+             DMNDefinitionSet::new);
+        abstractType(DMNModelInstrumentedBase.class,
+                     "nameSpaces");
+        abstractType(DMNElement.class,
+                     "id",
+                     "description",
+                     "otherAttributes",
+                     "extensionElements");
+        type(DMNElement.ExtensionElements.class,
+             DMNElement.ExtensionElements::new,
+             "any");
+        abstractType(NamedElement.class,
+                     "name");
+        abstractType(DRGElement.class);
+        abstractType(Artifact.class);
+        abstractType(Expression.class,
+                     "typeRef");
+        abstractType(BusinessContextElement.class,
+                     "uri");
+        type(Association.class,
+             Association::new);
+        type(AuthorityRequirement.class,
+             AuthorityRequirement::new);
+        type(InformationRequirement.class,
+             InformationRequirement::new);
+        type(KnowledgeRequirement.class,
+             KnowledgeRequirement::new);
+        type(Binding.class,
+             Binding::new,
+             "parameter",
+             "expression");
+        type(BusinessKnowledgeModel.class,
+             BusinessKnowledgeModel::new,
+             "variable",
+             "encapsulatedLogic",
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(Context.class,
+             Context::new,
+             "contextEntry");
+        type(ContextEntry.class,
+             ContextEntry::new,
+             "variable",
+             "expression");
+        type(DMNDiagram.class,
+             DMNDiagram::new,
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(DMNElementReference.class,
+             DMNElementReference::new,
+             "href");
+        type(Decision.class,
+             Decision::new,
+             "question",
+             "allowedAnswers",
+             "variable",
+             "expression",
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(DecisionRule.class,
+             DecisionRule::new,
+             "inputEntry",
+             "outputEntry");
+        type(DecisionService.class,
+             DecisionService::new,
+             "outputDecision",
+             "encapsulatedDecision",
+             "inputDecision",
+             "inputData");
+        type(DecisionTable.class,
+             DecisionTable::new,
+             "input",
+             "output",
+             "rule",
+             "hitPolicy",
+             "aggregation",
+             "preferredOrientation",
+             "outputLabel");
+        type(Definitions.class,
+             Definitions::new,
+             "_import",
+             "itemDefinition",
+             "drgElement",
+             "artifact",
+             "elementCollection",
+             "businessContextElement",
+             "expressionLanguage",
+             "typeLanguage",
+             "namespace",
+             "exporter",
+             "exporterVersion");
+        type(ElementCollection.class,
+             ElementCollection::new,
+             "drgElement");
+        type(FunctionDefinition.class,
+             FunctionDefinition::new,
+             "expression",
+             "formalParameter");
+        type(Import.class,
+             Import::new,
+             "namespace",
+             "locationURI",
+             "importType");
+        type(ImportedValues.class,
+             ImportedValues::new,
+             "importedElement",
+             "expressionLanguage");
+        type(InformationItem.class,
+             InformationItem::new,
+             "typeRef");
+        type(InputClause.class,
+             InputClause::new,
+             "inputExpression",
+             "inputValues");
+        type(InputData.class,
+             InputData::new,
+             "variable",
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(Invocation.class,
+             Invocation::new,
+             "expression",
+             "binding");
+        type(ItemDefinition.class,
+             ItemDefinition::new,
+             "typeRef",
+             "allowedValues",
+             "itemComponent",
+             "typeLanguage",
+             "isCollection");
+        type(KnowledgeSource.class,
+             KnowledgeSource::new,
+             "type",
+             "locationURI",
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(org.kie.workbench.common.dmn.api.definition.v1_1.List.class,
+             org.kie.workbench.common.dmn.api.definition.v1_1.List::new,
+             "expression");
+        type(LiteralExpression.class,
+             LiteralExpression::new,
+             "text",
+             "importedValues",
+             "expressionLanguage");
+        type(OrganizationalUnit.class,
+             OrganizationalUnit::new,
+             "decisionMade",
+             "decisionOwned");
+        type(OutputClause.class,
+             OutputClause::new,
+             "outputValues",
+             "defaultOutputEntry",
+             "name",
+             "typeRef");
+        type(PerformanceIndicator.class,
+             PerformanceIndicator::new,
+             "impactingDecision");
+        type(Relation.class,
+             Relation::new,
+             "column",
+             "row");
+        type(TextAnnotation.class,
+             TextAnnotation::new,
+             "text",
+             "textFormat",
+             "backgroundSet",
+             "fontSet",
+             "dimensionsSet");
+        type(UnaryTests.class,
+             UnaryTests::new,
+             "text",
+             "expressionLanguage");
+        enumType(BuiltinAggregator.class);
+        enumType(DecisionTableOrientation.class);
+        enumType(HitPolicy.class);
+
+        // DMN properties.
+        type(BackgroundSet.class,
+             BackgroundSet::new,
+             "bgColour",
+             "borderColour",
+             "borderSize");
+        type(BgColour.class,
+             BgColour::new,
+             "readOnly",
+             "value");
+        type(BorderColour.class,
+             BorderColour::new,
+             "readOnly",
+             "value");
+        type(BorderSize.class,
+             BorderSize::new,
+             "readOnly",
+             "value");
+        type(RectangleDimensionsSet.class,
+             RectangleDimensionsSet::new,
+             "width",
+             "height");
+        type(Width.class,
+             Width::new,
+             "readOnly",
+             "value");
+        type(Height.class,
+             Height::new,
+             "readOnly",
+             "value");
+        type(FontSet.class,
+             FontSet::new,
+             "fontFamily",
+             "fontColour",
+             "fontSize",
+             "fontBorderSize");
+        type(FontFamily.class,
+             FontFamily::new,
+             "value");
+        type(FontColour.class,
+             FontColour::new,
+             "readOnly",
+             "value");
+        type(FontSize.class,
+             FontSize::new,
+             "readOnly",
+             "value");
+        type(FontBorderSize.class,
+             FontBorderSize::new,
+             "value");
+        type(Description.class,
+             Description::new,
+             "readOnly",
+             "value");
+        type(AllowedAnswers.class,
+             AllowedAnswers::new,
+             "value");
+        type(ExpressionLanguage.class,
+             ExpressionLanguage::new,
+             "value");
+        type(Id.class,
+             Id::new,
+             "value");
+        type(ImportType.class,
+             ImportType::new,
+             "value");
+        type(ImportedElement.class,
+             ImportedElement::new,
+             "value");
+        type(KnowledgeSourceType.class,
+             KnowledgeSourceType::new,
+             "value");
+        type(LocationURI.class,
+             LocationURI::new,
+             "value");
+        type(Name.class,
+             Name::new,
+             "value");
+        type(Namespace.class,
+             Namespace::new,
+             "value");
+        type(QName.class,
+             QName::new,
+             "value");
+        type(Question.class,
+             Question::new,
+             "value");
+        type(Text.class,
+             Text::new,
+             "value");
+        type(TextFormat.class,
+             TextFormat::new,
+             "value");
+    }
+
+    /**
+     * @return The schema of the given type, <code>null</code> if it cannot be written.
+     */
+    ObjectType getObjectType(final Class<?> type) {
+        return objectTypes.get(type);
+    }
+
+    /**
+     * @return The schema of the type with the given name, <code>null</code> if it cannot be read.
+     */
+    ObjectType getObjectType(final String name) {
+        return objectTypesByName.get(name);
+    }
+
+    boolean isEnumType(final Class<?> type) {
+        return enumTypesByName.containsKey(type.getName());
+    }
+
+    /**
+     * @return The enum type with the given name, <code>null</code> if it cannot be read.
+     */
+    Class<? extends Enum> getEnumType(final String name) {
+        return enumTypesByName.get(name);
+    }
+
+    Collection<ObjectType> getObjectTypes() {
+        return Collections.unmodifiableCollection(objectTypes.values());
+    }
+
+    private void abstractType(final Class<?> type,
+                              final String... fields) {
+        declaredFields.put(type,
+                           Arrays.asList(fields));
+    }
+
+    private <T> void type(final Class<T> type,
+                          final Supplier<? extends T> factory,
+                          final String... fields) {
+        abstractType(type,
+                     fields);
+        final ObjectType objectType = new ObjectType(type,
+                                                     factory,
+                                                     getFields(type));
+        objectTypes.put(type,
+                        objectType);
+        objectTypesByName.put(type.getName(),
+                              objectType);
+    }
+
+    private void enumType(final Class<? extends Enum> type) {
+        enumTypesByName.put(type.getName(),
+                            type);
+    }
+
+    // The fields of the type's superclasses come first, all of these must be declared too.
+    private List<Field> getFields(final Class<?> type) {
+        final List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; !Object.class.equals(c); c = c.getSuperclass()) {
+            hierarchy.add(0,
+                          c);
+        }
+        final List<Field> result = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            final List<String> names = declaredFields.get(c);
+            if (null == names) {
+                throw new IllegalStateException("No schema declared for [" + c.getName() + "], a superclass of [" + type.getName() + "].");
+            }
+            for (String name : names) {
+                result.add(getField(c,
+                                    name));
+            }
+        }
+        return result;
+    }
+
+    private static Field getField(final Class<?> type,
+                                  final String name) {
+        final Field field;
+        try {
+            field = type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Field [" + name + "] not found in [" + type.getName() + "].",
+                                            e);
+        }
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) {
+            throw new IllegalStateException("Field [" + name + "] of [" + type.getName() + "] cannot be written.");
+        }
+        field.setAccessible(true);
+        return field;
+    }
+
+    static final class ObjectType {
+
+        private final Class<?> type;
+        private final Supplier<?> factory;
+        private final List<Field> fields;
+        private final Map<String, Field> fieldsByName = new HashMap<>();
+
+        private ObjectType(final Class<?> type,
+                           final Supplier<?> factory,
+                           final List<Field> fields) {
+            this.type = type;
+            this.factory = factory;
+            this.fields = Collections.unmodifiableList(fields);
+            for (Field field : fields) {
+                if (null != fieldsByName.put(field.getName(),
+                                             field)) {
+                    throw new IllegalStateException("Field [" + field.getName() + "] is declared twice in [" + type.getName() + "].");
+                }
+            }
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        List<Field> getFields() {
+            return fields;
+        }
+
+        /**
+         * @return The field with the given name, <code>null</code> if the type doesn't write it.
+         */
+        Field getField(final String name) {
+            return fieldsByName.get(name);
+        }
+
+        Object newInstance() {
+            return factory.get();
+        }
+    }
+}
@@ -15,10 +15,16 @@
  */
 package org.kie.workbench.common.dmn.backend;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.inject.Named;
 
 import org.jboss.errai.marshalling.server.ServerMarshalling;
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
@@ -27,29 +33,61 @@ import org.kie.workbench.common.stunner.core.definition.service.DiagramMetadataM
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
 
 @ApplicationScoped
 public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> {
 
+    /**
+     * The formats a DMN graph can be stored in. Both can be read, whatever the one used to save the diagram.
+     * The format to save a diagram in can be set by the <code>DiagramMarshaller.FORMAT_OPTION</code> save option,
+     * otherwise existing assets keep the format of their stored content and new assets are saved as JSON.
+     */
+    public enum Format {
+        JSON,
+        COMPACT
+    }
+
+    private final DMNCompactGraphMarshaller compactGraphMarshaller = new DMNCompactGraphMarshaller();
     private XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
+    private IOService ioService;
 
     protected DMNMarshaller() {
-        this(null);
+        this(null,
+             null);
     }
 
-    @Inject
     public DMNMarshaller(final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller) {
+        this(diagramMetadataMarshaller,
+             null);
+    }
+
+    @Inject
+    public DMNMarshaller(final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller,
+                         final @Named("ioStrategy") IOService ioService) {
         this.diagramMetadataMarshaller = diagramMetadataMarshaller;
+        this.ioService = ioService;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Graph unmarshall(final Metadata metadata,
                             final InputStream input) throws IOException {
-        Graph result = (Graph) ServerMarshalling.fromJSON(input);
-        return result;
+        final BufferedInputStream bufferedInput = new BufferedInputStream(input);
+        bufferedInput.mark(DMNCompactGraphMarshaller.MAGIC.length);
+        final Format format = getFormat(bufferedInput);
+        bufferedInput.reset();
+        if (Format.COMPACT.equals(format)) {
+            return compactGraphMarshaller.unmarshall(bufferedInput);
+        }
+        return (Graph) ServerMarshalling.fromJSON(bufferedInput);
     }
 
+    /**
+     * Serializes the diagram's graph as JSON, as strings cannot hold the compact format.
+     */
     @Override
     @SuppressWarnings("unchecked")
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
@@ -57,8 +95,98 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
         return result;
     }
 
+    @Override
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream output) throws IOException {
+        marshall(diagram,
+                 output,
+                 Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Writes the diagram's graph in the format given by the <code>DiagramMarshaller.FORMAT_OPTION</code> save option,
+     * either a {@link Format} or its name. Without it, the format of the asset's stored content is kept, JSON for
+     * new assets.
+     */
+    @Override
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream output,
+                         final Map<String, ?> options) throws IOException {
+        Format format = null != options ? toFormat(options.get(FORMAT_OPTION)) : null;
+        if (null == format) {
+            format = getStoredFormat(null != diagram.getMetadata() ? diagram.getMetadata().getPath() : null);
+        }
+        marshall(diagram,
+                 output,
+                 format);
+    }
+
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream output,
+                         final Format format) throws IOException {
+        if (Format.COMPACT.equals(format)) {
+            compactGraphMarshaller.marshall(diagram.getGraph(),
+                                            output);
+        } else {
+            output.write(marshall(diagram).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return The format of the content stored at the given path, JSON if there is none.
+     */
+    public Format getStoredFormat(final Path path) throws IOException {
+        if (null == path) {
+            return Format.JSON;
+        }
+        try (final InputStream content = openStoredContent(path)) {
+            return null != content ? getFormat(content) : Format.JSON;
+        }
+    }
+
+    /**
+     * Reads the format from the header of the given content. The header bytes are consumed.
+     */
+    public static Format getFormat(final InputStream content) throws IOException {
+        final byte[] header = new byte[DMNCompactGraphMarshaller.MAGIC.length];
+        final int length = readHeader(content,
+                                      header);
+        return DMNCompactGraphMarshaller.accepts(header,
+                                                 length) ? Format.COMPACT : Format.JSON;
+    }
+
     @Override
     public DiagramMetadataMarshaller<Metadata> getMetadataMarshaller() {
         return diagramMetadataMarshaller;
     }
-}
\ No newline at end of file
+
+    protected InputStream openStoredContent(final Path path) {
+        if (null == ioService) {
+            return null;
+        }
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        return ioService.exists(nioPath) ? ioService.newInputStream(nioPath) : null;
+    }
+
+    private static Format toFormat(final Object option) {
+        if (null == option || option instanceof Format) {
+            return (Format) option;
+        }
+        return Format.valueOf(option.toString().trim().toUpperCase());
+    }
+
+    private static int readHeader(final InputStream input,
+                                  final byte[] header) throws IOException {
+        int length = 0;
+        while (length < header.length) {
+            final int read = input.read(header,
+                                        length,
+                                        header.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.backend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Decision;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InformationRequirement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InputData;
+import org.kie.workbench.common.dmn.api.definition.v1_1.NamedElement;
+import org.kie.workbench.common.dmn.api.property.dmn.Name;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.mockito.Mock;
+import org.uberfire.backend.vfs.Path;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DMNCompactGraphMarshallerTest {
+
+    private static final String DEFINITION_SET_ID = "org.kie.workbench.common.dmn.api.DMNDefinitionSet";
+
+    @Mock
+    private Diagram<Graph, Metadata> diagram;
+
+    @Mock
+    private Metadata metadata;
+
+    @Mock
+    private Path path;
+
+    private DMNCompactGraphMarshaller tested;
+
+    @Before
+    public void setup() throws Exception {
+        this.tested = new DMNCompactGraphMarshaller();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRoundTrip() throws Exception {
+        final Graph graph = buildGraph(10,
+                                       20);
+        final Graph result = roundTrip(graph);
+        assertGraph(graph,
+                    result);
+        final Node<View<InputData>, Edge> inputData = result.getNode("input-0");
+        assertTrue(inputData.getLabels().contains("input-data"));
+        assertEquals("Input 0",
+                     inputData.getContent().getDefinition().getName().getValue());
+        assertEquals(new BoundsImpl(new BoundImpl(0d,
+                                                  10d),
+                                    new BoundImpl(100.5d,
+                                                  60d)),
+                     inputData.getContent().getBounds());
+        final Edge<ViewConnector<InformationRequirement>, Node> edge = inputData.getOutEdges().get(0);
+        assertEquals(inputData,
+                     edge.getSourceNode());
+        assertEquals(50d,
+                     edge.getContent().getSourceMagnet().get().getLocation().getX(),
+                     0d);
+        assertEquals(25d,
+                     edge.getContent().getSourceMagnet().get().getLocation().getY(),
+                     0d);
+        assertFalse(edge.getContent().getTargetMagnet().isPresent());
+    }
+
+    @Test
+    public void testUnmarshallRejectsNewerVersions() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tested.marshall(buildGraph(1,
+                                   1),
+                        output);
+        final byte[] bytes = output.toByteArray();
+        bytes[DMNCompactGraphMarshaller.MAGIC.length] = (byte) (DMNCompactGraphMarshaller.VERSION + 1);
+        try {
+            tested.unmarshall(new ByteArrayInputStream(bytes));
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testDMNMarshallerReadsTheCompactFormat() throws Exception {
+        final Graph graph = buildGraph(5,
+                                       5);
+        when(diagram.getGraph()).thenReturn(graph);
+        final DMNMarshaller marshaller = new DMNMarshaller(null);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(diagram,
+                            output,
+                            DMNMarshaller.Format.COMPACT);
+        assertTrue(DMNCompactGraphMarshaller.accepts(output.toByteArray(),
+                                                     output.size()));
+        final Graph result = marshaller.unmarshall(null,
+                                                   new ByteArrayInputStream(output.toByteArray()));
+        assertGraph(graph,
+                    result);
+    }
+
+    @Test
+    public void testDMNMarshallerSavesInTheRequestedFormat() throws Exception {
+        final Graph graph = buildGraph(1,
+                                       1);
+        when(diagram.getGraph()).thenReturn(graph);
+        when(diagram.getMetadata()).thenReturn(metadata);
+        when(metadata.getPath()).thenReturn(path);
+        final DMNMarshaller marshaller = newMarshaller(null);
+
+        final ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        marshaller.marshall(diagram,
+                            compact,
+                            Collections.singletonMap(DiagramMarshaller.FORMAT_OPTION,
+                                                     "compact"));
+        assertEquals(DMNMarshaller.Format.COMPACT,
+                     DMNMarshaller.getFormat(new ByteArrayInputStream(compact.toByteArray())));
+
+        // New assets are saved as JSON by default.
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        marshaller.marshall(diagram,
+                            json);
+        assertEquals(DMNMarshaller.Format.JSON,
+                     DMNMarshaller.getFormat(new ByteArrayInputStream(json.toByteArray())));
+    }
+
+    @Test
+    public void testDMNMarshallerKeepsTheStoredFormat() throws Exception {
+        final Graph graph = buildGraph(1,
+                                       1);
+        when(diagram.getGraph()).thenReturn(graph);
+        when(diagram.getMetadata()).thenReturn(metadata);
+        when(metadata.getPath()).thenReturn(path);
+        final ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        tested.marshall(graph,
+                        stored);
+
+        final DMNMarshaller marshaller = newMarshaller(stored.toByteArray());
+        assertEquals(DMNMarshaller.Format.COMPACT,
+                     marshaller.getStoredFormat(path));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(diagram,
+                            output);
+        assertEquals(DMNMarshaller.Format.COMPACT,
+                     DMNMarshaller.getFormat(new ByteArrayInputStream(output.toByteArray())));
+
+        // The save option takes precedence over the stored format.
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        marshaller.marshall(diagram,
+                            json,
+                            Collections.singletonMap(DiagramMarshaller.FORMAT_OPTION,
+                                                     DMNMarshaller.Format.JSON));
+        assertEquals(DMNMarshaller.Format.JSON,
+                     DMNMarshaller.getFormat(new ByteArrayInputStream(json.toByteArray())));
+    }
+
+    private DMNMarshaller newMarshaller(final byte[] storedContent) {
+        return new DMNMarshaller(null) {
+            @Override
+            protected InputStream openStoredContent(final Path path) {
+                return null != storedContent ? new ByteArrayInputStream(storedContent) : null;
+            }
+        };
+    }
+
+    @Test
+    public void testLargeGraphRoundTrip() throws Exception {
+        final Graph graph = buildGraph(1000,
+                                       1000);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tested.marshall(graph,
+                        output);
+        assertGraph(graph,
+                    tested.unmarshall(new ByteArrayInputStream(output.toByteArray())));
+        // Type names, field names and repeated strings are written once, so each of the 2000 nodes and 1999 edges
+        // takes a few hundred bytes at most, mostly its own identifiers.
+        assertTrue("Unexpected size: " + output.size(),
+                   output.size() < 4000 * 512);
+    }
+
+    @Test
+    public void testUnmarshallRejectsTypesOutsideTheSchema() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataOutputStream out = newContent(output);
+        out.writeByte(16);
+        out.writeByte(0);
+        writeString(out,
+                    "java.util.PriorityQueue");
+        out.writeByte(0);
+        try {
+            tested.unmarshall(new ByteArrayInputStream(output.toByteArray()));
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("java.util.PriorityQueue"));
+        }
+    }
+
+    @Test
+    public void testUnmarshallRejectsFieldsOutsideTheSchema() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataOutputStream out = newContent(output);
+        out.writeByte(16);
+        out.writeByte(0);
+        writeString(out,
+                    DefinitionSetImpl.class.getName());
+        out.writeByte(1);
+        writeString(out,
+                    "unknown");
+        out.writeByte(0);
+        try {
+            tested.unmarshall(new ByteArrayInputStream(output.toByteArray()));
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+    }
+
+    @Test
+    public void testSchemaDeclaresAllFields() {
+        for (DMNCompactGraphSchema.ObjectType type : DMNCompactGraphSchema.get().getObjectTypes()) {
+            for (Class<?> c = type.getType(); !Object.class.equals(c); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                        assertTrue("Field [" + field.getName() + "] of [" + c.getName() + "] is not part of the schema of [" + type.getType().getName() + "].",
+                                   type.getFields().contains(field));
+                    }
+                }
+            }
+        }
+    }
+
+    // Starts some content with a graph with no identifier nor labels, its content value must follow.
+    private static DataOutputStream newContent(final ByteArrayOutputStream output) throws IOException {
+        final DataOutputStream out = new DataOutputStream(output);
+        out.write(DMNCompactGraphMarshaller.MAGIC);
+        out.writeByte(DMNCompactGraphMarshaller.VERSION);
+        out.writeByte(0);
+        out.writeByte(0);
+        return out;
+    }
+
+    private static void writeString(final DataOutputStream out,
+                                    final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(1);
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+
+    private Graph roundTrip(final Graph graph) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tested.marshall(graph,
+                        output);
+        return tested.unmarshall(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    // Builds a graph with the given number of input data and decision nodes, each decision requiring the input
+    // data with its same index and the previous decision.
+    @SuppressWarnings("unchecked")
+    private static Graph buildGraph(final int inputs,
+                                    final int decisions) {
+        final GraphImpl graph = new GraphImpl("graph",
+                                              new GraphNodeStoreImpl());
+        graph.getLabels().add(DEFINITION_SET_ID);
+        graph.setContent(new DefinitionSetImpl(DEFINITION_SET_ID));
+        final List<Node> inputNodes = new ArrayList<>();
+        for (int i = 0; i < inputs; i++) {
+            final InputData inputData = new InputData.InputDataBuilder().build();
+            inputData.setName(new Name("Input " + i));
+            inputNodes.add(addNode(graph,
+                                   "input-" + i,
+                                   inputData,
+                                   i * 150,
+                                   10));
+        }
+        Node previous = null;
+        for (int i = 0; i < decisions; i++) {
+            final Decision decision = new Decision.DecisionBuilder().build();
+            decision.setName(new Name("Decision " + i));
+            final Node node = addNode(graph,
+                                      "decision-" + i,
+                                      decision,
+                                      i * 150,
+                                      200);
+            if (i < inputNodes.size()) {
+                connect("input-edge-" + i,
+                        inputNodes.get(i),
+                        node);
+            }
+            if (null != previous) {
+                connect("decision-edge-" + i,
+                        previous,
+                        node);
+            }
+            previous = node;
+        }
+        return graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node addNode(final GraphImpl graph,
+                                final String uuid,
+                                final Object definition,
+                                final double x,
+                                final double y) {
+        final NodeImpl node = new NodeImpl(uuid);
+        node.getLabels().addAll(definition instanceof InputData ?
+                                        ((InputData) definition).getStunnerLabels() :
+                                        ((Decision) definition).getStunnerLabels());
+        node.setContent(new ViewImpl<>(definition,
+                                       new BoundsImpl(new BoundImpl(x,
+                                                                    y),
+                                                      new BoundImpl(x + 100.5d,
+                                                                    y + 50))));
+        graph.addNode(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void connect(final String uuid,
+                                final Node source,
+                                final Node target) {
+        final EdgeImpl edge = new EdgeImpl(uuid);
+        edge.getLabels().add("information-requirement");
+        final ViewConnectorImpl<InformationRequirement> content =
+                new ViewConnectorImpl<>(new InformationRequirement.InformationRequirementBuilder().build(),
+                                        new BoundsImpl(new BoundImpl(0d,
+                                                                     0d),
+                                                       new BoundImpl(1d,
+                                                                     1d)));
+        content.setSourceMagnet(MagnetImpl.Builder.build(50d,
+                                                         25d));
+        edge.setContent(content);
+        edge.setSourceNode(source);
+        edge.setTargetNode(target);
+        source.getOutEdges().add(edge);
+        target.getInEdges().add(edge);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertGraph(final Graph expected,
+                                    final Graph actual) {
+        assertEquals(expected.getUUID(),
+                     actual.getUUID());
+        assertEquals(expected.getLabels(),
+                     actual.getLabels());
+        assertEquals(expected.getContent().getClass(),
+                     actual.getContent().getClass());
+        int count = 0;
+        for (Object o : expected.nodes()) {
+            final Node<?, Edge> node = (Node<?, Edge>) o;
+            final Node<?, Edge> other = actual.getNode(node.getUUID());
+            assertNotNull(other);
+            assertEquals(node.getLabels(),
+                         other.getLabels());
+            assertView((View) node.getContent(),
+                       (View) other.getContent());
+            assertEdges(node.getOutEdges(),
+                        other.getOutEdges());
+            assertEdges(node.getInEdges(),
+                        other.getInEdges());
+            count++;
+        }
+        int actualCount = 0;
+        for (Object o : actual.nodes()) {
+            actualCount++;
+        }
+        assertEquals(count,
+                     actualCount);
+    }
+
+    private static void assertEdges(final List<Edge> expected,
+                                    final List<Edge> actual) {
+        assertEquals(expected.size(),
+                     actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getUUID(),
+                         actual.get(i).getUUID());
+            assertEquals(expected.get(i).getSourceNode().getUUID(),
+                         actual.get(i).getSourceNode().getUUID());
+            assertEquals(expected.get(i).getTargetNode().getUUID(),
+                         actual.get(i).getTargetNode().getUUID());
+            assertView((View) expected.get(i).getContent(),
+                       (View) actual.get(i).getContent());
+        }
+    }
+
+    private static void assertView(final View expected,
+                                   final View actual) {
+        assertEquals(expected.getClass(),
+                     actual.getClass());
+        assertEquals(expected.getBounds(),
+                     actual.getBounds());
+        final Object definition = expected.getDefinition();
+        final Object other = actual.getDefinition();
+        assertEquals(definition.getClass(),
+                     other.getClass());
+        if (definition instanceof NamedElement) {
+            assertEquals(((NamedElement) definition).getId().getValue(),
+                         ((NamedElement) other).getId().getValue());
+            assertEquals(((NamedElement) definition).getName().getValue(),
+                         ((NamedElement) other).getName().getValue());
+        }
+    }
+}
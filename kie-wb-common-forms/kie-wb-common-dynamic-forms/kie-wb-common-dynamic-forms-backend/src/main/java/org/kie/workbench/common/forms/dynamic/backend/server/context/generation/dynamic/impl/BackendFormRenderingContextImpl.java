@@ -72,4 +72,13 @@ public class BackendFormRenderingContextImpl implements BackendFormRenderingCont
     public Map<String, Object> getAttributes() {
         return attributes;
     }
+
+    /**
+     * Releases the form data and the ClassLoader held by the context, once it's no longer going to be used.
+     */
+    protected void release() {
+        formData = null;
+        classLoader = null;
+        attributes.clear();
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the rendering contexts of a session, bounded by size and by idle time. When the store is full the least
+ * recently used context is evicted, and contexts that haven't been used for longer than the TTL are evicted on the
+ * next access to the store. Evicted contexts release their form data and ClassLoader.
+ * <p>
+ * Context ids are taken from a sequence shared by all the stores, starting at the current time, so they are still
+ * timestamp-like but never collide.
+ */
+public class BackendFormRenderingContextStore implements Serializable {
+
+    public static final String MAX_SIZE_PROPERTY = "org.kie.workbench.forms.renderingContexts.maxSize";
+
+    public static final String TTL_PROPERTY = "org.kie.workbench.forms.renderingContexts.ttlMinutes";
+
+    public static final int DEFAULT_MAX_SIZE = 50;
+
+    public static final long DEFAULT_TTL_MINUTES = 30;
+
+    private static final AtomicLong ids = new AtomicLong(System.currentTimeMillis());
+
+    private final int maxSize;
+
+    private final long ttl;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16,
+                                                                           0.75f,
+                                                                           true);
+
+    private long evictions = 0;
+
+    public BackendFormRenderingContextStore() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY,
+                                DEFAULT_MAX_SIZE),
+             TimeUnit.MINUTES.toMillis(Long.getLong(TTL_PROPERTY,
+                                                    DEFAULT_TTL_MINUTES)));
+    }
+
+    public BackendFormRenderingContextStore(int maxSize,
+                                            long ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be greater than 0");
+        }
+        if (ttl < 1) {
+            throw new IllegalArgumentException("TTL must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public static long nextId() {
+        return ids.incrementAndGet();
+    }
+
+    public synchronized void put(BackendFormRenderingContextImpl context) {
+        long now = now();
+
+        evictExpired(now);
+
+        entries.put(context.getTimestamp(),
+                    new Entry(context,
+                              now));
+
+        // The least recently used contexts come first.
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (entries.size() > maxSize) {
+            iterator.next().context.release();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized BackendFormRenderingContextImpl get(Long id) {
+        long now = now();
+
+        evictExpired(now);
+
+        Entry entry = entries.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        entry.lastAccess = now;
+
+        return entry.context;
+    }
+
+    public synchronized BackendFormRenderingContextImpl remove(Long id) {
+        evictExpired(now());
+
+        Entry entry = entries.remove(id);
+
+        return entry != null ? entry.context : null;
+    }
+
+    public synchronized void clear() {
+        entries.values().forEach(entry -> entry.context.release());
+        entries.clear();
+    }
+
+    /**
+     * @return the number of contexts currently in the store.
+     */
+    public synchronized int getLiveContexts() {
+        evictExpired(now());
+
+        return entries.size();
+    }
+
+    /**
+     * @return the number of contexts evicted since the store was created, either because it was full or because
+     * they expired.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    // Entries are in access order, so the expired ones come first.
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+
+            if (now - entry.lastAccess < ttl) {
+                return;
+            }
+
+            entry.context.release();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static class Entry implements Serializable {
+
+        private final BackendFormRenderingContextImpl context;
+
+        private long lastAccess;
+
+        private Entry(BackendFormRenderingContextImpl context,
+                      long lastAccess) {
+            this.context = context;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -16,12 +16,16 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.validation.impl;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import javax.enterprise.context.Dependent;
+import java.util.WeakHashMap;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Default;
 import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
 import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.PropertyDescriptor;
 
@@ -34,13 +38,23 @@ import org.kie.workbench.common.forms.model.JavaFormModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@Dependent
+@ApplicationScoped
 @Default
 public class ContextModelConstraintsExtractorImpl implements ContextModelConstraintsExtractor,
                                                              Serializable {
 
     private static final Logger logger = LoggerFactory.getLogger(ContextModelConstraintsExtractorImpl.class);
 
+    /*
+     * Building a ValidatorFactory is expensive, so a single one is built and shared by all the renderings.
+     * The constraints extracted for each model class are kept too. These are keyed by the class itself, weakly,
+     * so when a project ClassLoader is rebuilt its classes get new entries and the old ones are released.
+     * The cached constraints are shared between rendering contexts and must not be modified.
+     */
+    private transient volatile ValidatorFactory validatorFactory;
+
+    private transient Map<Class, DynamicModelConstraints> modelConstraints = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Override
     public void readModelConstraints(MapModelRenderingContext clientRenderingContext,
                                      ClassLoader classLoader) {
@@ -55,7 +69,7 @@ public class ContextModelConstraintsExtractorImpl implements ContextModelConstra
             if (formDefinition.getModel() instanceof JavaFormModel) {
                 JavaFormModel javaModel = (JavaFormModel) formDefinition.getModel();
 
-                if (clientRenderingContext.getModelConstraints().containsKey(javaModel)) {
+                if (clientRenderingContext.getModelConstraints().containsKey(javaModel.getType())) {
                     return;
                 }
 
@@ -78,46 +92,85 @@ public class ContextModelConstraintsExtractorImpl implements ContextModelConstra
                     logger.warn("Unable to find class for type {} on any classLoader. Skipping annotation processing",
                                 javaModel.getType());
                 } else {
+                    clientRenderingContext.getModelConstraints().put(javaModel.getType(),
+                                                                     getModelConstraints(clazz,
+                                                                                         javaModel.getType()));
+                }
+            }
+        });
+    }
 
-                    BeanDescriptor descriptor = Validation.buildDefaultValidatorFactory().getValidator().getConstraintsForClass(clazz);
+    protected DynamicModelConstraints getModelConstraints(Class clazz,
+                                                          String modelType) {
+        DynamicModelConstraints constraints = modelConstraints.get(clazz);
 
-                    Set<PropertyDescriptor> properties = descriptor.getConstrainedProperties();
+        if (constraints == null) {
+            constraints = extractModelConstraints(clazz,
+                                                  modelType);
+            modelConstraints.put(clazz,
+                                 constraints);
+        }
 
-                    DynamicModelConstraints constraints = new DynamicModelConstraints(javaModel.getType());
+        return constraints;
+    }
 
-                    clientRenderingContext.getModelConstraints().put(javaModel.getType(),
-                                                                     constraints);
+    protected DynamicModelConstraints extractModelConstraints(Class clazz,
+                                                              String modelType) {
+        BeanDescriptor descriptor = getValidatorFactory().getValidator().getConstraintsForClass(clazz);
+
+        Set<PropertyDescriptor> properties = descriptor.getConstrainedProperties();
 
-                    properties.forEach(property -> {
+        DynamicModelConstraints constraints = new DynamicModelConstraints(modelType);
 
-                        property.getConstraintDescriptors().forEach(constraintDescriptor -> {
+        properties.forEach(property -> {
 
-                            Map<String, Object> attributes = new HashMap<>();
+            property.getConstraintDescriptors().forEach(constraintDescriptor -> {
 
-                            constraintDescriptor.getAttributes().forEach((key, value) -> {
+                Map<String, Object> attributes = new HashMap<>();
 
-                                if (key.equals("payload") || key.equals("groups")) {
-                                    return;
-                                }
+                constraintDescriptor.getAttributes().forEach((key, value) -> {
 
-                                Object portableValue;
+                    if (key.equals("payload") || key.equals("groups")) {
+                        return;
+                    }
+
+                    Object portableValue;
+
+                    if (EnvUtil.isPortableType(value.getClass())) {
+                        portableValue = value;
+                    } else {
+                        portableValue = value.toString();
+                    }
+                    attributes.put(key,
+                                   portableValue);
+                });
+
+                constraints.addConstraintForField(property.getPropertyName(),
+                                                  new FieldConstraint(constraintDescriptor.getAnnotation().annotationType().getName(),
+                                                                      attributes));
+            });
+        });
 
-                                if (EnvUtil.isPortableType(value.getClass())) {
-                                    portableValue = value;
-                                } else {
-                                    portableValue = value.toString();
-                                }
-                                attributes.put(key,
-                                               portableValue);
-                            });
+        return constraints;
+    }
 
-                            constraints.addConstraintForField(property.getPropertyName(),
-                                                              new FieldConstraint(constraintDescriptor.getAnnotation().annotationType().getName(),
-                                                                                  attributes));
-                        });
-                    });
+    protected ValidatorFactory getValidatorFactory() {
+        if (validatorFactory == null) {
+            synchronized (this) {
+                if (validatorFactory == null) {
+                    validatorFactory = Validation.buildDefaultValidatorFactory();
                 }
             }
-        });
+        }
+        return validatorFactory;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        modelConstraints.clear();
+        if (validatorFactory != null) {
+            validatorFactory.close();
+            validatorFactory = null;
+        }
     }
 }
@@ -18,8 +18,9 @@ package org.kie.workbench.common.forms.dynamic.backend.server.document;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.servlet.ServletException;
@@ -27,61 +28,150 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import com.google.gson.Gson;
-import org.apache.commons.fileupload.FileItem;
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.kie.workbench.common.forms.dynamic.model.document.DocumentData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.server.BaseUploadServlet;
 
+/**
+ * Receives the documents uploaded from forms. The uploaded content is streamed straight from the request to a
+ * temporary file in fixed size chunks, so it's never held in memory, and uploads bigger than the maximum size are
+ * rejected as soon as they exceed it. Uploaded documents are bound to the HTTP session they were uploaded in.
+ */
 @WebServlet(name = "FormsDocumentServlet", urlPatterns = "/documentUploadServlet")
 public class FormsDocumentServlet extends BaseUploadServlet {
 
+    public static final String MAX_SIZE_PROPERTY = "org.kie.workbench.forms.documentUpload.maxSize";
+
+    public static final long DEFAULT_MAX_SIZE = 100 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Logger logger = LoggerFactory.getLogger(FormsDocumentServlet.class);
+
     @Inject
     protected UploadedDocumentManager manager;
 
+    protected long maxSize = Long.getLong(MAX_SIZE_PROPERTY,
+                                          DEFAULT_MAX_SIZE);
+
     @Override
     protected void doPost(HttpServletRequest req,
                           HttpServletResponse resp) throws ServletException, IOException {
 
-        Map<String, Object> response = new HashMap<>();
+        DocumentData data = null;
 
         try {
+            data = uploadDocument(req);
+        } catch (Exception e) {
+            logger.warn("Error uploading document",
+                        e);
+        } finally {
+            writeResponse(resp,
+                          data);
+        }
+    }
 
-            String id = UUID.randomUUID().toString();
+    protected DocumentData uploadDocument(HttpServletRequest req) throws IOException, FileUploadException {
+        if (!ServletFileUpload.isMultipartContent(req)) {
+            throw new FileUploadException("Request is not multipart content");
+        }
 
-            FileItem fileItem = getFileItem(req);
+        FileItemIterator iterator = getItemIterator(req);
+
+        while (iterator.hasNext()) {
+            FileItemStream item = iterator.next();
+
+            if (item.isFormField()) {
+                continue;
+            }
+
+            String id = UUID.randomUUID().toString();
 
-            File file = File.createTempFile(id,
-                                            ".tmp");
+            File file = createTempFile(id);
 
-            file.deleteOnExit();
+            long size;
 
-            fileItem.write(file);
+            try (InputStream input = item.openStream()) {
+                size = copy(input,
+                            file);
+            } catch (IOException e) {
+                Files.deleteIfExists(file.toPath());
+                throw e;
+            }
 
             manager.uploadFile(id,
-                               file);
+                               file,
+                               req.getSession().getId());
 
-            DocumentData data = new DocumentData(fileItem.getName(),
-                                                 fileItem.getSize(),
+            DocumentData data = new DocumentData(item.getName(),
+                                                 size,
                                                  null);
 
             data.setContentId(id);
 
-            response.put("document",
-                         data);
-        } catch (Exception e) {
-            response.put("error",
-                         "error");
-        } finally {
-            writeResponse(resp,
-                          response);
+            return data;
         }
+
+        throw new FileUploadException("No document found on request");
+    }
+
+    protected FileItemIterator getItemIterator(HttpServletRequest req) throws IOException, FileUploadException {
+        return new ServletFileUpload().getItemIterator(req);
+    }
+
+    protected File createTempFile(String id) throws IOException {
+        return File.createTempFile(id,
+                                   ".tmp");
+    }
+
+    protected long copy(InputStream input,
+                        File file) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        long size = 0;
+
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new IOException("Document exceeds the maximum upload size of " + maxSize + " bytes");
+                }
+                output.write(buffer,
+                             0,
+                             read);
+            }
+        }
+
+        return size;
     }
 
     protected void writeResponse(HttpServletResponse response,
-                                 Map<String, Object> uploadResponse) throws IOException {
-        Gson gson = new Gson();
+                                 DocumentData data) throws IOException {
         response.setContentType("text/html");
-        response.getWriter().write(gson.toJson(uploadResponse));
-        response.getWriter().flush();
+
+        JsonWriter writer = new JsonWriter(response.getWriter());
+
+        writer.beginObject();
+
+        if (data != null) {
+            writer.name("document").beginObject();
+            writer.name("contentId").value(data.getContentId());
+            writer.name("fileName").value(data.getFileName());
+            writer.name("size").value(data.getSize());
+            writer.name("status").value(data.getStatus().name());
+            writer.endObject();
+        } else {
+            writer.name("error").value("error");
+        }
+
+        writer.endObject();
+        writer.flush();
     }
 }
@@ -17,28 +17,192 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.document;
 
 import java.io.File;
-import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
-import javax.enterprise.context.SessionScoped;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
 
-@SessionScoped
-public class UploadedDocumentManager implements Serializable {
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-    protected Map<String, File> uploadedFiles = new HashMap<>();
+/**
+ * Keeps track of the temporary files of the uploaded documents until the forms using them are submitted. Documents
+ * are identified by random ids, so a single registry is shared by the whole application. The files uploaded within an
+ * HTTP session live as long as the session does, and are deleted once it ends. Files uploaded out of any session are
+ * deleted by a background sweeper when they haven't been accessed for the expiration time. A file obtained through
+ * {@link #getFile(String)} is claimed by the caller, and it's only deleted when the caller removes it or its session
+ * ends.
+ */
+@ApplicationScoped
+public class UploadedDocumentManager {
+
+    public static final String EXPIRATION_PROPERTY = "org.kie.workbench.forms.uploadedDocuments.expirationMinutes";
+
+    public static final long DEFAULT_EXPIRATION_MINUTES = 60;
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadedDocumentManager.class);
+
+    protected Map<String, UploadedFile> uploadedFiles = new ConcurrentHashMap<>();
+
+    protected long expiration;
+
+    protected ScheduledExecutorService sweeper;
+
+    public UploadedDocumentManager() {
+        this(TimeUnit.MINUTES.toMillis(Long.getLong(EXPIRATION_PROPERTY,
+                                                    DEFAULT_EXPIRATION_MINUTES)));
+    }
+
+    public UploadedDocumentManager(long expiration) {
+        this.expiration = expiration;
+    }
+
+    @PostConstruct
+    public void init() {
+        long period = Math.max(1000,
+                               Math.min(expiration,
+                                        TimeUnit.MINUTES.toMillis(1)));
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable,
+                                       "uploaded-documents-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::removeExpiredFiles,
+                                       period,
+                                       period,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        uploadedFiles.keySet().forEach(this::removeFile);
+    }
 
     public void uploadFile(String name,
                            File file) {
+        uploadFile(name,
+                   file,
+                   null);
+    }
+
+    /**
+     * Registers an uploaded file, which lives as long as the given session does.
+     */
+    public void uploadFile(String name,
+                           File file,
+                           String sessionId) {
         uploadedFiles.put(name,
-                          file);
+                          new UploadedFile(file,
+                                           sessionId,
+                                           now()));
     }
 
+    /**
+     * Returns the uploaded file and claims it, so it isn't deleted by the sweeper while the caller reads it.
+     * @return the uploaded file, or null if there is none with the given name or it has already been deleted.
+     */
     public File getFile(String name) {
-        return uploadedFiles.get(name);
+        UploadedFile uploadedFile = uploadedFiles.get(name);
+        return uploadedFile != null && uploadedFile.claim() ? uploadedFile.file : null;
     }
 
     public void removeFile(String name) {
-        File file = uploadedFiles.remove(name);
-        file.delete();
+        UploadedFile uploadedFile = uploadedFiles.remove(name);
+        if (uploadedFile != null && uploadedFile.discard(true)) {
+            delete(uploadedFile.file);
+        }
+    }
+
+    /**
+     * Deletes the files uploaded within the given session, once it has ended.
+     */
+    public void removeSessionFiles(String sessionId) {
+        uploadedFiles.entrySet().removeIf(entry -> {
+            UploadedFile uploadedFile = entry.getValue();
+            if (sessionId.equals(uploadedFile.sessionId) && uploadedFile.discard(true)) {
+                delete(uploadedFile.file);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public int getUploadedFilesCount() {
+        return uploadedFiles.size();
+    }
+
+    public void removeExpiredFiles() {
+        long now = now();
+
+        uploadedFiles.entrySet().removeIf(entry -> {
+            UploadedFile uploadedFile = entry.getValue();
+            if (uploadedFile.sessionId == null && now - uploadedFile.lastAccess >= expiration && uploadedFile.discard(false)) {
+                delete(uploadedFile.file);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    protected void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            logger.warn("Unable to delete uploaded document file {}",
+                        file.getAbsolutePath());
+        }
+    }
+
+    protected class UploadedFile {
+
+        private final File file;
+
+        private final String sessionId;
+
+        private long lastAccess;
+
+        private boolean claimed;
+
+        private boolean discarded;
+
+        UploadedFile(File file,
+                     String sessionId,
+                     long lastAccess) {
+            this.file = file;
+            this.sessionId = sessionId;
+            this.lastAccess = lastAccess;
+        }
+
+        synchronized boolean claim() {
+            if (discarded) {
+                return false;
+            }
+            claimed = true;
+            lastAccess = now();
+            return true;
+        }
+
+        /**
+         * Marks the file as discarded, unless it has been claimed and the claim isn't to be overridden.
+         * @return true if the file has to be deleted by the caller.
+         */
+        synchronized boolean discard(boolean force) {
+            if (discarded || (claimed && !force)) {
+                return false;
+            }
+            discarded = true;
+            return true;
+        }
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BackendFormRenderingContextStoreTest {
+
+    private static final int MAX_SIZE = 3;
+
+    private static final long TTL = 1000;
+
+    private long time;
+
+    private BackendFormRenderingContextStore store;
+
+    @Before
+    public void initTest() {
+        time = 0;
+        store = new BackendFormRenderingContextStore(MAX_SIZE,
+                                                     TTL) {
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+    }
+
+    @Test
+    public void testIdsAreUnique() {
+        Set<Long> ids = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(BackendFormRenderingContextStore.nextId()));
+        }
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        assertSame(context,
+                   store.get(context.getTimestamp()));
+        assertEquals(1,
+                     store.getLiveContexts());
+
+        assertSame(context,
+                   store.remove(context.getTimestamp()));
+        assertNull(store.get(context.getTimestamp()));
+        assertEquals(0,
+                     store.getLiveContexts());
+        assertEquals(0,
+                     store.getEvictions());
+        assertNotNull(context.getClassLoader());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvictedWhenFull() {
+        BackendFormRenderingContextImpl first = newContext();
+        BackendFormRenderingContextImpl second = newContext();
+        BackendFormRenderingContextImpl third = newContext();
+
+        store.put(first);
+        store.put(second);
+        store.put(third);
+
+        // Using the first context makes the second one the least recently used.
+        store.get(first.getTimestamp());
+
+        BackendFormRenderingContextImpl fourth = newContext();
+
+        store.put(fourth);
+
+        assertEquals(MAX_SIZE,
+                     store.getLiveContexts());
+        assertEquals(1,
+                     store.getEvictions());
+        assertNull(store.get(second.getTimestamp()));
+        assertNull(second.getClassLoader());
+        assertNull(second.getFormData());
+        assertSame(first,
+                   store.get(first.getTimestamp()));
+        assertSame(third,
+                   store.get(third.getTimestamp()));
+        assertSame(fourth,
+                   store.get(fourth.getTimestamp()));
+    }
+
+    @Test
+    public void testIdleContextsExpire() {
+        BackendFormRenderingContextImpl first = newContext();
+        BackendFormRenderingContextImpl second = newContext();
+
+        store.put(first);
+
+        time = 600;
+        store.put(second);
+
+        time = 1100;
+        assertNull(store.get(first.getTimestamp()));
+        assertNull(first.getClassLoader());
+        assertSame(second,
+                   store.get(second.getTimestamp()));
+
+        // Accessing the context resets its idle time.
+        time = 2000;
+        assertSame(second,
+                   store.get(second.getTimestamp()));
+
+        time = 3000;
+        assertEquals(0,
+                     store.getLiveContexts());
+        assertEquals(2,
+                     store.getEvictions());
+    }
+
+    @Test
+    public void testClearReleasesContexts() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+        store.clear();
+
+        assertEquals(0,
+                     store.getLiveContexts());
+        assertNull(context.getClassLoader());
+    }
+
+    private BackendFormRenderingContextImpl newContext() {
+        return new BackendFormRenderingContextImpl(BackendFormRenderingContextStore.nextId(),
+                                                   new MapModelRenderingContext(),
+                                                   new HashMap<>(),
+                                                   mock(ClassLoader.class));
+    }
+}
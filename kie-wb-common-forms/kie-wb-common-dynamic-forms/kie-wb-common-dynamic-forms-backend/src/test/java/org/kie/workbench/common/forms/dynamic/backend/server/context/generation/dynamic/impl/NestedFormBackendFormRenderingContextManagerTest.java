@@ -28,6 +28,7 @@ import org.hibernate.validator.constraints.NotEmpty;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.model.Person;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
 import org.kie.workbench.common.forms.dynamic.service.shared.impl.validation.DynamicModelConstraints;
 import org.kie.workbench.common.forms.dynamic.service.shared.impl.validation.FieldConstraint;
 import org.kie.workbench.common.forms.fields.shared.fieldTypes.relations.subForm.definition.SubFormFieldDefinition;
@@ -73,6 +74,21 @@ public class NestedFormBackendFormRenderingContextManagerTest extends AbstractBa
                             NotNull.class.getName());
     }
 
+    @Test
+    public void testConstraintsAreReusedAcrossRenderings() {
+        DynamicModelConstraints constraints = context.getRenderingContext().getModelConstraints().get(Person.class.getName());
+
+        BackendFormRenderingContext otherContext = contextManager.registerContext(getRootForm(),
+                                                                                  generateFormData(),
+                                                                                  classLoader,
+                                                                                  getNestedForms());
+
+        assertSame(constraints,
+                   otherContext.getRenderingContext().getModelConstraints().get(Person.class.getName()));
+
+        contextManager.removeContext(otherContext.getTimestamp());
+    }
+
     protected void testFieldAnnotation(DynamicModelConstraints constraints,
                                        String fieldName,
                                        String... annotations) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.document;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.dynamic.model.document.DocumentData;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormsDocumentServletTest {
+
+    private static final int MAX_SIZE = 20000;
+
+    @Mock
+    private UploadedDocumentManager manager;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpSession session;
+
+    @Mock
+    private FileItemIterator iterator;
+
+    @Mock
+    private FileItemStream item;
+
+    private File file;
+
+    private FormsDocumentServlet servlet;
+
+    @Before
+    public void initTest() throws Exception {
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getContentType()).thenReturn("multipart/form-data; boundary=boundary");
+        when(request.getSession()).thenReturn(session);
+        when(session.getId()).thenReturn("session");
+
+        when(iterator.hasNext()).thenReturn(true,
+                                            false);
+        when(iterator.next()).thenReturn(item);
+        when(item.isFormField()).thenReturn(false);
+        when(item.getName()).thenReturn("document.pdf");
+
+        servlet = new FormsDocumentServlet() {
+            @Override
+            protected FileItemIterator getItemIterator(HttpServletRequest req) {
+                return iterator;
+            }
+
+            @Override
+            protected File createTempFile(String id) throws IOException {
+                file = super.createTempFile(id);
+                return file;
+            }
+        };
+        servlet.manager = manager;
+        servlet.maxSize = MAX_SIZE;
+    }
+
+    @After
+    public void afterTest() throws Exception {
+        if (file != null) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Test
+    public void testUploadDocument() throws Exception {
+        byte[] content = randomContent(MAX_SIZE);
+
+        when(item.openStream()).thenReturn(new ByteArrayInputStream(content));
+
+        DocumentData data = servlet.uploadDocument(request);
+
+        assertNotNull(data);
+        assertEquals("document.pdf",
+                     data.getFileName());
+        assertEquals(MAX_SIZE,
+                     data.getSize());
+        assertArrayEquals(content,
+                          Files.readAllBytes(file.toPath()));
+
+        verify(manager).uploadFile(data.getContentId(),
+                                   file,
+                                   "session");
+    }
+
+    @Test
+    public void testOversizedDocumentIsRejectedAndDeleted() throws Exception {
+        when(item.openStream()).thenReturn(new ByteArrayInputStream(randomContent(MAX_SIZE + 1)));
+
+        try {
+            servlet.uploadDocument(request);
+            fail("Documents bigger than the maximum size must be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertNotNull(file);
+        assertFalse(file.exists());
+
+        verify(manager,
+               never()).uploadFile(anyString(),
+                                   any(File.class),
+                                   anyString());
+    }
+
+    private byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.document;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UploadedDocumentManagerTest {
+
+    private static final long EXPIRATION = 1000;
+
+    private long time;
+
+    private UploadedDocumentManager manager;
+
+    @Before
+    public void initTest() {
+        time = 0;
+        manager = new UploadedDocumentManager(EXPIRATION) {
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+        manager.init();
+    }
+
+    @After
+    public void afterTest() {
+        manager.destroy();
+    }
+
+    @Test
+    public void testUploadAndRemoveFile() throws Exception {
+        File file = File.createTempFile("document",
+                                        ".tmp");
+
+        manager.uploadFile("id",
+                           file);
+
+        assertEquals(file,
+                     manager.getFile("id"));
+        assertEquals(1,
+                     manager.getUploadedFilesCount());
+
+        manager.removeFile("id");
+
+        assertNull(manager.getFile("id"));
+        assertFalse(file.exists());
+
+        // Removing an unknown file does nothing.
+        manager.removeFile("id");
+    }
+
+    @Test
+    public void testExpiredFilesAreRemoved() throws Exception {
+        File first = File.createTempFile("document",
+                                         ".tmp");
+        File second = File.createTempFile("document",
+                                          ".tmp");
+
+        manager.uploadFile("first",
+                           first);
+
+        time = 600;
+        manager.uploadFile("second",
+                           second);
+
+        time = 1100;
+        manager.removeExpiredFiles();
+
+        assertEquals(1,
+                     manager.getUploadedFilesCount());
+        assertFalse(first.exists());
+        assertTrue(second.exists());
+
+        time = 1600;
+        manager.removeExpiredFiles();
+
+        assertEquals(0,
+                     manager.getUploadedFilesCount());
+        assertFalse(second.exists());
+        assertNull(manager.getFile("second"));
+    }
+
+    @Test
+    public void testClaimedFilesAreNotExpired() throws Exception {
+        File file = File.createTempFile("document",
+                                        ".tmp");
+
+        manager.uploadFile("id",
+                           file);
+
+        assertEquals(file,
+                     manager.getFile("id"));
+
+        time = 5000;
+        manager.removeExpiredFiles();
+
+        assertEquals(1,
+                     manager.getUploadedFilesCount());
+        assertTrue(file.exists());
+
+        manager.removeFile("id");
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testSessionFilesLiveUntilTheSessionEnds() throws Exception {
+        File file = File.createTempFile("document",
+                                        ".tmp");
+        File other = File.createTempFile("document",
+                                         ".tmp");
+
+        manager.uploadFile("id",
+                           file,
+                           "session");
+        manager.uploadFile("other",
+                           other,
+                           "otherSession");
+
+        time = 5000;
+        manager.removeExpiredFiles();
+
+        assertEquals(2,
+                     manager.getUploadedFilesCount());
+        assertTrue(file.exists());
+
+        manager.removeSessionFiles("session");
+
+        assertEquals(1,
+                     manager.getUploadedFilesCount());
+        assertFalse(file.exists());
+        assertNull(manager.getFile("id"));
+        assertEquals(other,
+                     manager.getFile("other"));
+    }
+
+    @Test
+    public void testDestroyRemovesFiles() throws Exception {
+        File file = File.createTempFile("document",
+                                        ".tmp");
+
+        manager.uploadFile("id",
+                           file);
+
+        manager.destroy();
+
+        assertEquals(0,
+                     manager.getUploadedFilesCount());
+        assertFalse(file.exists());
+    }
+}
@@ -17,6 +17,8 @@
 package org.kie.workbench.common.forms.serialization.impl;
 
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -35,6 +37,9 @@ public class FieldSerializer implements JsonSerializer<FieldDefinition>,
 
     private Logger log = LoggerFactory.getLogger(FieldSerializer.class);
 
+    // Resolved classes by name, so they aren't looked up again for every deserialized field.
+    private Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
     @Override
     public JsonElement serialize(FieldDefinition field,
                                  Type type,
@@ -62,7 +67,7 @@ public class FieldSerializer implements JsonSerializer<FieldDefinition>,
         if (jsonClassName != null && !StringUtils.isEmpty(jsonClassName.getAsString())) {
             try {
                 return context.deserialize(json,
-                                           Class.forName(jsonClassName.getAsString()));
+                                           resolveClass(jsonClassName.getAsString()));
             } catch (Exception ex) {
                 log.error("Error deserializing field",
                           ex);
@@ -71,4 +76,16 @@ public class FieldSerializer implements JsonSerializer<FieldDefinition>,
 
         return null;
     }
+
+    protected Class<?> resolveClass(String className) throws ClassNotFoundException {
+        Class<?> clazz = classes.get(className);
+
+        if (clazz == null) {
+            clazz = Class.forName(className);
+            classes.put(className,
+                        clazz);
+        }
+
+        return clazz;
+    }
 }
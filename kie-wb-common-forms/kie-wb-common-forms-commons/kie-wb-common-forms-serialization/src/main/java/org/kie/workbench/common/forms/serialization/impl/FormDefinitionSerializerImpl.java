@@ -16,12 +16,20 @@
 
 package org.kie.workbench.common.forms.serialization.impl;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.kie.workbench.common.forms.model.FieldDefinition;
 import org.kie.workbench.common.forms.model.FormDefinition;
 import org.kie.workbench.common.forms.model.FormModel;
@@ -38,44 +46,75 @@ public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
 
     private FormModelSerializer formModelSerializer;
 
+    // Gson instances are thread-safe, so these are built once and shared by all the calls.
+    private final Gson serializerGson;
+
+    private final Gson deserializerGson;
+
     @Inject
     public FormDefinitionSerializerImpl(FieldSerializer fieldSerializer,
                                         FormModelSerializer formModelSerializer) {
         this.fieldSerializer = fieldSerializer;
         this.formModelSerializer = formModelSerializer;
+        this.serializerGson = newGsonBuilder().create();
+        this.deserializerGson = newGsonBuilder()
+                .registerTypeAdapter(ModelProperty.class,
+                                     (JsonDeserializer<ModelProperty>) (json, typeOfT, context) -> context.deserialize(json,
+                                                                                                                       ModelPropertyImpl.class))
+                .registerTypeAdapter(TypeInfo.class,
+                                     (JsonDeserializer<TypeInfo>) (json, typeOfT, context) -> context.deserialize(json,
+                                                                                                                  TypeInfoImpl.class))
+                .create();
     }
 
     @Override
     public String serialize(FormDefinition form) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter(FormModel.class,
-                                    formModelSerializer);
-        builder.registerTypeAdapter(FieldDefinition.class,
-                                    fieldSerializer);
+        StringWriter writer = new StringWriter();
 
-        Gson gson = builder.create();
+        serialize(form,
+                  writer);
 
-        return gson.toJson(form);
+        return writer.toString();
     }
 
     @Override
     public FormDefinition deserialize(String serializedForm) {
+        if (serializedForm == null) {
+            return null;
+        }
+        return deserialize(new StringReader(serializedForm));
+    }
+
+    @Override
+    public void serialize(FormDefinition form,
+                          Writer writer) {
+        try {
+            JsonWriter jsonWriter = new JsonWriter(writer);
+
+            serializerGson.toJson(form,
+                                  FormDefinition.class,
+                                  jsonWriter);
+
+            jsonWriter.flush();
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+
+    @Override
+    public FormDefinition deserialize(Reader reader) {
+        JsonReader jsonReader = new JsonReader(reader);
+
+        return deserializerGson.fromJson(jsonReader,
+                                         FormDefinition.class);
+    }
+
+    private GsonBuilder newGsonBuilder() {
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(FormModel.class,
                                     formModelSerializer);
         builder.registerTypeAdapter(FieldDefinition.class,
                                     fieldSerializer);
-
-        builder.registerTypeAdapter(ModelProperty.class,
-                                    (JsonDeserializer<ModelProperty>) (json, typeOfT, context) -> context.deserialize(json,
-                                                                                                                      ModelPropertyImpl.class));
-        builder.registerTypeAdapter(TypeInfo.class,
-                                    (JsonDeserializer<TypeInfo>) (json, typeOfT, context) -> context.deserialize(json,
-                                                                                                                 TypeInfoImpl.class));
-
-        Gson gson = builder.create();
-
-        return gson.fromJson(serializedForm,
-                             FormDefinition.class);
+        return builder;
     }
 }
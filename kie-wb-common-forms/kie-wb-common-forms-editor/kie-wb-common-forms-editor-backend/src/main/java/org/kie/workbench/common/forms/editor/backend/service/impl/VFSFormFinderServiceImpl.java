@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.editor.backend.service.impl;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -120,8 +123,9 @@ public class VFSFormFinderServiceImpl implements VFSFormFinderService {
         for (FileUtils.ScanResult form : forms) {
             org.uberfire.java.nio.file.Path formPath = form.getFile();
 
-            try {
-                FormDefinition formDefinition = serializer.deserialize(ioService.readAllString(formPath).trim());
+            try (Reader reader = new InputStreamReader(ioService.newInputStream(formPath),
+                                                       StandardCharsets.UTF_8)) {
+                FormDefinition formDefinition = serializer.deserialize(reader);
 
                 if (constraint == null || constraint.accepts(formDefinition)) {
                     result.add(formDefinition);
@@ -51,9 +51,8 @@ public class DataObjectFinderServiceImpl implements DataObjectFinderService {
     @Override
     public DataObject getDataObject(String typeName,
                                     Path path) {
-        DataModel dataModel = dataModelerService.loadModel(projectService.resolveProject(path));
-
-        return dataModel.getDataObject(typeName);
+        return dataModelerService.findDataObject(path,
+                                                 typeName);
     }
 
     @Override
@@ -110,6 +110,8 @@ public abstract class AbstractDataObjectFinderTest extends AbstractDataObjectTes
                     true);
 
         when(dataModelerService.loadModel(any())).thenReturn(dataModel);
+        when(dataModelerService.findDataObject(any(),
+                                               any())).thenAnswer(invocationOnMock -> dataModel.getDataObject((String) invocationOnMock.getArguments()[1]));
 
         service = new DataObjectFinderServiceImpl(projectService,
                                                   dataModelerService);
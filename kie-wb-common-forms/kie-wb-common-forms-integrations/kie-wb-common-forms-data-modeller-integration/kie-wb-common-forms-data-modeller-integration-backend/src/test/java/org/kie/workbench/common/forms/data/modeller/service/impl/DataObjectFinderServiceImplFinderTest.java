@@ -30,6 +30,8 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DataObjectFinderServiceImplFinderTest extends AbstractDataObjectFinderTest {
@@ -53,6 +55,9 @@ public class DataObjectFinderServiceImplFinderTest extends AbstractDataObjectFin
         DataObject result = service.getDataObject(TYPE_NAME, path);
 
         assertEquals(dataObject, result);
+
+        verify(dataModelerService).findDataObject(path, TYPE_NAME);
+        verify(dataModelerService, never()).loadModel(any());
     }
 
     @Test
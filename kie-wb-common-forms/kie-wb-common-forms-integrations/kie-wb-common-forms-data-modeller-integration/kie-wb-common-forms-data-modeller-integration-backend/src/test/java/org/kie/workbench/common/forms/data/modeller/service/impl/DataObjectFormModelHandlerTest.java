@@ -114,6 +114,8 @@ public class DataObjectFormModelHandlerTest extends AbstractDataObjectTest {
                                                  finderService,
                                                  new TestFieldManager());
         when(dataModelerService.loadModel(any())).thenReturn(dataModel);
+        when(dataModelerService.findDataObject(any(),
+                                               any())).thenAnswer(invocationOnMock -> dataModel.getDataObject((String) invocationOnMock.getArguments()[1]));
         List<DataObjectFormModel> formModels = finderService.getAvailableDataObjects(path);
         formModel = formModels.get(0);
         handler.init(formModel,
@@ -19,7 +19,6 @@ package org.kie.workbench.common.forms.jbpm.server.context.generation.dynamic.im
 import java.io.File;
 import java.io.IOException;
 import java.util.Date;
-import java.util.UUID;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
@@ -84,22 +83,36 @@ public class DocumentFieldValueProcessor implements FieldValueProcessor<Document
 
         File content = uploadedDocumentManager.getFile(documentData.getContentId());
 
-        if (content != null) {
-
-            try {
-                String id = UUID.randomUUID().toString();
-                Document doc = new DocumentImpl(documentData.getFileName(),
-                                                content.length(),
-                                                new Date(content.lastModified()));
-                doc.setContent(getFileContent(content));
-                uploadedDocumentManager.removeFile(documentData.getContentId());
-                return doc;
-            } catch (IOException e) {
-                logger.warn("Error reading file content: ",
-                            e);
+        if (content == null) {
+            // The same form may be processed again after a save, once the upload has already been consumed
+            if (isConsumedUpload(documentData,
+                                 originalValue)) {
+                return originalValue;
             }
+            throw new IllegalStateException("Uploaded document '" + documentData.getFileName() + "' is no longer available, it must be uploaded again");
         }
-        return null;
+
+        try {
+            Document doc = new DocumentImpl(documentData.getFileName(),
+                                            content.length(),
+                                            new Date(content.lastModified()));
+            doc.setContent(getFileContent(content));
+            uploadedDocumentManager.removeFile(documentData.getContentId());
+            return doc;
+        } catch (IOException e) {
+            logger.warn("Error reading file content: ",
+                        e);
+            throw new IllegalStateException("Unable to read uploaded document '" + documentData.getFileName() + "'",
+                                            e);
+        }
+    }
+
+    protected boolean isConsumedUpload(DocumentData documentData,
+                                       Document originalValue) {
+        return originalValue != null
+                && documentData.getFileName() != null
+                && documentData.getFileName().equals(originalValue.getName())
+                && documentData.getSize() == originalValue.getSize();
     }
 
     protected byte[] getFileContent(File content) throws IOException {
@@ -17,11 +17,17 @@
 package org.kie.workbench.common.forms.jbpm.server.service.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
@@ -48,6 +54,12 @@ import org.kie.workbench.common.forms.jbpm.model.authoring.task.TaskFormModel;
 import org.kie.workbench.common.forms.jbpm.server.service.BPMNFormModelGenerator;
 import org.kie.workbench.common.forms.jbpm.service.shared.BPMFinderService;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,10 +67,22 @@ import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
+/**
+ * Finds the processes of a project and generates their form models. A single process is located through the
+ * refactoring index, which already knows the ids of the processes defined on each file, so only the file that
+ * contains it is parsed. If the index can't be queried, or it doesn't know the requested process yet, the project is
+ * scanned for process files instead. The index may lag behind the project, so listing all the processes reconciles
+ * the indexed files with the process files found on the project, and each file is parsed only once.
+ */
 @Service
 @Dependent
 public class BPMFinderServiceImpl implements BPMFinderService {
 
+    /**
+     * Name of the named query that returns the paths of the files that define BPMN2 processes, keyed by process id.
+     */
+    public static final String FIND_PROCESS_IDS_QUERY = "FindBpmnProcessIdsQuery";
+
     private static final Logger logger = LoggerFactory.getLogger(BPMFinderServiceImpl.class);
 
     private IOService ioService;
@@ -66,15 +90,20 @@ public class BPMFinderServiceImpl implements BPMFinderService {
     private KieProjectService projectService;
 
     private BPMNFormModelGenerator bpmnFormModelGenerator;
+
+    private RefactoringQueryService queryService;
+
     private FileUtils fileUtils;
 
     @Inject
     public BPMFinderServiceImpl(@Named("ioStrategy") IOService ioService,
                                 KieProjectService projectService,
-                                BPMNFormModelGenerator bpmnFormModelGenerator) {
+                                BPMNFormModelGenerator bpmnFormModelGenerator,
+                                RefactoringQueryService queryService) {
         this.ioService = ioService;
         this.projectService = projectService;
         this.bpmnFormModelGenerator = bpmnFormModelGenerator;
+        this.queryService = queryService;
     }
 
     @PostConstruct
@@ -85,35 +114,95 @@ public class BPMFinderServiceImpl implements BPMFinderService {
     @Override
     public List<JBPMProcessModel> getAvailableProcessModels(Path path) {
 
-        final GenerationConfig<List<JBPMProcessModel>> operations = new GenerationConfig<>(new ArrayList<>());
+        Path rootPath = projectService.resolveProject(path).getRootPath();
 
-        operations.setPredicate(definitions -> definitions.isPresent());
+        Optional<Map<String, Path>> indexedProcesses = findIndexedProcesses(new ValueResourceIndexTerm("*",
+                                                                                                       ResourceType.BPMN2,
+                                                                                                       ValueIndexTerm.TermSearchType.WILDCARD),
+                                                                            rootPath);
 
-        operations.setConsumer(processModel -> operations.getValue().add(processModel));
+        List<JBPMProcessModel> models = new ArrayList<>();
 
-        Path rootPath = projectService.resolveProject(path).getRootPath();
+        reconcileProcessFiles(indexedProcesses.orElse(Collections.emptyMap()),
+                              findProcessFiles(rootPath)).forEach(processPath -> {
+            Optional<Definitions> definitions = parse(processPath);
+            if (definitions.isPresent()) {
+                models.add(generateModel(definitions.get(),
+                                         rootPath));
+            }
+        });
 
-        scannProcessesForType(rootPath,
-                              "bpmn2",
-                              operations);
-        scannProcessesForType(rootPath,
-                              "bpmn",
-                              operations);
+        return models;
+    }
+
+    /**
+     * Returns the process files to load: the indexed files that are still on the project, followed by the files on
+     * the project that aren't indexed yet. Each file is returned once, even if the index knows more than one process
+     * id for it.
+     */
+    protected Collection<org.uberfire.java.nio.file.Path> reconcileProcessFiles(final Map<String, Path> indexedProcesses,
+                                                                               final Collection<org.uberfire.java.nio.file.Path> projectFiles) {
+        Map<String, org.uberfire.java.nio.file.Path> filesOnProject = new LinkedHashMap<>();
+        projectFiles.forEach(file -> filesOnProject.put(file.toUri().toString(),
+                                                        file));
+
+        Map<String, org.uberfire.java.nio.file.Path> result = new LinkedHashMap<>();
+
+        indexedProcesses.values().forEach(processPath -> {
+            String uri = Paths.convert(processPath).toUri().toString();
+            if (filesOnProject.containsKey(uri)) {
+                result.put(uri,
+                           filesOnProject.get(uri));
+            } else {
+                logger.debug("Indexed process file '{}' is no longer on the project",
+                             uri);
+            }
+        });
 
-        return operations.getValue();
+        filesOnProject.forEach(result::putIfAbsent);
+
+        return result.values();
+    }
+
+    protected Collection<org.uberfire.java.nio.file.Path> findProcessFiles(final Path rootPath) {
+        Collection<org.uberfire.java.nio.file.Path> result = new LinkedHashSet<>();
+
+        fileUtils.scan(ioService,
+                       Collections.singletonList(Paths.convert(rootPath)),
+                       Arrays.asList("bpmn2",
+                                     "bpmn"),
+                       true).forEach(scanResult -> result.add(scanResult.getFile()));
+
+        return result;
     }
 
     @Override
     public JBPMProcessModel getModelForProcess(final String processId,
                                                final Path path) {
 
+        Path rootPath = projectService.resolveProject(path).getRootPath();
+
+        Optional<Map<String, Path>> indexedProcesses = findIndexedProcesses(new ValueResourceIndexTerm(processId,
+                                                                                                       ResourceType.BPMN2),
+                                                                            rootPath);
+
+        if (indexedProcesses.isPresent() && indexedProcesses.get().containsKey(processId)) {
+            Optional<Definitions> definitions = parse(Paths.convert(indexedProcesses.get().get(processId)));
+
+            if (definitions.isPresent() && isProcess(definitions.get(),
+                                                     processId)) {
+                return generateModel(definitions.get(),
+                                     rootPath);
+            }
+        }
+
         GenerationConfig<Optional<JBPMProcessModel>> operations = new GenerationConfig<>(Optional.empty());
 
         operations.setPredicate(definitions -> {
             if (definitions.isPresent()) {
                 if (!operations.getValue().isPresent()) {
-                    Optional<Process> optional = Optional.of(bpmnFormModelGenerator.getProcess(definitions.get()));
-                    return optional.isPresent() && optional.get().getId().equals(processId);
+                    return isProcess(definitions.get(),
+                                     processId);
                 }
             }
             return false;
@@ -121,8 +210,6 @@ public class BPMFinderServiceImpl implements BPMFinderService {
 
         operations.setConsumer(processModel -> operations.setValue(Optional.ofNullable(processModel)));
 
-        Path rootPath = projectService.resolveProject(path).getRootPath();
-
         scannProcessesForType(rootPath,
                               "bpmn2",
                               operations);
@@ -136,6 +223,52 @@ public class BPMFinderServiceImpl implements BPMFinderService {
         return operations.getValue().orElse(null);
     }
 
+    /**
+     * Looks for the processes of the given project root matching the given term on the refactoring index.
+     * @return the paths of the processes found, keyed by process id, or an empty Optional if the index couldn't be
+     * queried.
+     */
+    @SuppressWarnings("unchecked")
+    protected Optional<Map<String, Path>> findIndexedProcesses(final ValueResourceIndexTerm term,
+                                                               final Path rootPath) {
+        Set<ValueIndexTerm> queryTerms = new HashSet<>();
+        queryTerms.add(term);
+        queryTerms.add(new ValueProjectRootPathIndexTerm(rootPath.toURI()));
+
+        List<RefactoringPageRow> rows;
+
+        try {
+            rows = queryService.query(FIND_PROCESS_IDS_QUERY,
+                                      queryTerms);
+        } catch (Exception ex) {
+            logger.warn("Unable to look for processes on the index, the project will be scanned instead",
+                        ex);
+            return Optional.empty();
+        }
+
+        Map<String, Path> processes = new LinkedHashMap<>();
+
+        rows.forEach(row -> processes.putAll((Map<String, Path>) row.getValue()));
+
+        return Optional.of(processes);
+    }
+
+    protected boolean isProcess(final Definitions definitions,
+                                final String processId) {
+        Process process = bpmnFormModelGenerator.getProcess(definitions);
+        return process != null && process.getId().equals(processId);
+    }
+
+    protected JBPMProcessModel generateModel(final Definitions definitions,
+                                             final Path path) {
+        BusinessProcessFormModel processFormModel = bpmnFormModelGenerator.generateProcessFormModel(definitions,
+                                                                                                    path);
+        List<TaskFormModel> taskModels = bpmnFormModelGenerator.generateTaskFormModels(definitions,
+                                                                                       path);
+        return new JBPMProcessModel(processFormModel,
+                                    taskModels);
+    }
+
     protected void scannProcessesForType(final Path path,
                                          final String extension,
                                          final GenerationConfig generationConfig) {
@@ -148,18 +281,13 @@ public class BPMFinderServiceImpl implements BPMFinderService {
                                                                     extension,
                                                                     true);
 
-        processes.stream().map(scanResult -> parse(scanResult)).filter(definitions -> definitions != null && generationConfig.getPredicate().test(definitions)).forEach(definitions -> {
-            BusinessProcessFormModel processFormModel = bpmnFormModelGenerator.generateProcessFormModel(definitions.get(),
-                                                                                                        path);
-            List<TaskFormModel> taskModels = bpmnFormModelGenerator.generateTaskFormModels(definitions.get(),
-                                                                                           path);
-            generationConfig.getConsumer().accept(new JBPMProcessModel(processFormModel,
-                                                                       taskModels));
+        processes.stream().map(scanResult -> parse(scanResult.getFile())).filter(definitions -> definitions != null && generationConfig.getPredicate().test(definitions)).forEach(definitions -> {
+            generationConfig.getConsumer().accept(generateModel(definitions.get(),
+                                                                path));
         });
     }
 
-    protected Optional<Definitions> parse(FileUtils.ScanResult process) {
-        org.uberfire.java.nio.file.Path formPath = process.getFile();
+    protected Optional<Definitions> parse(org.uberfire.java.nio.file.Path formPath) {
 
         try {
             ResourceSet resourceSet = new ResourceSetImpl();
@@ -192,7 +320,7 @@ public class BPMFinderServiceImpl implements BPMFinderService {
 
             return Optional.of(root.getDefinitions());
         } catch (Exception ex) {
-            logger.warn("Error reading process '" + process.getFile().getFileName(),
+            logger.warn("Error reading process '" + formPath.getFileName(),
                         ex);
         }
         return Optional.empty();
@@ -35,6 +35,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -137,6 +138,74 @@ public class DocumentFieldValueProcessorTest {
                      doc.getSize());
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testMissingUploadFlatValue2Document() {
+        when(uploadedDocumentManager.getFile(anyString())).thenReturn(null);
+
+        DocumentData data = new DocumentData("test",
+                                             1024,
+                                             null);
+        data.setContentId("content");
+
+        try {
+            processor.toRawValue(field,
+                                 data,
+                                 null,
+                                 context);
+        } finally {
+            verify(uploadedDocumentManager,
+                   never()).removeFile(anyString());
+        }
+    }
+
+    @Test
+    public void testConsumedUploadFlatValue2Document() {
+        DocumentData data = new DocumentData("test",
+                                             1024,
+                                             null);
+        data.setContentId("content");
+
+        Document doc = processor.toRawValue(field,
+                                            data,
+                                            null,
+                                            context);
+
+        when(uploadedDocumentManager.getFile(anyString())).thenReturn(null);
+
+        // The form is processed again after being saved, with the document created the first time
+        Document rawDoc = processor.toRawValue(field,
+                                               data,
+                                               doc,
+                                               context);
+
+        assertSame("Documents must be the same!",
+                   doc,
+                   rawDoc);
+        verify(uploadedDocumentManager,
+               times(1)).removeFile(anyString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingUploadReplacingDocumentFlatValue2Document() {
+        when(uploadedDocumentManager.getFile(anyString())).thenReturn(null);
+
+        Document previous = new DocumentImpl("id",
+                                             "previous",
+                                             512,
+                                             new Date(),
+                                             "aLink");
+
+        DocumentData data = new DocumentData("test",
+                                             1024,
+                                             null);
+        data.setContentId("content");
+
+        processor.toRawValue(field,
+                             data,
+                             previous,
+                             context);
+    }
+
     @Test
     public void testExistingFlatValue2Document() {
         Document doc = new DocumentImpl("id",
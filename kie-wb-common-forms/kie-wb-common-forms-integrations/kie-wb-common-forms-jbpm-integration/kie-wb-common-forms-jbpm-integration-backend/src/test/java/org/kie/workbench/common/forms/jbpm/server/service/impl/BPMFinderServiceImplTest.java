@@ -17,13 +17,24 @@ package org.kie.workbench.common.forms.jbpm.server.service.impl;
 
 import java.io.FileInputStream;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
 import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringMapPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.Mock;
@@ -37,6 +48,7 @@ import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -74,6 +86,11 @@ public class BPMFinderServiceImplTest {
     @Mock
     ProjectClassLoaderHelper projectClassLoaderHelper;
 
+    @Mock
+    RefactoringQueryService queryService;
+
+    Map<String, String> indexedProcesses;
+
     BPMNFormModelGeneratorImpl bpmnFormModelGenerator;
 
     BPMFinderServiceImpl finderService;
@@ -102,9 +119,23 @@ public class BPMFinderServiceImplTest {
         bpmnFormModelGenerator = new BPMNFormModelGeneratorImpl(projectService,
                                                                 projectClassLoaderHelper);
 
+        indexedProcesses = new HashMap<>();
+        indexedProcesses.put(PROCESS_WITHOUT_VARIABLES_ID,
+                             "process-without-variables.bpmn2");
+        indexedProcesses.put(PROCESS_WITH_ALL_VARIABLES_ID,
+                             "process-with-all-possible-variables.bpmn2");
+        indexedProcesses.put(PROCESS_WITH_SHARED_FORMS_ID,
+                             "process-with-tasks-sharing-forms.bpmn2");
+        indexedProcesses.put(PROCESS_WITH_SHARED_FORMS_WRONG_MAPPINGS_ID,
+                             "process-with-tasks-sharing-forms-with-wrong-mapping.bpmn2");
+
+        when(queryService.query(eq(BPMFinderServiceImpl.FIND_PROCESS_IDS_QUERY),
+                                any())).thenAnswer(invocationOnMock -> queryIndex((Set<ValueIndexTerm>) invocationOnMock.getArguments()[1]));
+
         finderService = new BPMFinderServiceImpl(ioService,
                                                  projectService,
-                                                 bpmnFormModelGenerator);
+                                                 bpmnFormModelGenerator,
+                                                 queryService);
 
         finderService.init();
     }
@@ -162,6 +193,85 @@ public class BPMFinderServiceImplTest {
                         PROCESS_WITH_SHARED_FORMS_WRONG_MAPPINGS_TASKS);
     }
 
+    @Test
+    public void testFindAllProcessFormModelsParsesEachFileOnce() {
+        assertEquals(EXPECTED_PROCESSES,
+                     finderService.getAvailableProcessModels(testPath).size());
+
+        verify(ioService,
+               times(EXPECTED_PROCESSES)).newInputStream(any());
+    }
+
+    @Test
+    public void testFindAllProcessFormModelsIncludesProcessesNotIndexedYet() {
+        indexedProcesses.remove(PROCESS_WITH_SHARED_FORMS_ID);
+        indexedProcesses.remove(PROCESS_WITHOUT_VARIABLES_ID);
+
+        assertEquals(EXPECTED_PROCESSES,
+                     finderService.getAvailableProcessModels(testPath).size());
+
+        verify(ioService,
+               times(EXPECTED_PROCESSES)).newInputStream(any());
+    }
+
+    @Test
+    public void testFindAllProcessFormModelsIgnoresStaleIndexEntries() {
+        indexedProcesses.put("myProject.deleted-process",
+                             "deleted-process.bpmn2");
+
+        assertEquals(EXPECTED_PROCESSES,
+                     finderService.getAvailableProcessModels(testPath).size());
+
+        verify(ioService,
+               times(EXPECTED_PROCESSES)).newInputStream(any());
+    }
+
+    @Test
+    public void testFindProcessParsesOnlyTheIndexedFile() {
+        testFindProcess(PROCESS_WITH_ALL_VARIABLES_ID,
+                        PROCESS_WITH_ALL_VARIABLES_TASKS);
+
+        verify(ioService,
+               times(1)).newInputStream(any());
+        verify(ioService,
+               never()).newDirectoryStream(any(),
+                                           any());
+    }
+
+    @Test
+    public void testFindProcessNotIndexedYet() {
+        indexedProcesses.remove(PROCESS_WITH_SHARED_FORMS_ID);
+
+        testFindProcess(PROCESS_WITH_SHARED_FORMS_ID,
+                        PROCESS_WITH_SHARED_FORMS_TASKS);
+
+        verify(ioService,
+               atLeastOnce()).newDirectoryStream(any(),
+                                                 any());
+    }
+
+    @Test
+    public void testIndexNotAvailable() {
+        when(queryService.query(any(),
+                                any())).thenThrow(new IllegalArgumentException("Named query not found"));
+
+        assertEquals(EXPECTED_PROCESSES,
+                     finderService.getAvailableProcessModels(testPath).size());
+
+        testFindProcess(PROCESS_WITHOUT_VARIABLES_ID,
+                        PROCESS_WITHOUT_VARIABLES_TASKS);
+    }
+
+    @Test
+    public void testProcessesFromOtherProjectsAreIgnored() {
+        when(project.getRootPath()).thenReturn(Paths.convert(rootPath.resolve("otherProject")));
+
+        assertTrue(finderService.findIndexedProcesses(new ValueResourceIndexTerm("*",
+                                                                                 ResourceType.BPMN2,
+                                                                                 ValueIndexTerm.TermSearchType.WILDCARD),
+                                                      project.getRootPath()).get().isEmpty());
+    }
+
     protected void testFindProcess(String processId,
                                    int expectedTasks) {
         JBPMProcessModel model = finderService.getModelForProcess(processId,
@@ -175,4 +285,31 @@ public class BPMFinderServiceImplTest {
         assertEquals(expectedTasks,
                      model.getTaskFormModels().size());
     }
+
+    protected List<RefactoringPageRow> queryIndex(Set<ValueIndexTerm> terms) {
+        ValueIndexTerm term = terms.stream().filter(t -> t instanceof ValueResourceIndexTerm).findFirst().get();
+
+        String projectRoot = terms.stream().filter(t -> t instanceof ValueProjectRootPathIndexTerm).findFirst().get().getValue();
+
+        List<RefactoringPageRow> rows = new ArrayList<>();
+
+        // All the indexed processes belong to the project in the resources folder
+        if (!projectRoot.equals(Paths.convert(rootPath).toURI())) {
+            return rows;
+        }
+
+        indexedProcesses.forEach((processId, fileName) -> {
+            if (term.getSearchType().equals(ValueIndexTerm.TermSearchType.WILDCARD) || term.getValue().equals(processId)) {
+                Map<String, org.uberfire.backend.vfs.Path> value = new HashMap<>();
+                value.put(processId,
+                          Paths.convert(rootPath.resolve(fileName)));
+
+                RefactoringMapPageRow row = new RefactoringMapPageRow();
+                row.setValue(value);
+                rows.add(row);
+            }
+        });
+
+        return rows;
+    }
 }
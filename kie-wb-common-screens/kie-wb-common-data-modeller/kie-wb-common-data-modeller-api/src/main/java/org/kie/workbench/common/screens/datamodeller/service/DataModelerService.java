@@ -87,6 +87,16 @@ public interface DataModelerService {
 
     GenerationResult loadDataObject( final Path projectPath, final String source, final Path sourcePath );
 
+    /**
+     * Resolves a single type defined in the project given its fully qualified class name, without loading the whole
+     * project data model. The type is read from the Java source found by the index. Types coming from the project
+     * dependencies are not resolved, as in loadModel( project ).getDataObject( className ).
+     * @param path Any path within the project.
+     * @param className Fully qualified name of the type.
+     * @return the data object for the given type, or null if the type isn't defined in the project.
+     */
+    DataObject findDataObject( final Path path, final String className );
+
     List<PropertyType> getBasePropertyTypes();
 
     Map<String, AnnotationDefinition> getAnnotationDefinitions();
@@ -19,9 +19,11 @@ package org.kie.workbench.common.screens.datamodeller.backend.server;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -81,6 +83,7 @@ import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaTypeParseCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ProjectDataModelOracleUtils;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationDefinitionRequest;
@@ -93,6 +96,9 @@ import org.kie.workbench.common.services.datamodeller.driver.model.DriverError;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourcesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.PartType;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
@@ -183,6 +189,9 @@ public class DataModelerServiceImpl
     @Inject
     private FilterHolder filterHolder;
 
+    @Inject
+    private JavaTypeParseCache parseCache;
+
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
 
     public DataModelerServiceImpl() {
@@ -355,7 +364,8 @@ public class DataModelerServiceImpl
             ModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
                                                                  Paths.convert(defaultPackage.getPackageMainSrcPath()),
                                                                  classLoader,
-                                                                 filterHolder);
+                                                                 filterHolder,
+                                                                 parseCache);
             ModelDriverResult result = modelDriver.loadModel();
             dataModel = result.getDataModel();
 
@@ -373,6 +383,7 @@ public class DataModelerServiceImpl
             Long endTime = System.currentTimeMillis();
             if (logger.isDebugEnabled()) {
                 logger.debug("Time elapsed when loading " + projectPath.getFileName() + ": " + (endTime - startTime) + " ms");
+                logger.debug("Java parse cache hits: " + parseCache.getHits() + ", misses: " + parseCache.getMisses());
             }
 
             return new Pair<DataModel, ModelDriverResult>(dataModel,
@@ -452,6 +463,91 @@ public class DataModelerServiceImpl
         }
     }
 
+    @Override
+    public DataObject findDataObject(final Path path,
+                                     final String className) {
+
+        KieProject project = projectService.resolveProject(path);
+        if (project == null) {
+            return null;
+        }
+
+        try {
+            //types defined in the project are read from the Java file found by the index.
+            Path sourcePath = findJavaSourcePath(project,
+                                                 className);
+            if (sourcePath != null) {
+                DataObject dataObject = loadDataObject(project,
+                                                       Paths.convert(sourcePath),
+                                                       className);
+                if (dataObject != null) {
+                    return dataObject;
+                }
+            } else if (!ioService.exists(conventionalJavaSourcePath(project,
+                                                                    className))) {
+                //not a type defined in the project.
+                return null;
+            }
+        } catch (Exception e) {
+            logger.error("Data object: " + className + " couldn't be loaded, path: " + path + ".",
+                         e);
+            throw new ServiceException("Data object: " + className + " couldn't be loaded, path: " + path + ".",
+                                       e);
+        }
+
+        //the index is stale: the indexed file doesn't declare the type anymore, or the type's file isn't indexed yet.
+        DataModel dataModel = loadModel(project);
+        return dataModel != null ? dataModel.getDataObject(className) : null;
+    }
+
+    private DataObject loadDataObject(final KieProject project,
+                                      final org.uberfire.java.nio.file.Path nioSourcePath,
+                                      final String className) throws ModelDriverException {
+        JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
+                                                                        null,
+                                                                        classLoaderHelper.getProjectClassLoader(project),
+                                                                        filterHolder,
+                                                                        parseCache);
+        ModelDriverResult driverResult = modelDriver.loadDataObject(ioService.readAllString(nioSourcePath),
+                                                                    nioSourcePath);
+        return driverResult.getDataModel().getDataObject(className);
+    }
+
+    private org.uberfire.java.nio.file.Path conventionalJavaSourcePath(final KieProject project,
+                                                                       final String className) {
+        return Paths.convert(project.getRootPath())
+                .resolve(ProjectResourcePaths.MAIN_SRC_PATH)
+                .resolve(className.replace('.',
+                                           '/') + ".java");
+    }
+
+    private Path findJavaSourcePath(final KieProject project,
+                                    final String className) {
+        final Set<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>();
+        queryTerms.add(new ValueResourceIndexTerm(className,
+                                                  ResourceType.JAVA));
+
+        String rootPathURI = project.getRootPath().toURI();
+        if (!rootPathURI.endsWith("/")) {
+            rootPathURI = rootPathURI + "/";
+        }
+
+        try {
+            List<RefactoringPageRow> queryResults = queryService.query(FindResourcesQuery.NAME,
+                                                                       queryTerms);
+            for (RefactoringPageRow row : queryResults) {
+                Path sourcePath = (Path) row.getValue();
+                //declared types are indexed as java resources too, but they live in drl files.
+                if (sourcePath.getFileName().endsWith(".java") && sourcePath.toURI().startsWith(rootPathURI)) {
+                    return sourcePath;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to query lucene index for class: " + className + ": " + e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Updates Java code provided in the source parameter with the data object values provided in the dataObject
      * parameter. This method does not write any changes in the file system.
@@ -30,8 +30,19 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.datamodeller.backend.server.file.DataModelerCopyHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerRenameWorkaroundHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerSaveHelper;
+import org.kie.workbench.common.screens.datamodeller.backend.server.validation.PersistableClass1;
+import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
+import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
+import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.core.impl.DataModelImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
+import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourcesQuery;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPathPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -59,6 +70,14 @@ public class DataModelerServiceTest {
     private static final Path TARGET_DIRECTORY = PathFactory.newPath("/",
                                                                      "default://project/src/main/java/new/package");
     private static final String COMMENT = "comment";
+    private static final Path PROJECT_ROOT_PATH = PathFactory.newPath("project",
+                                                                      "file:///project");
+    private static final String POJO_CLASS_NAME = "org.test.Pojo";
+    private static final String POJO_SOURCE = "package org.test;\n" +
+            "public class Pojo implements java.io.Serializable {\n" +
+            "    private String name;\n" +
+            "    private Integer age;\n" +
+            "}";
 
     @Mock
     private DataModelerCopyHelper copyHelper;
@@ -87,6 +106,21 @@ public class DataModelerServiceTest {
     @Mock
     private RenameService renameService;
 
+    @Mock
+    private RefactoringQueryService queryService;
+
+    @Mock
+    private ProjectClassLoaderHelper classLoaderHelper;
+
+    @Mock
+    private DataModelService dataModelService;
+
+    @Mock
+    private FilterHolder filterHolder;
+
+    @Mock
+    private KieProject project;
+
     @Spy
     @InjectMocks
     private DataModelerServiceImpl dataModelerService;
@@ -257,4 +291,98 @@ public class DataModelerServiceTest {
         assertEquals(Collections.emptyList(),
                      classUsages);
     }
+
+    @Test
+    public void findDataObjectFromIndexedSource() {
+        mockProject();
+        Path otherProjectPojoPath = PathFactory.newPath("Pojo.java",
+                                                        "file:///project2/src/main/java/org/test/Pojo.java");
+        Path pojoPath = PathFactory.newPath("Pojo.java",
+                                            "file:///project/src/main/java/org/test/Pojo.java");
+        when(queryService.query(eq(FindResourcesQuery.NAME),
+                                anySet())).thenReturn(Arrays.asList(pathRow(otherProjectPojoPath),
+                                                                    pathRow(pojoPath)));
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(POJO_SOURCE);
+
+        final DataObject dataObject = dataModelerService.findDataObject(PATH,
+                                                                        POJO_CLASS_NAME);
+
+        assertNotNull(dataObject);
+        assertEquals(POJO_CLASS_NAME,
+                     dataObject.getClassName());
+        assertEquals(2,
+                     dataObject.getProperties().size());
+        assertEquals(String.class.getName(),
+                     dataObject.getProperty("name").getClassName());
+        verify(ioService,
+               times(1)).readAllString(any(org.uberfire.java.nio.file.Path.class));
+        verify(dataModelService,
+               never()).getProjectDataModel(any(Path.class));
+        verify(dataModelerService,
+               never()).loadModel(any(KieProject.class));
+    }
+
+    @Test
+    public void findDataObjectFromDependency() {
+        mockProject();
+        when(queryService.query(eq(FindResourcesQuery.NAME),
+                                anySet())).thenReturn(Collections.<RefactoringPageRow>emptyList());
+
+        //types from the project dependencies are not data objects of the project.
+        assertNull(dataModelerService.findDataObject(PATH,
+                                                     PersistableClass1.class.getName()));
+        verify(ioService,
+               never()).readAllString(any(org.uberfire.java.nio.file.Path.class));
+        verify(dataModelService,
+               never()).getProjectDataModel(any(Path.class));
+        verify(dataModelerService,
+               never()).loadModel(any(KieProject.class));
+    }
+
+    @Test
+    public void findDataObjectNotIndexedYet() {
+        mockProject();
+        when(queryService.query(eq(FindResourcesQuery.NAME),
+                                anySet())).thenReturn(Collections.<RefactoringPageRow>emptyList());
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(true);
+        DataModel dataModel = new DataModelImpl();
+        DataObject pojo = dataModel.addDataObject(POJO_CLASS_NAME);
+        doReturn(dataModel).when(dataModelerService).loadModel(project);
+
+        assertEquals(pojo,
+                     dataModelerService.findDataObject(PATH,
+                                                       POJO_CLASS_NAME));
+    }
+
+    @Test
+    public void findDataObjectFromStaleIndexedSource() {
+        mockProject();
+        Path pojoPath = PathFactory.newPath("Pojo.java",
+                                            "file:///project/src/main/java/org/test/Pojo.java");
+        when(queryService.query(eq(FindResourcesQuery.NAME),
+                                anySet())).thenReturn(Collections.singletonList(pathRow(pojoPath)));
+        //the indexed file no longer declares the type.
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn("package org.test;\n" +
+                                                                                                     "public class Other {\n" +
+                                                                                                     "}");
+        DataModel dataModel = new DataModelImpl();
+        DataObject pojo = dataModel.addDataObject(POJO_CLASS_NAME);
+        doReturn(dataModel).when(dataModelerService).loadModel(project);
+
+        assertEquals(pojo,
+                     dataModelerService.findDataObject(PATH,
+                                                       POJO_CLASS_NAME));
+    }
+
+    private void mockProject() {
+        when(projectService.resolveProject(PATH)).thenReturn(project);
+        when(project.getRootPath()).thenReturn(PROJECT_ROOT_PATH);
+        when(classLoaderHelper.getProjectClassLoader(project)).thenReturn(getClass().getClassLoader());
+    }
+
+    private RefactoringPageRow pathRow(Path path) {
+        RefactoringPathPageRow row = new RefactoringPathPageRow();
+        row.setValue(path);
+        return row;
+    }
 }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -105,6 +106,8 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private FilterHolder filterHolder;
 
+    private JavaTypeParseCache parseCache;
+
     private static final String DATA_OBJECT_LOAD_ERROR = "It was not possible to create or load DataObject: \"{0}\" .";
 
     private static final String ANNOTATION_LOAD_ERROR = "It was not possible to create or load a DataObject or Field annotation for annotation class name: \"{0}\" .";
@@ -139,6 +142,15 @@ public class JavaRoasterModelDriver implements ModelDriver {
         this.filterHolder = filterHolder;
     }
 
+    public JavaRoasterModelDriver( IOService ioService,
+                                   Path javaRootPath,
+                                   ClassLoader classLoader,
+                                   FilterHolder filterHolder,
+                                   JavaTypeParseCache parseCache ) {
+        this( ioService, javaRootPath, classLoader, filterHolder );
+        this.parseCache = parseCache;
+    }
+
     @Override
     public List<AnnotationDefinition> getConfiguredAnnotations() {
         return configuredAnnotations;
@@ -171,6 +183,7 @@ public class JavaRoasterModelDriver implements ModelDriver {
         List<Path> rootPaths = new ArrayList<Path>();
         rootPaths.add( javaRootPath );
 
+        Map<Path, String> sources = new LinkedHashMap<Path, String>();
         Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan( ioService, rootPaths, ".java", true );
         if ( scanResults != null ) {
             for ( FileUtils.ScanResult scanResult : scanResults ) {
@@ -181,36 +194,52 @@ public class JavaRoasterModelDriver implements ModelDriver {
                     logger.debug( "file: " + scanResult.getFile() + " is empty." );
                     continue;
                 }
-                try {
-                    JavaType<?> javaType = Roaster.parse( fileContent );
-                    final boolean isManaged = isManagedJavaType( javaType );
-                    final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
-                    if ( isManaged && !vetoed ) {
-                        if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors( result, scanResult.getFile(), javaType.getSyntaxErrors() );
-                        } else if ( javaType.isEnum() ) {
-                            loadFromJavaEnum( ( JavaEnumSource ) javaType, scanResult.getFile(), dataModel, result);
-                        } else {
-                            loadFromJavaClass( ( JavaClassSource ) javaType, scanResult.getFile(), dataModel, result );
-                        }
-                    } else if ( vetoed ) {
-                        logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                      javaType.getQualifiedName(),
-                                      scanResult.getFile() );
+                sources.put( scanResult.getFile(), fileContent );
+            }
+        }
+
+        try ( JavaTypeParseCache.ParsedSources parsedSources = parseSources( sources ) ) {
+            for ( Map.Entry<Path, JavaType<?>> parsedFile : parsedSources.getJavaTypes().entrySet() ) {
+                Path file = parsedFile.getKey();
+                JavaType<?> javaType = parsedFile.getValue();
+                final boolean isManaged = isManagedJavaType( javaType );
+                final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
+                if ( isManaged && !vetoed ) {
+                    if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
+                        //if a file has parsing errors it will be skipped.
+                        addSyntaxErrors( result, file, javaType.getSyntaxErrors() );
+                    } else if ( javaType.isEnum() ) {
+                        loadFromJavaEnum( ( JavaEnumSource ) javaType, file, dataModel, result);
                     } else {
-                        logger.debug( "File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped." );
+                        loadFromJavaClass( ( JavaClassSource ) javaType, file, dataModel, result );
                     }
-                } catch ( Exception e ) {
-                    //Unexpected parsing or model loading exception.
-                    logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
-                    throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+                } else if ( vetoed ) {
+                    logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
+                                  javaType.getQualifiedName(),
+                                  file );
+                } else {
+                    logger.debug( "File: " + file + " do not contain a managed java type, it will be skipped." );
                 }
             }
+        } catch ( Exception e ) {
+            //Unexpected parsing or model loading exception.
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
         }
         return result;
     }
 
+    private JavaTypeParseCache.ParsedSources parseSources( Map<Path, String> sources ) throws Exception {
+        if ( parseCache != null ) {
+            return parseCache.parse( sources );
+        }
+        Map<Path, JavaType<?>> parsedSources = new LinkedHashMap<Path, JavaType<?>>( sources.size() );
+        for ( Map.Entry<Path, String> source : sources.entrySet() ) {
+            parsedSources.put( source.getKey(), Roaster.parse( source.getValue() ) );
+        }
+        return new JavaTypeParseCache.ParsedSources( parsedSources );
+    }
+
     private boolean isVetoed( final JavaType<?> javaType ) {
         return filterHolder.getSourceFilters().stream().anyMatch( filter -> filter.veto( javaType ) );
     }
@@ -267,8 +296,8 @@ public class JavaRoasterModelDriver implements ModelDriver {
             return result;
         }
 
-        try {
-            JavaType<?> javaType = Roaster.parse( source );
+        try ( JavaTypeParseCache.ParsedSources parsedSources = parseSource( source, path ) ) {
+            JavaType<?> javaType = parsedSources.getJavaTypes().get( path );
             if ( javaType.isClass() ) {
                 if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
                     //if a file has parsing errors it will be skipped.
@@ -290,13 +319,21 @@ public class JavaRoasterModelDriver implements ModelDriver {
             }
         } catch ( Exception e ) {
             //Unexpected parsing o model loading exception.
-            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
-            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            Object location = javaRootPath != null ? javaRootPath.toUri() : path;
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, location ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, location ), e );
         }
 
         return result;
     }
 
+    private JavaTypeParseCache.ParsedSources parseSource( String source, Path path ) throws Exception {
+        if ( path == null ) {
+            return new JavaTypeParseCache.ParsedSources( Collections.<Path, JavaType<?>>singletonMap( path, Roaster.parse( source ) ) );
+        }
+        return parseSources( Collections.singletonMap( path, source ) );
+    }
+
     public TypeInfoResult loadJavaTypeInfo( final String source ) throws ModelDriverException {
 
         TypeInfoResult result = new TypeInfoResult();
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps the Roaster parse results of the project java files, keyed by file path plus the hash of the file content.
+ * A file is parsed again only when its content changed, and the files that need to be parsed are parsed in parallel.
+ * Entries are also dropped when the workbench notifies that the underlying resource was updated, renamed or deleted.
+ * <p>
+ * Roaster types are mutable and not thread safe, so a cached type is never shared between callers: the types returned
+ * by {@link #parse(Map)} are checked out of the cache, and a concurrent caller parses its own copy. Callers must only
+ * read them, and return them to the cache by closing the {@link ParsedSources}.
+ */
+@ApplicationScoped
+public class JavaTypeParseCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.workbench.datamodeller.parse.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Map<String, Entry> entries;
+
+    private final ExecutorService parsePool;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public JavaTypeParseCache() {
+        this( Integer.getInteger( CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE ),
+              Math.max( 1, Math.min( 4, Runtime.getRuntime().availableProcessors() ) ) );
+    }
+
+    public JavaTypeParseCache( final int maxEntries,
+                               final int parseThreads ) {
+        this.entries = new LinkedHashMap<String, Entry>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, Entry> eldest ) {
+                return size() > maxEntries;
+            }
+        };
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.parsePool = Executors.newFixedThreadPool( parseThreads, runnable -> {
+            final Thread thread = new Thread( runnable, "datamodeller-parse-" + threadCount.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        parsePool.shutdownNow();
+        invalidateAll();
+    }
+
+    /**
+     * Returns the parsed java type for each one of the given sources, in the same order. Sources with a cached entry
+     * for the same path and content hash are not parsed again.
+     * @param sources the file contents to parse, keyed by file path.
+     * @return the parsed java types, keyed by file path, which are returned to the cache once closed.
+     */
+    public ParsedSources parse( final Map<Path, String> sources ) throws ExecutionException, InterruptedException {
+        final Map<Path, JavaType<?>> result = new LinkedHashMap<>( sources.size() );
+        final Map<String, Entry> checkedOut = new LinkedHashMap<>( sources.size() );
+        final Map<Path, Future<Entry>> pending = new LinkedHashMap<>();
+
+        for ( Map.Entry<Path, String> source : sources.entrySet() ) {
+            final String key = toKey( source.getKey() );
+            final String hash = DigestUtils.md5Hex( source.getValue() );
+            final Entry entry = take( key );
+            if ( entry != null && entry.hash.equals( hash ) ) {
+                hits.incrementAndGet();
+                result.put( source.getKey(), entry.javaType );
+                checkedOut.put( key, entry );
+            } else {
+                misses.incrementAndGet();
+                result.put( source.getKey(), null );
+                pending.put( source.getKey(), parsePool.submit( () -> new Entry( hash, Roaster.parse( source.getValue() ) ) ) );
+            }
+        }
+
+        boolean parsed = false;
+        try {
+            for ( Map.Entry<Path, Future<Entry>> parsedSource : pending.entrySet() ) {
+                final Entry entry = parsedSource.getValue().get();
+                checkedOut.put( toKey( parsedSource.getKey() ), entry );
+                result.put( parsedSource.getKey(), entry.javaType );
+            }
+            parsed = true;
+        } finally {
+            pending.values().forEach( future -> future.cancel( true ) );
+            if ( !parsed ) {
+                release( checkedOut );
+            }
+        }
+        return new ParsedSources( this, result, checkedOut );
+    }
+
+    public void invalidate( final org.uberfire.backend.vfs.Path path ) {
+        if ( path != null ) {
+            synchronized ( entries ) {
+                entries.remove( path.toURI() );
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized ( entries ) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized ( entries ) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        synchronized ( entries ) {
+            event.getBatch().keySet().forEach( path -> entries.remove( path.toURI() ) );
+        }
+    }
+
+    private Entry take( final String key ) {
+        synchronized ( entries ) {
+            return entries.remove( key );
+        }
+    }
+
+    private void release( final Map<String, Entry> checkedOut ) {
+        synchronized ( entries ) {
+            checkedOut.forEach( entries::putIfAbsent );
+        }
+    }
+
+    private String toKey( final Path path ) {
+        return Paths.convert( path ).toURI();
+    }
+
+    /**
+     * The java types parsed for a set of sources, keyed by file path. Closing it returns the types to the cache they
+     * were checked out from, so they must not be used afterwards.
+     */
+    public static class ParsedSources implements AutoCloseable {
+
+        private final JavaTypeParseCache cache;
+
+        private final Map<Path, JavaType<?>> javaTypes;
+
+        private final Map<String, Entry> checkedOut;
+
+        /**
+         * Wraps java types that were not parsed through a cache.
+         */
+        public ParsedSources( final Map<Path, JavaType<?>> javaTypes ) {
+            this( null, javaTypes, null );
+        }
+
+        private ParsedSources( final JavaTypeParseCache cache,
+                               final Map<Path, JavaType<?>> javaTypes,
+                               final Map<String, Entry> checkedOut ) {
+            this.cache = cache;
+            this.javaTypes = javaTypes;
+            this.checkedOut = checkedOut;
+        }
+
+        public Map<Path, JavaType<?>> getJavaTypes() {
+            return javaTypes;
+        }
+
+        @Override
+        public void close() {
+            if ( cache != null ) {
+                cache.release( checkedOut );
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final String hash;
+
+        private final JavaType<?> javaType;
+
+        private Entry( final String hash,
+                       final JavaType<?> javaType ) {
+            this.hash = hash;
+            this.javaType = javaType;
+        }
+    }
+}
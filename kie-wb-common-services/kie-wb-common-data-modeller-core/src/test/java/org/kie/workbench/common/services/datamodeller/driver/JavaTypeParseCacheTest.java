@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.forge.roaster.model.JavaType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaTypeParseCache;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class JavaTypeParseCacheTest {
+
+    private static final String POJO_A = "package test; public class PojoA { private String name; }";
+
+    private static final String POJO_B = "package test; public class PojoB { private int age; }";
+
+    private JavaTypeParseCache parseCache;
+
+    private Path pathA;
+
+    private Path pathB;
+
+    @Before
+    public void setUp() throws Exception {
+        SimpleFileSystemProvider simpleFileSystemProvider = new SimpleFileSystemProvider();
+        simpleFileSystemProvider.forceAsDefault();
+
+        final String uriToResource = this.getClass().getResource( "projectRoot.txt" ).toURI().toString();
+        final String uriToRootPath = uriToResource.substring( 0, uriToResource.length() - "projectRoot.txt".length() );
+        pathA = simpleFileSystemProvider.getPath( URI.create( uriToRootPath + "PojoA.java" ) );
+        pathB = simpleFileSystemProvider.getPath( URI.create( uriToRootPath + "PojoB.java" ) );
+
+        parseCache = new JavaTypeParseCache( 10, 2 );
+    }
+
+    @After
+    public void tearDown() {
+        parseCache.destroy();
+    }
+
+    @Test
+    public void testUnchangedSourcesAreNotParsedAgain() throws Exception {
+        final Map<Path, JavaType<?>> first = parse( sources( POJO_A, POJO_B ) );
+        assertEquals( 0, parseCache.getHits() );
+        assertEquals( 2, parseCache.getMisses() );
+        assertEquals( "PojoA", first.get( pathA ).getName() );
+        assertEquals( "PojoB", first.get( pathB ).getName() );
+
+        final Map<Path, JavaType<?>> second = parse( sources( POJO_A, POJO_B ) );
+        assertEquals( 2, parseCache.getHits() );
+        assertEquals( 2, parseCache.getMisses() );
+        assertSame( first.get( pathA ), second.get( pathA ) );
+        assertSame( first.get( pathB ), second.get( pathB ) );
+    }
+
+    @Test
+    public void testChangedSourceIsParsedAgain() throws Exception {
+        final Map<Path, JavaType<?>> first = parse( sources( POJO_A, POJO_B ) );
+
+        final Map<Path, JavaType<?>> second = parse( sources( POJO_A.replace( "name", "surname" ), POJO_B ) );
+        assertEquals( 1, parseCache.getHits() );
+        assertEquals( 3, parseCache.getMisses() );
+        assertNotSame( first.get( pathA ), second.get( pathA ) );
+        assertSame( first.get( pathB ), second.get( pathB ) );
+        assertEquals( pathA, second.keySet().iterator().next() );
+    }
+
+    @Test
+    public void testCheckedOutTypesAreNotShared() throws Exception {
+        try ( JavaTypeParseCache.ParsedSources first = parseCache.parse( sources( POJO_A, POJO_B ) ) ) {
+            assertEquals( 0, parseCache.size() );
+
+            try ( JavaTypeParseCache.ParsedSources second = parseCache.parse( sources( POJO_A, POJO_B ) ) ) {
+                assertEquals( 0, parseCache.getHits() );
+                assertEquals( 4, parseCache.getMisses() );
+                assertNotSame( first.getJavaTypes().get( pathA ), second.getJavaTypes().get( pathA ) );
+                assertEquals( "PojoA", second.getJavaTypes().get( pathA ).getName() );
+            }
+        }
+        assertEquals( 2, parseCache.size() );
+    }
+
+    @Test
+    public void testResourceUpdatedEventInvalidatesEntry() throws Exception {
+        parse( sources( POJO_A, POJO_B ) );
+        assertEquals( 2, parseCache.size() );
+
+        final ResourceUpdatedEvent event = mock( ResourceUpdatedEvent.class );
+        when( event.getPath() ).thenReturn( Paths.convert( pathA ) );
+        parseCache.onResourceUpdated( event );
+
+        assertEquals( 1, parseCache.size() );
+        parse( sources( POJO_A, POJO_B ) );
+        assertEquals( 1, parseCache.getHits() );
+        assertEquals( 3, parseCache.getMisses() );
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        final JavaTypeParseCache smallCache = new JavaTypeParseCache( 1, 1 );
+        try {
+            smallCache.parse( sources( POJO_A, POJO_B ) ).close();
+            assertEquals( 1, smallCache.size() );
+        } finally {
+            smallCache.destroy();
+        }
+    }
+
+    private Map<Path, JavaType<?>> parse( final Map<Path, String> sources ) throws Exception {
+        try ( JavaTypeParseCache.ParsedSources parsedSources = parseCache.parse( sources ) ) {
+            return parsedSources.getJavaTypes();
+        }
+    }
+
+    private Map<Path, String> sources( final String sourceA,
+                                       final String sourceB ) {
+        final Map<Path, String> sources = new LinkedHashMap<>();
+        sources.put( pathA, sourceA );
+        sources.put( pathB, sourceB );
+        return sources;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.datamodel.backend.server;
 
+import java.util.HashSet;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -81,42 +83,108 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
                 return dataModel;
             }
 
-            //Get the fully qualified class name of the fact type
-            String fullyQualifiedClassName = factType;
-
             //Retrieve (or build) oracle and populate incremental content
             final PackageDataModelOracle oracle = cachePackages.assertPackageDataModelOracle( project,
                                                                                               pkg );
 
-            // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                for ( Import imp : imports.getImports() ) {
-                    if ( imp.getType().endsWith( factType ) ) {
-                        fullyQualifiedClassName = imp.getType();
-                        break;
-                    }
-                }
+            //If the FactType isn't recognised return an empty payload
+            final String fullyQualifiedClassName = resolveFullyQualifiedClassName( oracle,
+                                                                                   pkg,
+                                                                                   imports,
+                                                                                   factType );
+            if ( fullyQualifiedClassName == null ) {
+                return dataModel;
             }
 
-            //If the FactType isn't recognised try using the Package Name
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
+            DataModelOracleUtilities.populateDataModel( oracle,
+                                                        dataModel,
+                                                        fullyQualifiedClassName );
+            return dataModel;
+
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+
+    }
+
+    @Override
+    public PackageDataModelOracleIncrementalPayload getBatchUpdates( final Path resourcePath,
+                                                                     final Imports imports,
+                                                                     final Set<String> factTypes ) {
+        PortablePreconditions.checkNotNull( "resourcePath",
+                                            resourcePath );
+        PortablePreconditions.checkNotNull( "imports",
+                                            imports );
+        PortablePreconditions.checkNotNull( "factTypes",
+                                            factTypes );
+
+        final PackageDataModelOracleIncrementalPayload dataModel = new PackageDataModelOracleIncrementalPayload();
+
+        try {
+            //Check resource was within a Project structure
+            final KieProject project = resolveProject( resourcePath );
+            if ( project == null ) {
+                return dataModel;
             }
+            //Check resource was within a Package structure
+            final Package pkg = resolvePackage( resourcePath );
+            if ( pkg == null ) {
+                return dataModel;
+            }
+
+            //Retrieve (or build) oracle once for all the FactTypes
+            final PackageDataModelOracle oracle = cachePackages.assertPackageDataModelOracle( project,
+                                                                                              pkg );
 
-            //If the FactType still isn't recognised return an empty payload
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            //FactTypes that aren't recognised are left out of the payload
+            final Set<String> fullyQualifiedClassNames = new HashSet<String>();
+            for ( String factType : factTypes ) {
+                final String fullyQualifiedClassName = resolveFullyQualifiedClassName( oracle,
+                                                                                       pkg,
+                                                                                       imports,
+                                                                                       factType );
+                if ( fullyQualifiedClassName != null ) {
+                    fullyQualifiedClassNames.add( fullyQualifiedClassName );
+                }
+            }
+            if ( fullyQualifiedClassNames.isEmpty() ) {
                 return dataModel;
             }
 
             DataModelOracleUtilities.populateDataModel( oracle,
                                                         dataModel,
-                                                        fullyQualifiedClassName );
+                                                        fullyQualifiedClassNames );
             return dataModel;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
+    }
 
+    //Get the fully qualified class name of the fact type, or null if it is not known to the DataModelOracle
+    private String resolveFullyQualifiedClassName( final PackageDataModelOracle oracle,
+                                                   final Package pkg,
+                                                   final Imports imports,
+                                                   final String factType ) {
+        // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
+        if ( oracle.getProjectModelFields().get( factType ) != null ) {
+            return factType;
+        }
+        for ( Import imp : imports.getImports() ) {
+            if ( imp.getType().endsWith( factType ) ) {
+                if ( oracle.getProjectModelFields().get( imp.getType() ) != null ) {
+                    return imp.getType();
+                }
+                break;
+            }
+        }
+
+        //If the FactType isn't recognised try using the Package Name
+        final String fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) != null ) {
+            return fullyQualifiedClassName;
+        }
+        return null;
     }
 
     private KieProject resolveProject( final Path resourcePath ) {
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
@@ -42,6 +43,10 @@ public final class ProjectDataModelOracleBuilder {
 
     private List<String> errors = new ArrayList<String>();
 
+    //Inspections done ahead of adding the classes, possibly by other threads
+    private final Map<Class<?>, ClassFieldInspector> fieldInspectors = new ConcurrentHashMap<Class<?>, ClassFieldInspector>();
+    private final Map<Class<?>, ClassMethodInspector> methodInspectors = new ConcurrentHashMap<Class<?>, ClassMethodInspector>();
+
     public static ProjectDataModelOracleBuilder newProjectOracleBuilder() {
         return new ProjectDataModelOracleBuilder();
     }
@@ -101,6 +106,32 @@ public final class ProjectDataModelOracleBuilder {
         return this;
     }
 
+    /**
+     * Inspects the fields and methods of a class ahead of adding it with {@link #addClass(Class, boolean, TypeSource)}.
+     * Inspection does not change the state of the builder otherwise, so it is safe to inspect different classes from
+     * different threads while the classes are added in order by a single thread.
+     */
+    public ProjectDataModelOracleBuilder inspectClass( final Class<?> clazz ) throws IOException {
+        fieldInspectors.put( clazz,
+                             new ClassFieldInspector( clazz ) );
+        methodInspectors.put( clazz,
+                              new ClassMethodInspector( clazz,
+                                                        new JavaTypeSystemTranslator() ) );
+        return this;
+    }
+
+    ClassFieldInspector getFieldInspector( final Class<?> clazz ) {
+        final ClassFieldInspector inspector = fieldInspectors.get( clazz );
+        return inspector != null ? inspector : new ClassFieldInspector( clazz );
+    }
+
+    ClassMethodInspector getMethodInspector( final Class<?> clazz,
+                                             final ClassToGenericClassConverter converter ) throws IOException {
+        final ClassMethodInspector inspector = methodInspectors.get( clazz );
+        return inspector != null ? inspector : new ClassMethodInspector( clazz,
+                                                                         converter );
+    }
+
     public ProjectDataModelOracleBuilder addEnum( final String factType,
                                                   final String fieldName,
                                                   final String[] values ) {
@@ -70,6 +70,8 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private BuildInfoService buildInfoService;
 
+    private final SingleFlightLoader<Package, PackageDataModelOracle> loader = new SingleFlightLoader<>(this);
+
     public LRUDataModelOracleCache() {
         //CDI proxy
     }
@@ -95,6 +97,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
         //If resource was not within a Package there's nothing to invalidate
         if (pkg != null) {
+            loader.invalidate(pkg::equals);
             invalidateCache(pkg);
         }
     }
@@ -111,19 +114,12 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         }
 
         final String projectUri = project.getRootPath().toURI();
+        loader.invalidate(pkg -> isPackageInProject(pkg,
+                                                    projectUri));
         final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
         for (final Package pkg : getKeys()) {
-            final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
-            final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
-            final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
-            final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
-            if (packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith(projectUri)) {
+            if (isPackageInProject(pkg,
+                                   projectUri)) {
                 cacheEntriesToInvalidate.add(pkg);
             }
         }
@@ -132,17 +128,27 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         }
     }
 
+    private boolean isPackageInProject(final Package pkg,
+                                       final String projectUri) {
+        final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
+        final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
+        final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
+        final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
+        return (packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith(projectUri))
+                || (packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith(projectUri))
+                || (packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith(projectUri))
+                || (packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith(projectUri));
+    }
+
     //Check the DataModelOracle for the Package has been created, otherwise create one!
-    public synchronized PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
-                                                                            final Package pkg) {
-        PackageDataModelOracle oracle = getEntry(pkg);
-        if (oracle == null) {
-            oracle = makePackageDataModelOracle(project,
-                                                pkg);
-            setEntry(pkg,
-                     oracle);
-        }
-        return oracle;
+    //Oracles of different Packages are created at the same time, while requests for a Package being created wait for it
+    public PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
+                                                               final Package pkg) {
+        return loader.load(pkg,
+                           this::getEntry,
+                           key -> makePackageDataModelOracle(project,
+                                                             key),
+                           this::setEntry);
     }
 
     private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
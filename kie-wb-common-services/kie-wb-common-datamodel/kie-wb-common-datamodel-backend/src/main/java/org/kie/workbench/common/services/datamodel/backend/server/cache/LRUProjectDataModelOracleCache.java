@@ -23,6 +23,8 @@ import javax.inject.Named;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
@@ -40,17 +42,31 @@ public class LRUProjectDataModelOracleCache
     private ProjectDataModelOracleBuilderProvider builderProvider;
     private KieProjectService projectService;
     private BuildInfoService buildInfoService;
+    private ProjectDataModelOracleSnapshots snapshots;
+
+    private final SingleFlightLoader<KieProject, ProjectDataModelOracle> loader = new SingleFlightLoader<>( this );
 
     public LRUProjectDataModelOracleCache() {
     }
 
-    @Inject
     public LRUProjectDataModelOracleCache( final ProjectDataModelOracleBuilderProvider builderProvider,
                                            final KieProjectService projectService,
                                            final BuildInfoService buildInfoService ) {
+        this( builderProvider,
+              projectService,
+              buildInfoService,
+              null );
+    }
+
+    @Inject
+    public LRUProjectDataModelOracleCache( final ProjectDataModelOracleBuilderProvider builderProvider,
+                                           final KieProjectService projectService,
+                                           final BuildInfoService buildInfoService,
+                                           final ProjectDataModelOracleSnapshots snapshots ) {
         this.builderProvider = builderProvider;
         this.projectService = projectService;
         this.buildInfoService = buildInfoService;
+        this.snapshots = snapshots;
     }
 
     public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
@@ -61,24 +77,42 @@ public class LRUProjectDataModelOracleCache
 
         //If resource was not within a Project there's nothing to invalidate
         if ( project != null ) {
+            loader.invalidate( project::equals );
             invalidateCache( project );
         }
     }
 
     //Check the ProjectOracle for the Project has been created, otherwise create one!
-    public synchronized ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
-        ProjectDataModelOracle projectOracle = getEntry( project );
-        if ( projectOracle == null ) {
-            projectOracle = makeProjectOracle( project );
-            setEntry( project,
-                      projectOracle );
-        }
-        return projectOracle;
+    //Oracles of different Projects are created at the same time, while requests for a Project being created wait for it
+    public ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
+        return loader.load( project,
+                            this::getEntry,
+                            this::makeProjectOracle,
+                            this::setEntry );
     }
 
     private ProjectDataModelOracle makeProjectOracle( final KieProject project ) {
-        return builderProvider.newBuilder( project,
-                                           buildInfoService.getBuildInfo( project ) ).build();
+        final BuildInfo buildInfo = buildInfoService.getBuildInfo( project );
+        if ( snapshots == null ) {
+            return builderProvider.newBuilder( project,
+                                               buildInfo ).build();
+        }
+
+        //Reuse the oracle stored on disk if none of its inputs changed, otherwise build and store it
+        final KieModuleMetaData kieModuleMetaData = buildInfo.getKieModuleMetaDataIgnoringErrors();
+        final String inputsHash = snapshots.getInputsHash( project,
+                                                           buildInfo.getKieModuleIgnoringErrors(),
+                                                           kieModuleMetaData );
+        ProjectDataModelOracle projectOracle = snapshots.load( project,
+                                                               inputsHash );
+        if ( projectOracle == null ) {
+            projectOracle = builderProvider.newBuilder( project,
+                                                        buildInfo ).build();
+            snapshots.store( project,
+                             inputsHash,
+                             projectOracle );
+        }
+        return projectOracle;
     }
 
 }
\ No newline at end of file
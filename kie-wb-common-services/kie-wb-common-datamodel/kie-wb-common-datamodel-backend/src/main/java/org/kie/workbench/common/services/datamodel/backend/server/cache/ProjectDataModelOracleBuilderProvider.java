@@ -16,8 +16,15 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -40,9 +47,14 @@ public class ProjectDataModelOracleBuilderProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectDataModelOracleBuilderProvider.class);
 
+    public static final String INTROSPECTION_THREADS_PROPERTY = "org.kie.workbench.datamodel.introspection.threads";
+
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
 
+    //Classes are loaded and introspected in parallel, threads are only started when an oracle is first built
+    private final ExecutorService introspectionPool = newIntrospectionPool();
+
     public ProjectDataModelOracleBuilderProvider() {
         //CDI proxy
     }
@@ -54,6 +66,25 @@ public class ProjectDataModelOracleBuilderProvider {
         this.importsService = importsService;
     }
 
+    @PreDestroy
+    public void destroy() {
+        introspectionPool.shutdownNow();
+    }
+
+    private static ExecutorService newIntrospectionPool() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Integer.getInteger(INTROSPECTION_THREADS_PROPERTY,
+                                                               Math.max(1,
+                                                                        Math.min(4,
+                                                                                 Runtime.getRuntime().availableProcessors()))),
+                                            runnable -> {
+                                                final Thread thread = new Thread(runnable,
+                                                                                 "datamodel-introspection-" + threadCount.incrementAndGet());
+                                                thread.setDaemon(true);
+                                                return thread;
+                                            });
+    }
+
     public InnerBuilder newBuilder( final KieProject project,
                                     final BuildInfo buildInfo ) {
 
@@ -101,11 +132,29 @@ public class ProjectDataModelOracleBuilderProvider {
             }
         }
 
+        /**
+         * Classes are loaded and introspected in parallel, and then added to the builder in order by this thread
+         */
         private void addFromKieModuleMetadata() {
+            final List<Future<ResolvedClass>> resolvedClasses = new ArrayList<>();
             for (final String packageName : getFilteredPackageNames()) {
                 pdBuilder.addPackage(packageName);
-                addClasses(packageName,
-                           kieModuleMetaData.getClasses(packageName));
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    resolvedClasses.add(introspectionPool.submit(resolveClass(packageName,
+                                                                              className)));
+                }
+            }
+            try {
+                for (final Future<ResolvedClass> resolvedClass : resolvedClasses) {
+                    addClass(resolvedClass.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                resolvedClasses.forEach(future -> future.cancel(true));
             }
         }
 
@@ -117,14 +166,6 @@ public class ProjectDataModelOracleBuilderProvider {
                                                                   kieModuleMetaData.getPackages());
         }
 
-        private void addClasses(final String packageName,
-                                final Collection<String> classes) {
-            for (final String className : classes) {
-                addClass(packageName,
-                         className);
-            }
-        }
-
         private void addClass(final Import item) {
             try {
                 Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
@@ -139,14 +180,33 @@ public class ProjectDataModelOracleBuilderProvider {
             }
         }
 
-        private void addClass(final String packageName,
-                              final String className) {
+        private Callable<ResolvedClass> resolveClass(final String packageName,
+                                                     final String className) {
+            return () -> {
+                try {
+                    final Class clazz = kieModuleMetaData.getClass(packageName,
+                                                                   className);
+                    final ResolvedClass resolvedClass = new ResolvedClass(clazz,
+                                                                          kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
+                                                                          typeSourceResolver.getTypeSource(clazz));
+                    pdBuilder.inspectClass(clazz);
+                    return resolvedClass;
+                } catch (Throwable e) {
+                    //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
+                    log.debug(e.getMessage());
+                    return null;
+                }
+            };
+        }
+
+        private void addClass(final ResolvedClass resolvedClass) {
+            if (resolvedClass == null) {
+                return;
+            }
             try {
-                final Class clazz = kieModuleMetaData.getClass(packageName,
-                                                               className);
-                pdBuilder.addClass(clazz,
-                                   kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
-                                   typeSourceResolver.getTypeSource(clazz));
+                pdBuilder.addClass(resolvedClass.clazz,
+                                   resolvedClass.isEvent,
+                                   resolvedClass.typeSource);
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(e.getMessage());
@@ -157,4 +217,19 @@ public class ProjectDataModelOracleBuilderProvider {
             return importsService.load(project.getImportsPath()).getImports().getImports();
         }
     }
+
+    private static class ResolvedClass {
+
+        private final Class clazz;
+        private final boolean isEvent;
+        private final TypeSource typeSource;
+
+        private ResolvedClass(final Class clazz,
+                              final boolean isEvent,
+                              final TypeSource typeSource) {
+            this.clazz = clazz;
+            this.isEvent = isEvent;
+            this.typeSource = typeSource;
+        }
+    }
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.enterprise.context.ApplicationScoped;
+
+import com.thoughtworks.xstream.XStream;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.kie.api.builder.KieModule;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.java.nio.file.Files;
+
+/**
+ * Stores the Project DataModelOracles on disk, so they don't need to be built again after a restart. A snapshot is
+ * keyed by the hash of all the inputs of the oracle: the project pom.xml, project.imports and package white list,
+ * the packages and the bytecode of the classes available on the classpath, dependencies included, and the content of
+ * every file of the project KieModule. A snapshot is only used if the hash of the current inputs matches the one it
+ * was stored with.
+ * <p>
+ * File format: magic number, format version, project root URI and inputs hash, followed by the gzipped oracle. Only
+ * the oracle types and the standard types allowed by XStream are read from a snapshot.
+ */
+@ApplicationScoped
+public class ProjectDataModelOracleSnapshots {
+
+    public static final String SNAPSHOT_DIR_PROPERTY = "org.kie.workbench.datamodel.snapshot.dir";
+
+    private static final Logger log = LoggerFactory.getLogger( ProjectDataModelOracleSnapshots.class );
+
+    private static final int MAGIC = 0x4B444D4F;
+
+    //Increase when the format or the content of the snapshots changes
+    static final int FORMAT_VERSION = 2;
+
+    private static final String SNAPSHOT_FILE_SUFFIX = ".dmo";
+
+    private final File snapshotDir;
+
+    private final XStream xStream = new XStream();
+
+    public ProjectDataModelOracleSnapshots() {
+        this( new File( System.getProperty( SNAPSHOT_DIR_PROPERTY,
+                                            new File( System.getProperty( "org.uberfire.nio.git.dir",
+                                                                          System.getProperty( "user.dir" ) ),
+                                                      ".niogit" + File.separator + ".datamodel-snapshots" ).getAbsolutePath() ) ) );
+    }
+
+    public ProjectDataModelOracleSnapshots( final File snapshotDir ) {
+        this.snapshotDir = snapshotDir;
+        this.xStream.setClassLoader( ProjectDataModelOracleImpl.class.getClassLoader() );
+        XStream.setupDefaultSecurity( this.xStream );
+        this.xStream.allowTypesByWildcard( new String[]{
+                "org.drools.workbench.models.datamodel.**",
+                ProjectDataModelOracleImpl.class.getPackage().getName() + ".**"
+        } );
+    }
+
+    /**
+     * @return the snapshot stored for the Project, or null if there is none or it was stored for other inputs.
+     */
+    public ProjectDataModelOracle load( final KieProject project,
+                                        final String inputsHash ) {
+        final File snapshotFile = getSnapshotFile( project );
+        if ( !snapshotFile.isFile() ) {
+            return null;
+        }
+        try ( final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( snapshotFile ) ) ) ) {
+            if ( in.readInt() != MAGIC
+                    || in.readInt() != FORMAT_VERSION
+                    || !in.readUTF().equals( getProjectKey( project ) )
+                    || !in.readUTF().equals( inputsHash ) ) {
+                return null;
+            }
+            try ( final Reader reader = new InputStreamReader( new GZIPInputStream( in ),
+                                                               StandardCharsets.UTF_8 ) ) {
+                return (ProjectDataModelOracle) xStream.fromXML( reader );
+            }
+        } catch ( Exception e ) {
+            log.warn( "Unable to read DataModelOracle snapshot " + snapshotFile,
+                      e );
+            return null;
+        }
+    }
+
+    public void store( final KieProject project,
+                       final String inputsHash,
+                       final ProjectDataModelOracle oracle ) {
+        final File snapshotFile = getSnapshotFile( project );
+        try {
+            java.nio.file.Files.createDirectories( snapshotDir.toPath() );
+            //Written aside and then moved, so a snapshot is never read partially written
+            final File tempFile = File.createTempFile( snapshotFile.getName(),
+                                                       ".tmp",
+                                                       snapshotDir );
+            try ( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ) ) ) ) {
+                out.writeInt( MAGIC );
+                out.writeInt( FORMAT_VERSION );
+                out.writeUTF( getProjectKey( project ) );
+                out.writeUTF( inputsHash );
+                try ( final Writer writer = new OutputStreamWriter( new GZIPOutputStream( out ),
+                                                                    StandardCharsets.UTF_8 ) ) {
+                    xStream.toXML( oracle,
+                                   writer );
+                }
+            }
+            java.nio.file.Files.move( tempFile.toPath(),
+                                      snapshotFile.toPath(),
+                                      StandardCopyOption.REPLACE_EXISTING );
+        } catch ( Exception e ) {
+            log.warn( "Unable to write DataModelOracle snapshot " + snapshotFile,
+                      e );
+        }
+    }
+
+    /**
+     * Hash of all the inputs used to build the Project DataModelOracle.
+     */
+    public String getInputsHash( final KieProject project,
+                                 final KieModule kieModule,
+                                 final KieModuleMetaData kieModuleMetaData ) {
+        final MessageDigest digest = newDigest();
+        update( digest,
+                Integer.toString( FORMAT_VERSION ) );
+        update( digest,
+                project.getPomXMLPath() );
+        update( digest,
+                project.getImportsPath() );
+        update( digest,
+                project.getPackageNamesWhiteListPath() );
+
+        //The classes of the dependencies can change without their version changing, e.g. SNAPSHOTs
+        final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+        final List<String> packageNames = new ArrayList<String>( kieModuleMetaData.getPackages() );
+        Collections.sort( packageNames );
+        for ( final String packageName : packageNames ) {
+            update( digest,
+                    packageName );
+            final List<String> classNames = new ArrayList<String>( kieModuleMetaData.getClasses( packageName ) );
+            Collections.sort( classNames );
+            for ( final String className : classNames ) {
+                update( digest,
+                        className );
+                updateClass( digest,
+                             classLoader,
+                             packageName.replace( '.',
+                                                  '/' ) + "/" + className + ".class" );
+            }
+        }
+
+        if ( kieModule instanceof InternalKieModule ) {
+            final InternalKieModule internalKieModule = (InternalKieModule) kieModule;
+            final List<String> fileNames = new ArrayList<String>( internalKieModule.getFileNames() );
+            Collections.sort( fileNames );
+            for ( final String fileName : fileNames ) {
+                update( digest,
+                        fileName );
+                final byte[] bytes = internalKieModule.getBytes( fileName );
+                if ( bytes != null ) {
+                    digest.update( bytes );
+                }
+            }
+        }
+        return toHex( digest.digest() );
+    }
+
+    private void update( final MessageDigest digest,
+                         final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert( path );
+        if ( Files.exists( nioPath ) ) {
+            update( digest,
+                    path.toURI() );
+            digest.update( Files.readAllBytes( nioPath ) );
+        }
+    }
+
+    private void updateClass( final MessageDigest digest,
+                              final ClassLoader classLoader,
+                              final String resourceName ) {
+        if ( classLoader == null ) {
+            return;
+        }
+        try ( final InputStream in = classLoader.getResourceAsStream( resourceName ) ) {
+            if ( in == null ) {
+                return;
+            }
+            final byte[] buffer = new byte[ 8192 ];
+            int read;
+            while ( ( read = in.read( buffer ) ) != -1 ) {
+                digest.update( buffer,
+                               0,
+                               read );
+            }
+        } catch ( IOException e ) {
+            //The class can't be compared, so no snapshot is going to match
+            update( digest,
+                    Long.toString( System.nanoTime() ) );
+        }
+    }
+
+    private void update( final MessageDigest digest,
+                         final String value ) {
+        digest.update( value.getBytes( StandardCharsets.UTF_8 ) );
+        digest.update( (byte) 0 );
+    }
+
+    private File getSnapshotFile( final KieProject project ) {
+        final MessageDigest digest = newDigest();
+        update( digest,
+                getProjectKey( project ) );
+        return new File( snapshotDir,
+                         toHex( digest.digest() ) + SNAPSHOT_FILE_SUFFIX );
+    }
+
+    private String getProjectKey( final KieProject project ) {
+        return project.getRootPath().toURI();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance( "SHA-256" );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private static String toHex( final byte[] bytes ) {
+        final StringBuilder sb = new StringBuilder( bytes.length * 2 );
+        for ( final byte b : bytes ) {
+            sb.append( String.format( "%02x",
+                                      b ) );
+        }
+        return sb.toString();
+    }
+}
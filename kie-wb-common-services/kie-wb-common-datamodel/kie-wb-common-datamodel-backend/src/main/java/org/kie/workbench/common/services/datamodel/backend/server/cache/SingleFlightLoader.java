@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Loads cache entries so that only one thread builds the entry of a given key, while other threads asking for the
+ * same key wait for its result. Entries of different keys are built at the same time. The lock given is only held
+ * to look up and store entries, never while building them.
+ * @param <K> The cache key type
+ * @param <V> The cache value type
+ */
+class SingleFlightLoader<K, V> {
+
+    private final Object lock;
+
+    //Guarded by lock
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<K, CompletableFuture<V>>();
+
+    SingleFlightLoader( final Object lock ) {
+        this.lock = lock;
+    }
+
+    V load( final K key,
+            final Function<K, V> lookup,
+            final Function<K, V> builder,
+            final BiConsumer<K, V> store ) {
+        final CompletableFuture<V> flight;
+        final CompletableFuture<V> building;
+        synchronized ( lock ) {
+            final V value = lookup.apply( key );
+            if ( value != null ) {
+                return value;
+            }
+            building = inFlight.get( key );
+            if ( building == null ) {
+                flight = new CompletableFuture<V>();
+                inFlight.put( key,
+                              flight );
+            } else {
+                flight = null;
+            }
+        }
+        if ( building != null ) {
+            return await( building );
+        }
+
+        try {
+            final V value = builder.apply( key );
+            synchronized ( lock ) {
+                //Do not store the value if the key was invalidated while building it
+                if ( inFlight.get( key ) == flight ) {
+                    inFlight.remove( key );
+                    store.accept( key,
+                                  value );
+                }
+            }
+            flight.complete( value );
+            return value;
+        } catch ( RuntimeException | Error e ) {
+            synchronized ( lock ) {
+                inFlight.remove( key,
+                                 flight );
+            }
+            flight.completeExceptionally( e );
+            throw e;
+        }
+    }
+
+    /**
+     * Values being built for the keys matching are not stored once built
+     */
+    void invalidate( final Predicate<K> keys ) {
+        synchronized ( lock ) {
+            inFlight.keySet().removeIf( keys );
+        }
+    }
+
+    private V await( final CompletableFuture<V> building ) {
+        try {
+            return building.join();
+        } catch ( CompletionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
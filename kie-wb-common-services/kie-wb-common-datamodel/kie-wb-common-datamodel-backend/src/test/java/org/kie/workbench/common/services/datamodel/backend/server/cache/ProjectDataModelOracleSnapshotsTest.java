@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.builder.KieModule;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProjectDataModelOracleSnapshotsTest {
+
+    private File snapshotDir;
+
+    private KieProject project;
+
+    private ProjectDataModelOracle oracle;
+
+    @Before
+    public void setup() throws Exception {
+        snapshotDir = Files.createTempDirectory( "datamodel-snapshots" ).toFile();
+
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( "default://master@repo/project" );
+        project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+
+        oracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory( snapshotDir );
+    }
+
+    @Test
+    public void testStoredSnapshotIsLoaded() {
+        new ProjectDataModelOracleSnapshots( snapshotDir ).store( project,
+                                                                  "hash1",
+                                                                  oracle );
+
+        final ProjectDataModelOracle loaded = new ProjectDataModelOracleSnapshots( snapshotDir ).load( project,
+                                                                                                       "hash1" );
+
+        assertNotNull( loaded );
+        assertEquals( oracle.getProjectModelFields().keySet(),
+                      loaded.getProjectModelFields().keySet() );
+        assertEquals( oracle.getProjectModelFields().get( Product.class.getName() ).length,
+                      loaded.getProjectModelFields().get( Product.class.getName() ).length );
+        assertEquals( oracle.getProjectMethodInformation().keySet(),
+                      loaded.getProjectMethodInformation().keySet() );
+    }
+
+    @Test
+    public void testSnapshotOfOtherInputsIsNotLoaded() {
+        final ProjectDataModelOracleSnapshots snapshots = new ProjectDataModelOracleSnapshots( snapshotDir );
+        snapshots.store( project,
+                         "hash1",
+                         oracle );
+
+        assertNull( snapshots.load( project,
+                                    "hash2" ) );
+    }
+
+    @Test
+    public void testMissingSnapshotIsNotLoaded() {
+        assertNull( new ProjectDataModelOracleSnapshots( snapshotDir ).load( project,
+                                                                             "hash1" ) );
+    }
+
+    @Test
+    public void testInputsHashDependsOnTheClassesBytecode() {
+        final ProjectDataModelOracleSnapshots snapshots = new ProjectDataModelOracleSnapshots( snapshotDir );
+        final KieModule kieModule = mock( KieModule.class );
+
+        final String hash = snapshots.getInputsHash( project,
+                                                     kieModule,
+                                                     metaData( new byte[]{ 1, 2, 3 } ) );
+
+        assertEquals( hash,
+                      snapshots.getInputsHash( project,
+                                               kieModule,
+                                               metaData( new byte[]{ 1, 2, 3 } ) ) );
+        assertNotEquals( hash,
+                         snapshots.getInputsHash( project,
+                                                  kieModule,
+                                                  metaData( new byte[]{ 1, 2, 4 } ) ) );
+    }
+
+    @Test
+    public void testSnapshotWithOtherTypesIsNotLoaded() throws Exception {
+        final ProjectDataModelOracleSnapshots snapshots = new ProjectDataModelOracleSnapshots( snapshotDir );
+        snapshots.store( project,
+                         "hash1",
+                         oracle );
+
+        //Replace the stored oracle by a type the snapshots don't allow
+        final File snapshotFile = snapshotDir.listFiles( ( dir, name ) -> name.endsWith( ".dmo" ) )[ 0 ];
+        final int magic;
+        final int version;
+        final String projectKey;
+        final String inputsHash;
+        try ( final DataInputStream in = new DataInputStream( new FileInputStream( snapshotFile ) ) ) {
+            magic = in.readInt();
+            version = in.readInt();
+            projectKey = in.readUTF();
+            inputsHash = in.readUTF();
+        }
+        try ( final DataOutputStream out = new DataOutputStream( new FileOutputStream( snapshotFile ) ) ) {
+            out.writeInt( magic );
+            out.writeInt( version );
+            out.writeUTF( projectKey );
+            out.writeUTF( inputsHash );
+            try ( final Writer writer = new OutputStreamWriter( new GZIPOutputStream( out ),
+                                                                StandardCharsets.UTF_8 ) ) {
+                writer.write( "<" + Product.class.getName() + "/>" );
+            }
+        }
+
+        assertNull( snapshots.load( project,
+                                    "hash1" ) );
+    }
+
+    private KieModuleMetaData metaData( final byte[] productBytecode ) {
+        final KieModuleMetaData metaData = mock( KieModuleMetaData.class );
+        when( metaData.getPackages() ).thenReturn( Collections.singletonList( "org.test" ) );
+        when( metaData.getClasses( "org.test" ) ).thenReturn( Collections.singletonList( "Product" ) );
+        when( metaData.getClassLoader() ).thenReturn( new ClassLoader( null ) {
+            @Override
+            public InputStream getResourceAsStream( final String name ) {
+                return "org/test/Product.class".equals( name ) ? new ByteArrayInputStream( productBytecode ) : null;
+            }
+        } );
+        return metaData;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightLoaderTest {
+
+    private final Map<String, String> cache = new HashMap<String, String>();
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private final CountDownLatch building = new CountDownLatch( 1 );
+
+    private final CountDownLatch release = new CountDownLatch( 1 );
+
+    private SingleFlightLoader<String, String> loader;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        loader = new SingleFlightLoader<String, String>( cache );
+        executor = Executors.newFixedThreadPool( 2 );
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLoadsOfSameKeyBuildOnce() throws Exception {
+        final Future<String> first = executor.submit( () -> load( "project1" ) );
+        assertTrue( building.await( 10,
+                                    TimeUnit.SECONDS ) );
+        final Future<String> second = executor.submit( () -> load( "project1" ) );
+
+        release.countDown();
+        assertEquals( "oracle-project1",
+                      first.get( 10,
+                                 TimeUnit.SECONDS ) );
+        assertEquals( "oracle-project1",
+                      second.get( 10,
+                                  TimeUnit.SECONDS ) );
+        assertEquals( 1,
+                      builds.get() );
+        assertEquals( "oracle-project1",
+                      cache.get( "project1" ) );
+    }
+
+    @Test
+    public void testLoadOfOtherKeyIsNotBlocked() throws Exception {
+        final Future<String> first = executor.submit( () -> load( "project1" ) );
+        assertTrue( building.await( 10,
+                                    TimeUnit.SECONDS ) );
+
+        assertEquals( "oracle-project2",
+                      loader.load( "project2",
+                                   cache::get,
+                                   key -> "oracle-" + key,
+                                   cache::put ) );
+
+        release.countDown();
+        first.get( 10,
+                   TimeUnit.SECONDS );
+    }
+
+    @Test
+    public void testValueInvalidatedWhileBuildingIsNotStored() throws Exception {
+        final Future<String> first = executor.submit( () -> load( "project1" ) );
+        assertTrue( building.await( 10,
+                                    TimeUnit.SECONDS ) );
+
+        loader.invalidate( "project1"::equals );
+        release.countDown();
+
+        assertEquals( "oracle-project1",
+                      first.get( 10,
+                                 TimeUnit.SECONDS ) );
+        assertFalse( cache.containsKey( "project1" ) );
+    }
+
+    private String load( final String key ) {
+        return loader.load( key,
+                            cache::get,
+                            k -> {
+                                builds.incrementAndGet();
+                                building.countDown();
+                                try {
+                                    release.await( 10,
+                                                   TimeUnit.SECONDS );
+                                } catch ( InterruptedException e ) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                return "oracle-" + k;
+                            },
+                            cache::put );
+    }
+}
@@ -32,6 +32,7 @@ public class RefactoringPageRequest extends PageRequest {
 
     private String queryName;
     private Set<ValueIndexTerm> queryTerms;
+    private String cursor;
 
     public RefactoringPageRequest( @MapsTo("queryName") final String queryName,
                                    @MapsTo("queryTerms") final Set<ValueIndexTerm> queryTerms,
@@ -61,4 +62,16 @@ public class RefactoringPageRequest extends PageRequest {
         this.queryTerms = queryTerms;
     }
 
+    /**
+     * Opaque cursor returned by a previous {@link RefactoringCursorPageResponse}. When set, the page starts
+     * immediately after the last row of the previous page and {@link #getStartRowIndex()} is informative only.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor( String cursor ) {
+        this.cursor = cursor;
+    }
+
 }
@@ -20,6 +20,7 @@ import java.util.Set;
 
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringCursorPageResponse;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest;
@@ -32,6 +33,12 @@ public interface RefactoringQueryService {
 
     List<RefactoringPageRow> query( final String queryName, final Set<ValueIndexTerm> queryTerms );
 
+    /**
+     * Returns the page following {@link RefactoringPageRequest#getCursor()} (or the first page if no cursor is set),
+     * together with a cursor for the next page. Only the rows of the requested page are collected and loaded.
+     */
+    RefactoringCursorPageResponse queryAfter( final RefactoringPageRequest request );
+
     PageResponse<RefactoringPageRow> queryToPageResponse( final QueryOperationRequest request );
     List<RefactoringPageRow> queryToList( final QueryOperationRequest request );
 
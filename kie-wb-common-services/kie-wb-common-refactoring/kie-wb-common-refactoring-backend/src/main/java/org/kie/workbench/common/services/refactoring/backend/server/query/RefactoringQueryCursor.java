@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Encodes the last {@link FieldDoc} of a page as an opaque, URL-safe string so that the next page can be
+ * collected with {@link org.apache.lucene.search.IndexSearcher#searchAfter} instead of re-collecting every
+ * preceding hit. Only the sort values and document id are kept; stored fields are never part of the cursor.
+ */
+final class RefactoringQueryCursor {
+
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte BYTES = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DOUBLE = 5;
+
+    private RefactoringQueryCursor() {
+    }
+
+    static String encode( final ScoreDoc scoreDoc ) {
+        if ( scoreDoc == null ) {
+            return null;
+        }
+        final Object[] fields = scoreDoc instanceof FieldDoc ? ( (FieldDoc) scoreDoc ).fields : null;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( final DataOutputStream out = new DataOutputStream( bytes ) ) {
+            out.writeByte( VERSION );
+            out.writeInt( scoreDoc.doc );
+            out.writeFloat( scoreDoc.score );
+            out.writeInt( fields == null ? 0 : fields.length );
+            if ( fields != null ) {
+                for ( final Object field : fields ) {
+                    writeField( out,
+                                field );
+                }
+            }
+        } catch ( final IOException ioe ) {
+            throw new IllegalStateException( "Unable to encode query cursor.",
+                                             ioe );
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString( bytes.toByteArray() );
+    }
+
+    static FieldDoc decode( final String cursor ) {
+        if ( cursor == null || cursor.isEmpty() ) {
+            return null;
+        }
+        try ( final DataInputStream in = new DataInputStream( new ByteArrayInputStream( Base64.getUrlDecoder().decode( cursor ) ) ) ) {
+            if ( in.readByte() != VERSION ) {
+                throw new IllegalArgumentException( "Unsupported query cursor version." );
+            }
+            final int doc = in.readInt();
+            final float score = in.readFloat();
+            final Object[] fields = new Object[ in.readInt() ];
+            for ( int i = 0; i < fields.length; i++ ) {
+                fields[ i ] = readField( in );
+            }
+            return new FieldDoc( doc,
+                                 score,
+                                 fields );
+        } catch ( final IOException | IllegalArgumentException e ) {
+            throw new IllegalArgumentException( "Invalid query cursor: " + cursor,
+                                                e );
+        }
+    }
+
+    private static void writeField( final DataOutputStream out,
+                                    final Object field ) throws IOException {
+        if ( field == null ) {
+            out.writeByte( NULL );
+        } else if ( field instanceof BytesRef ) {
+            final BytesRef ref = (BytesRef) field;
+            out.writeByte( BYTES );
+            out.writeInt( ref.length );
+            out.write( ref.bytes,
+                       ref.offset,
+                       ref.length );
+        } else if ( field instanceof Integer ) {
+            out.writeByte( INT );
+            out.writeInt( (Integer) field );
+        } else if ( field instanceof Long ) {
+            out.writeByte( LONG );
+            out.writeLong( (Long) field );
+        } else if ( field instanceof Float ) {
+            out.writeByte( FLOAT );
+            out.writeFloat( (Float) field );
+        } else if ( field instanceof Double ) {
+            out.writeByte( DOUBLE );
+            out.writeDouble( (Double) field );
+        } else {
+            throw new IllegalArgumentException( "Unsupported sort value type: " + field.getClass().getName() );
+        }
+    }
+
+    private static Object readField( final DataInputStream in ) throws IOException {
+        final byte type = in.readByte();
+        switch ( type ) {
+            case NULL:
+                return null;
+            case BYTES:
+                final byte[] value = new byte[ in.readInt() ];
+                in.readFully( value );
+                return new BytesRef( value );
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            default:
+                throw new IllegalArgumentException( "Unknown sort value type: " + type );
+        }
+    }
+
+}
@@ -20,21 +20,17 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
-import org.apache.lucene.search.TopScoreDocCollector;
-import org.apache.lucene.search.TotalHitCountCollector;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -43,6 +39,7 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.valueterm
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectNameIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringCursorPageResponse;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
@@ -108,8 +105,8 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final List<KObject> kObjects
             = search(query,
                      sort,
-                     () -> ( startIndex ), // start index of docs to get
-                     (numHits) -> ( numHits - startIndex > pageSize ? pageSize : numHits - startIndex ) // num docs to add to response
+                     startIndex, // start index of docs to get
+                     (int) Math.min( (long) startIndex + pageSize, Integer.MAX_VALUE ) // only collect the hits up to the end of the requested page
                     );
 
         if( ! kObjects.isEmpty() ) {
@@ -140,8 +137,8 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final List<KObject> kObjects
             = search(query,
                      sort,
-                     () -> (0), // start index of docs to get
-                     (numHits) -> (numHits) // num docs to add to response
+                     0, // start index of docs to get
+                     Integer.MAX_VALUE // all docs are added to response
                     );
 
         if( ! kObjects.isEmpty() ) {
@@ -152,10 +149,60 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
+    @Override
+    public RefactoringCursorPageResponse queryAfter( final RefactoringPageRequest request ) {
+        PortablePreconditions.checkNotNull( "request",
+                                            request );
+        final String queryName = PortablePreconditions.checkNotNull( "queryName",
+                                                                     request.getQueryName() );
+        final int pageSize = PortablePreconditions.checkNotNull( "pageSize",
+                                                                 request.getPageSize() );
+        final NamedQuery namedQuery = namedQueries.findNamedQuery( queryName );
+
+        //Validate provided terms against those required for the named query
+        namedQuery.validateTerms( request.getQueryTerms() );
+
+        final Query query = namedQuery.toQuery( request.getQueryTerms() );
+        final Sort sort = namedQuery.getSortOrder();
+        final FieldDoc after = RefactoringQueryCursor.decode( request.getCursor() );
+
+        final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
+        final IndexSearcher index = indexManager.getIndexSearcher();
+
+        final RefactoringCursorPageResponse response = new RefactoringCursorPageResponse();
+        try {
+            //Collect one extra hit to know whether there is a following page without counting all of them
+            final TopDocs docsHit = index.searchAfter( after,
+                                                       query,
+                                                       (int) Math.min( (long) pageSize + 1, Integer.MAX_VALUE ),
+                                                       sort );
+            final int numOfHitsToReturn = Math.min( pageSize,
+                                                    docsHit.scoreDocs.length );
+            final List<KObject> kObjects = new ArrayList<KObject>( numOfHitsToReturn );
+            for ( int i = 0; i < numOfHitsToReturn; i++ ) {
+                kObjects.add( toKObject( index.doc( docsHit.scoreDocs[ i ].doc ) ) );
+            }
+
+            response.setPageRowList( kObjects.isEmpty() ? Collections.<RefactoringPageRow>emptyList() : namedQuery.getResponseBuilder().buildResponse( kObjects ) );
+            response.setStartRowIndex( request.getStartRowIndex() );
+            response.setTotalRowSize( docsHit.totalHits );
+            response.setTotalRowSizeExact( true );
+            response.setLastPage( docsHit.scoreDocs.length <= pageSize );
+            response.setCursor( numOfHitsToReturn > 0 ? RefactoringQueryCursor.encode( docsHit.scoreDocs[ numOfHitsToReturn - 1 ] ) : request.getCursor() );
+        } catch ( final Exception ex ) {
+            throw new RuntimeException( "Error during Query!",
+                                        ex );
+        } finally {
+            indexManager.release( index );
+        }
+
+        return response;
+    }
+
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
+                                 final int startIndex,
+                                 final int maxHits,
                                  final ClusterSegment... clusterSegments) {
 
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
@@ -164,19 +211,13 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
         final List<KObject> result = new ArrayList<KObject>();
         try {
-            final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
-            index.search( query,
-                          totalHitCountCollector );
-
-            int numHits = totalHitCountCollector.getTotalHits();
-            if( numHits > 0 ) {
+            if ( maxHits > startIndex ) {
+                //Lucene caps the collector to the number of documents in the index, so no separate count is needed
                 final TopFieldDocs docsHit = index.search(query,
-                                                          Integer.MAX_VALUE,
+                                                          maxHits,
                                                           sort );
-                final int startIndex = startIndexSupplier.get();
-                final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(docsHit.totalHits);
 
-                for ( int i = startIndex; i < startIndex+numOfHitsToReturn; i++ ) {
+                for ( int i = startIndex; i < docsHit.scoreDocs.length; i++ ) {
                     result.add( toKObject( index.doc(docsHit.scoreDocs[ i ].doc) ) );
                 }
             }
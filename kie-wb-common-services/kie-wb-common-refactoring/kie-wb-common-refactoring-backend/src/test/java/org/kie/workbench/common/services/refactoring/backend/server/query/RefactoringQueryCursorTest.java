@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RefactoringQueryCursorTest {
+
+    @Test
+    public void testNoCursor() {
+        assertNull( RefactoringQueryCursor.encode( null ) );
+        assertNull( RefactoringQueryCursor.decode( null ) );
+        assertNull( RefactoringQueryCursor.decode( "" ) );
+    }
+
+    @Test
+    public void testRoundTripSortValues() {
+        final FieldDoc fieldDoc = new FieldDoc( 42,
+                                                1.5f,
+                                                new Object[]{new BytesRef( "myFile.drl" ), 7, 8L, 2.5f, 3.5d, null} );
+
+        final String cursor = RefactoringQueryCursor.encode( fieldDoc );
+        final FieldDoc decoded = RefactoringQueryCursor.decode( cursor );
+
+        assertEquals( 42,
+                      decoded.doc );
+        assertEquals( 1.5f,
+                      decoded.score,
+                      0.0f );
+        assertArrayEquals( fieldDoc.fields,
+                           decoded.fields );
+    }
+
+    @Test
+    public void testRoundTripScoreDoc() {
+        final FieldDoc decoded = RefactoringQueryCursor.decode( RefactoringQueryCursor.encode( new ScoreDoc( 3,
+                                                                                                               0.0f ) ) );
+
+        assertEquals( 3,
+                      decoded.doc );
+        assertEquals( 0,
+                      decoded.fields.length );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCursor() {
+        RefactoringQueryCursor.decode( "not-a-cursor" );
+    }
+
+}
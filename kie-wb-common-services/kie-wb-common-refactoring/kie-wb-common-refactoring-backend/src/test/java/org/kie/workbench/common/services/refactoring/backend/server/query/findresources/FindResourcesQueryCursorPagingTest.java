@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query.findresources;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileTypeDefinition;
+import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourcesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm.TermSearchType;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringCursorPageResponse;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+
+public class FindResourcesQueryCursorPagingTest extends BaseIndexingTest<TestDrlFileTypeDefinition> {
+
+    protected Set<NamedQuery> getQueries() {
+        return new HashSet<NamedQuery>() {{
+            add( new FindResourcesQuery() {
+                @Override
+                public ResponseBuilder getResponseBuilder() {
+                    return new DefaultResponseBuilder( ioService() );
+                }
+            } );
+        }};
+    }
+
+    @Test
+    public void testQueryAfter() throws Exception {
+        //Add test files
+        final Path[] path = {
+                basePath.resolve( "drl1.drl" ),
+                basePath.resolve( "drl2.drl" ),
+                basePath.resolve( "drl3.drl" )
+        };
+
+        for ( int i = 0; i < path.length; ++i ) {
+            ioService().write( path[ i ], loadText( "drl" + ( i + 1 ) + ".drl" ) );
+        }
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final PageResponse<RefactoringPageRow> all = service.query( newRequest( 0, 10 ) );
+        assertEquals( 3, all.getPageRowList().size() );
+
+        //First page
+        final RefactoringCursorPageResponse firstPage = service.queryAfter( newRequest( 0, 2 ) );
+        assertEquals( 2, firstPage.getPageRowList().size() );
+        assertEquals( 3, firstPage.getTotalRowSize() );
+        assertFalse( firstPage.isLastPage() );
+        assertNotNull( firstPage.getCursor() );
+
+        //The same page is returned in the same order when requested again
+        assertEquals( toURIs( firstPage.getPageRowList() ),
+                      toURIs( service.queryAfter( newRequest( 0, 2 ) ).getPageRowList() ) );
+
+        //Second and last page, starting right after the first one
+        final RefactoringPageRequest secondRequest = newRequest( 2, 2 );
+        secondRequest.setCursor( firstPage.getCursor() );
+        final RefactoringCursorPageResponse secondPage = service.queryAfter( secondRequest );
+        assertEquals( 1, secondPage.getPageRowList().size() );
+        assertTrue( secondPage.isLastPage() );
+
+        final List<String> pagedURIs = new ArrayList<String>( toURIs( firstPage.getPageRowList() ) );
+        pagedURIs.addAll( toURIs( secondPage.getPageRowList() ) );
+        assertEquals( toURIs( all.getPageRowList() ), pagedURIs );
+
+        //Nothing after the last page
+        final RefactoringPageRequest afterLastRequest = newRequest( 3, 2 );
+        afterLastRequest.setCursor( secondPage.getCursor() );
+        final RefactoringCursorPageResponse afterLastPage = service.queryAfter( afterLastRequest );
+        assertTrue( afterLastPage.getPageRowList().isEmpty() );
+        assertTrue( afterLastPage.isLastPage() );
+
+        //The page size does not overflow when asking for everything
+        final RefactoringCursorPageResponse unboundedPage = service.queryAfter( newRequest( 0, Integer.MAX_VALUE ) );
+        assertEquals( toURIs( all.getPageRowList() ), toURIs( unboundedPage.getPageRowList() ) );
+        assertTrue( unboundedPage.isLastPage() );
+    }
+
+    private RefactoringPageRequest newRequest( final int startRowIndex,
+                                               final int pageSize ) {
+        return new RefactoringPageRequest( FindResourcesQuery.NAME,
+                                           new HashSet<ValueIndexTerm>() {{
+                                               add( new ValueResourceIndexTerm( "org.kie.workbench.mock.package.myRule*",
+                                                                                ResourceType.RULE,
+                                                                                TermSearchType.WILDCARD ) );
+                                           }},
+                                           startRowIndex,
+                                           pageSize );
+    }
+
+    private List<String> toURIs( final List<RefactoringPageRow> rows ) {
+        final List<String> uris = new ArrayList<String>( rows.size() );
+        for ( RefactoringPageRow row : rows ) {
+            uris.add( ( (org.uberfire.backend.vfs.Path) row.getValue() ).toURI() );
+        }
+        return uris;
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestDrlFileIndexer();
+    }
+
+    @Override
+    protected TestDrlFileTypeDefinition getResourceTypeDefinition() {
+        return new TestDrlFileTypeDefinition();
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+}
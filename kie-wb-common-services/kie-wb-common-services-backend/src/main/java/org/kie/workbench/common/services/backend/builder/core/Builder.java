@@ -171,21 +171,49 @@ public class Builder implements Serializable {
               KieServices.Factory.get().newKieFileSystem() );
     }
 
+    /**
+     * Creates a copy of this Builder that can be modified (e.g. to validate a single resource) without affecting
+     * this instance. The copy shares the immutable project setup and copies the in-memory state, the project
+     * resources are not read again from the underlying file system.
+     */
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
-
-        return new Builder( project,
-                            ioService,
-                            projectService,
-                            importsService,
-                            buildValidationHelpers,
-                            dependenciesClassLoaderCache,
-                            pomModelCache,
-                            packageNameWhiteListService,
-                            classFilter,
-                            kieBuilder,
-                            kieFileSystemClone );
+        synchronized ( kieFileSystem ) {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
+
+            return new Builder( this,
+                                kieBuilder,
+                                kieFileSystemClone );
+        }
+    }
+
+    private Builder( final Builder builder,
+                     final KieBuilder kieBuilder,
+                     final KieFileSystem kieFileSystem ) {
+        this.project = builder.project;
+        this.ioService = builder.ioService;
+        this.projectService = builder.projectService;
+        this.importsService = builder.importsService;
+        this.buildValidationHelpers = builder.buildValidationHelpers;
+        this.packageNameWhiteListService = builder.packageNameWhiteListService;
+        this.classFilter = builder.classFilter;
+
+        this.projectGAV = builder.projectGAV;
+        this.projectRoot = builder.projectRoot;
+        this.projectPrefix = builder.projectPrefix;
+        this.kieServices = builder.kieServices;
+        this.kieBuilder = kieBuilder;
+        this.kieFileSystem = kieFileSystem;
+        this.dependenciesClassLoaderCache = builder.dependenciesClassLoaderCache;
+        this.pomModelCache = builder.pomModelCache;
+
+        this.handles.putAll( builder.handles );
+        this.javaResources.addAll( builder.javaResources );
+        this.nonKieResourceValidationHelpers.putAll( builder.nonKieResourceValidationHelpers );
+        for ( Map.Entry<Path, List<ValidationMessage>> e : builder.nonKieResourceValidationHelperMessages.entrySet() ) {
+            this.nonKieResourceValidationHelperMessages.put( e.getKey(),
+                                                             e.getValue() == null ? null : new ArrayList<ValidationMessage>( e.getValue() ) );
+        }
     }
 
     private KieFileSystem kieFileSystemClone() {
@@ -37,4 +37,8 @@ class Handles {
     void remove(String pathToResource) {
         handles.remove(pathToResource);
     }
+
+    void putAll(Handles other) {
+        handles.putAll(other.handles);
+    }
 }
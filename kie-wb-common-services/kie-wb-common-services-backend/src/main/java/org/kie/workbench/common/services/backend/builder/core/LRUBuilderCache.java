@@ -17,6 +17,8 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -30,6 +32,7 @@ import javax.inject.Named;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
+import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
 import org.kie.workbench.common.services.backend.builder.JavaSourceFilter;
@@ -44,7 +47,10 @@ import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A simple LRU cache for Builders. Builders are created under a per-Project lock so that a slow creation for one
+ * Project does not block lookups for others, while concurrent callers for the same Project share a single Builder.
+ * A per-Project lock only exists while its Builder is being created, and invalidating the Project discards it, so a
+ * Builder created before the invalidation is never stored. Callers that were waiting on a discarded lock start over.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Project, Builder> {
@@ -69,6 +75,13 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final ConcurrentMap<Project, Object> projectLocks = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<GAV, Project> projectsByGAV = new ConcurrentHashMap<>();
+
+    //The GAV each Project was indexed with, as the Project's POM may have changed since then
+    private final ConcurrentMap<Project, GAV> gavsByProject = new ConcurrentHashMap<>();
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -106,7 +119,7 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
     }
 
-    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Project project = event.getProject();
@@ -117,17 +130,38 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         }
     }
 
-    public synchronized Builder assertBuilder(POM pom)
+    @Override
+    public synchronized void invalidateCache() {
+        super.invalidateCache();
+        projectsByGAV.clear();
+        gavsByProject.clear();
+        projectLocks.clear();
+    }
+
+    @Override
+    public synchronized void invalidateCache(final Project project) {
+        super.invalidateCache(project);
+        unindex(project);
+        projectLocks.remove(project);
+    }
+
+    public Builder assertBuilder(POM pom)
             throws NoBuilderFoundException {
-        for (Project project : getKeys()) {
-            if (project.getPom().getGav().equals(pom.getGav())) {
-                return makeBuilder(project);
+        final Project project = projectsByGAV.get(pom.getGav());
+        if (project == null) {
+            throw new NoBuilderFoundException();
+        }
+        //The LRU may have evicted the Builder since the Project was indexed
+        if (getBuilder(project) == null) {
+            synchronized (this) {
+                unindex(project);
             }
+            throw new NoBuilderFoundException();
         }
-        throw new NoBuilderFoundException();
+        return makeBuilder(project);
     }
 
-    public synchronized Builder assertBuilder(final Project project) {
+    public Builder assertBuilder(final Project project) {
         return makeBuilder(project);
     }
 
@@ -135,23 +169,76 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         return getEntry(project);
     }
 
-    private Builder makeBuilder(Project project) {
-        Builder builder = getEntry(project);
-        if (builder == null) {
-            builder = new Builder(project,
-                                  ioService,
-                                  projectService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
-
-            setEntry(project,
-                     builder);
+    private Builder makeBuilder(final Project project) {
+        while (true) {
+            Builder builder = getBuilder(project);
+            if (builder != null) {
+                return builder;
+            }
+            //Only callers for the same Project wait here; the first one creates the Builder and the others reuse it
+            final Object lock = projectLocks.computeIfAbsent(project,
+                                                             p -> new Object());
+            synchronized (lock) {
+                //The lock is discarded once its Builder is created or the Project is invalidated, so start over
+                if (projectLocks.get(project) != lock) {
+                    continue;
+                }
+                builder = getBuilder(project);
+                if (builder != null) {
+                    return builder;
+                }
+                try {
+                    builder = newBuilder(project);
+
+                    synchronized (this) {
+                        //The Project was invalidated while creating the Builder if its lock was discarded
+                        if (projectLocks.get(project) == lock) {
+                            setEntry(project,
+                                     builder);
+                            index(project);
+                        }
+                    }
+                    return builder;
+                } finally {
+                    projectLocks.remove(project,
+                                        lock);
+                }
+            }
         }
-        return builder;
+    }
+
+    //Must be called holding this cache's monitor
+    private void index(final Project project) {
+        final GAV gav = project.getPom().getGav();
+        final GAV previous = gavsByProject.put(project,
+                                               gav);
+        if (previous != null && !previous.equals(gav)) {
+            projectsByGAV.remove(previous,
+                                 project);
+        }
+        projectsByGAV.put(gav,
+                          project);
+    }
+
+    //Must be called holding this cache's monitor
+    private void unindex(final Project project) {
+        final GAV gav = gavsByProject.remove(project);
+        if (gav != null) {
+            projectsByGAV.remove(gav,
+                                 project);
+        }
+    }
+
+    protected Builder newBuilder(final Project project) {
+        return new Builder(project,
+                           ioService,
+                           projectService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate());
     }
 
     private Predicate<String> createSingleClassFilterPredicate() {
@@ -16,9 +16,9 @@
 
 package org.kie.workbench.common.services.backend.compiler.nio.decorators;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jgit.api.Git;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
@@ -36,7 +36,8 @@ import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
  */
 public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extends AFCompiler<T>> implements CompilerDecorator {
 
-    private Map<JGitFileSystem, Git> gitMap = new HashMap<>();
+    private Map<JGitFileSystem, Git> gitMap = new ConcurrentHashMap<>();
+    private Map<JGitFileSystem, Object> cloneLocks = new ConcurrentHashMap<>();
     private C compiler;
 
     public JGITCompilerBeforeDecorator(C compiler) {
@@ -51,19 +52,19 @@ public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extend
         Git repo;
         if (path.getFileSystem() instanceof JGitFileSystem) {
             final JGitFileSystem fs = (JGitFileSystem) path.getFileSystem();
-            if (!gitMap.containsKey(fs)) {
-                repo = JGitUtils.tempClone(fs, _req.getRequestUUID());
-                gitMap.put(fs,
-                           repo);
-            }
-            repo = gitMap.get(fs);
-            JGitUtils.applyBefore(repo);
+            repo = getClone(fs,
+                            _req.getRequestUUID());
 
             req = new DefaultCompilationRequest(_req.getMavenRepo(),
                                                 new WorkspaceCompilationInfo(Paths.get(repo.getRepository().getDirectory().toPath().getParent().resolve(path.getFileName().toString()).normalize().toUri())),
                                                 _req.getOriginalArgs(),
                                                 _req.getMap(),
                                                 _req.getLogRequested());
+            // compilations on the same clone are serialized, so a pull never happens while building
+            synchronized (repo) {
+                JGitUtils.applyBefore(repo);
+                return compiler.compileSync(req);
+            }
         } else {
             req = _req;
         }
@@ -71,6 +72,26 @@ public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extend
         return compiler.compileSync(req);
     }
 
+    // the clone runs outside of the map, so it doesn't block the other file systems, one clone at most for each one
+    private Git getClone(final JGitFileSystem fs,
+                         final String requestUUID) {
+        Git repo = gitMap.get(fs);
+        if (repo != null) {
+            return repo;
+        }
+        synchronized (cloneLocks.computeIfAbsent(fs,
+                                                 key -> new Object())) {
+            repo = gitMap.get(fs);
+            if (repo == null) {
+                repo = JGitUtils.tempClone(fs,
+                                           requestUUID);
+                gitMap.put(fs,
+                           repo);
+            }
+            return repo;
+        }
+    }
+
     @Override
     public T buildDefaultCompilationResponse(final Boolean value) {
         return compiler.buildDefaultCompilationResponse(value);
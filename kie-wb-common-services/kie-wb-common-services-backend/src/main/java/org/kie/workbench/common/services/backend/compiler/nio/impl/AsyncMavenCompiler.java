@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.nio.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.nio.CompilationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Runs the compilations of the given compiler on a bounded pool of worker threads.
+ * <p>
+ * Equal requests are coalesced: while a compilation is still waiting in the queue, a request on the same project with
+ * the same arguments, Maven repository, log option and result map receives the result of the waiting compilation.
+ * <p>
+ * AsyncMavenCompiler<CompilationResponse> compiler = new AsyncMavenCompiler<>(new DefaultMavenCompiler(), 2, 100);
+ * CompletableFuture<CompilationResponse> res = compiler.compileAsync(req);
+ */
+public class AsyncMavenCompiler<T extends CompilationResponse> implements AFCompiler<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncMavenCompiler.class);
+
+    private final AFCompiler<T> compiler;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<RequestKey, QueuedCompilation<T>> queued = new HashMap<>();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+
+    private final AtomicLong totalCompileNanos = new AtomicLong();
+
+    private final AtomicLong maxCompileNanos = new AtomicLong();
+
+    /**
+     * @param compiler the compiler running the compilations, it must support concurrent compilations.
+     * @param workers the number of compilations running at the same time.
+     * @param maxQueued the number of compilations waiting for a worker, further requests are rejected.
+     */
+    public AsyncMavenCompiler(final AFCompiler<T> compiler,
+                              final int workers,
+                              final int maxQueued) {
+        this.compiler = compiler;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers,
+                                               workers,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<>(maxQueued),
+                                               runnable -> {
+                                                   final Thread thread = new Thread(runnable,
+                                                                                   "maven-compiler-" + threadCount.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Compile a project starting from the main POM in an async way
+     */
+    public CompletableFuture<T> compileAsync(final CompilationRequest req) {
+        final RequestKey key = new RequestKey(req);
+        synchronized (queued) {
+            final QueuedCompilation<T> waiting = queued.get(key);
+            if (waiting != null) {
+                coalesced.incrementAndGet();
+                return waiting.future;
+            }
+            final QueuedCompilation<T> compilation = new QueuedCompilation<>(req);
+            queued.put(key,
+                       compilation);
+            try {
+                executor.execute(() -> run(key,
+                                           compilation));
+            } catch (RejectedExecutionException e) {
+                queued.remove(key);
+                compilation.future.completeExceptionally(e);
+            }
+            return compilation.future;
+        }
+    }
+
+    @Override
+    public T compileSync(final CompilationRequest req) {
+        return compiler.compileSync(req);
+    }
+
+    @Override
+    public T buildDefaultCompilationResponse(final Boolean value) {
+        return compiler.buildDefaultCompilationResponse(value);
+    }
+
+    @Override
+    public T buildDefaultCompilationResponse(final Boolean successful,
+                                             final List<String> output) {
+        return compiler.buildDefaultCompilationResponse(successful,
+                                                        output);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Number of compilations waiting for a worker
+     */
+    public int getQueueDepth() {
+        synchronized (queued) {
+            return queued.size();
+        }
+    }
+
+    /**
+     * Number of compilations running
+     */
+    public int getRunning() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Number of requests that received the result of an equal request already waiting in the queue
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getAverageQueueTimeMillis() {
+        final long count = completed.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueNanos.get() / count);
+    }
+
+    public long getAverageCompileTimeMillis() {
+        final long count = completed.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalCompileNanos.get() / count);
+    }
+
+    public long getMaxCompileTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxCompileNanos.get());
+    }
+
+    private void run(final RequestKey key,
+                     final QueuedCompilation<T> compilation) {
+        synchronized (queued) {
+            queued.remove(key);
+        }
+        final CompilationRequest req = compilation.request;
+        final String project = key.project;
+        final long started = System.nanoTime();
+        try {
+            compilation.future.complete(compiler.compileSync(req));
+        } catch (Throwable t) {
+            logger.error("Compilation of " + project + " failed",
+                         t);
+            compilation.future.completeExceptionally(t);
+        } finally {
+            final long compileNanos = System.nanoTime() - started;
+            totalQueueNanos.addAndGet(started - compilation.submitted);
+            totalCompileNanos.addAndGet(compileNanos);
+            maxCompileNanos.accumulateAndGet(compileNanos,
+                                             Math::max);
+            completed.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Compiled {} in {} ms after {} ms in queue, queue depth:{}",
+                             project,
+                             TimeUnit.NANOSECONDS.toMillis(compileNanos),
+                             TimeUnit.NANOSECONDS.toMillis(started - compilation.submitted),
+                             getQueueDepth());
+            }
+        }
+    }
+
+    private static class QueuedCompilation<T> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private final long submitted = System.nanoTime();
+
+        private final CompilationRequest request;
+
+        private QueuedCompilation(final CompilationRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * What makes two requests compile the same way and deliver the same result, the map receiving the results of the
+     * build is compared by identity.
+     */
+    private static class RequestKey {
+
+        private final String project;
+
+        private final List<String> args;
+
+        private final String mavenRepo;
+
+        private final Boolean logRequested;
+
+        private final Map<String, Object> map;
+
+        private RequestKey(final CompilationRequest req) {
+            this.project = req.getInfo().getPrjPath().toUri().toString();
+            this.args = req.getOriginalArgs() != null ? Arrays.asList(req.getOriginalArgs()) : null;
+            this.mavenRepo = req.getMavenRepo();
+            this.logRequested = req.getLogRequested();
+            this.map = req.getMap();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestKey)) {
+                return false;
+            }
+            final RequestKey other = (RequestKey) o;
+            return project.equals(other.project)
+                    && Objects.equals(args,
+                                      other.args)
+                    && Objects.equals(mavenRepo,
+                                      other.mavenRepo)
+                    && Objects.equals(logRequested,
+                                      other.logRequested)
+                    && map == other.map;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(project,
+                                args,
+                                mavenRepo,
+                                logRequested,
+                                System.identityHashCode(map));
+        }
+    }
+}
@@ -17,6 +17,8 @@ package org.kie.workbench.common.services.backend.compiler.nio.impl;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.codehaus.plexus.classworlds.ClassWorld;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
@@ -47,12 +49,16 @@ public abstract class BaseMavenCompiler<T extends CompilationResponse> implement
 
     private static final Logger logger = LoggerFactory.getLogger(BaseMavenCompiler.class);
 
-    private AFMavenCli cli;
+    /*
+     * AFMavenCli keeps the state of the running build in its fields, so each compilation takes its own
+     * instance. Released instances are kept and reused by the next compilations.
+     */
+    private final Queue<AFMavenCli> clis = new ConcurrentLinkedQueue<>();
 
     private IncrementalCompilerEnabler enabler;
 
     public BaseMavenCompiler() {
-        cli = new AFMavenCli();
+        clis.add(new AFMavenCli());
         enabler = new DefaultIncrementalCompilerEnabler(Compilers.JAVAC);
     }
 
@@ -94,9 +100,18 @@ public abstract class BaseMavenCompiler<T extends CompilationResponse> implement
         ClassLoader original = Thread.currentThread().getContextClassLoader();
         ClassWorld kieClassWorld = new ClassWorld("plexus.core",
                                                   getClass().getClassLoader());
-        int exitCode = cli.doMain(req.getKieCliRequest(),
+        AFMavenCli cli = clis.poll();
+        if (cli == null) {
+            cli = new AFMavenCli();
+        }
+        int exitCode;
+        try {
+            exitCode = cli.doMain(req.getKieCliRequest(),
                                   kieClassWorld);
-        Thread.currentThread().setContextClassLoader(original);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            clis.offer(cli);
+        }
         if (exitCode == 0) {
             return (T) buildDefaultCompilationResponse(Boolean.TRUE);
         } else {
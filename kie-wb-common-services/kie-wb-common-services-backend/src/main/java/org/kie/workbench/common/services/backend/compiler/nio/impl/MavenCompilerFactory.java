@@ -19,6 +19,7 @@ package org.kie.workbench.common.services.backend.compiler.nio.impl;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.JGITCompilerBeforeDecorator;
@@ -29,8 +30,14 @@ import org.kie.workbench.common.services.backend.compiler.nio.decorators.OutputL
  */
 public class MavenCompilerFactory {
 
+    public static final String ASYNC_WORKERS_PROPERTY = "org.kie.workbench.compiler.async.workers";
+
+    public static final String ASYNC_QUEUE_SIZE_PROPERTY = "org.kie.workbench.compiler.async.queue.size";
+
     private static Map<String, AFCompiler> compilers = new ConcurrentHashMap<>();
 
+    private static Map<String, AsyncMavenCompiler<CompilationResponse>> asyncCompilers = new ConcurrentHashMap<>();
+
     private MavenCompilerFactory() {
     }
 
@@ -45,6 +52,33 @@ public class MavenCompilerFactory {
         return compiler;
     }
 
+    /**
+     * Provides a Maven compiler decorated with a Decorator Behaviour, running the compilations on a bounded
+     * pool of workers shared by all the callers
+     */
+    @SuppressWarnings("unchecked")
+    public static AsyncMavenCompiler<CompilationResponse> getAsyncCompiler(Decorator decorator) {
+        final AsyncMavenCompiler<CompilationResponse> existing = asyncCompilers.get(decorator.name());
+        if (existing != null) {
+            return existing;
+        }
+        // created outside of the map, as creating the compiler registers it in the compilers map too
+        final AsyncMavenCompiler<CompilationResponse> created = new AsyncMavenCompiler<>((AFCompiler<CompilationResponse>) createAndAddNewCompiler(decorator),
+                                                                                         Integer.getInteger(ASYNC_WORKERS_PROPERTY,
+                                                                                                            Math.max(1,
+                                                                                                                     Math.min(2,
+                                                                                                                              Runtime.getRuntime().availableProcessors()))),
+                                                                                         Integer.getInteger(ASYNC_QUEUE_SIZE_PROPERTY,
+                                                                                                            100));
+        final AsyncMavenCompiler<CompilationResponse> winner = asyncCompilers.putIfAbsent(decorator.name(),
+                                                                                          created);
+        if (winner != null) {
+            created.shutdown();
+            return winner;
+        }
+        return created;
+    }
+
     private static AFCompiler createAndAddNewCompiler(Decorator decorator) {
         AFCompiler<?> compiler;
         switch (decorator) {
@@ -77,6 +111,8 @@ public class MavenCompilerFactory {
      */
     public static void deleteCompilers() {
         compilers = new ConcurrentHashMap<>();
+        shutdownAsyncCompilers();
+        asyncCompilers = new ConcurrentHashMap<>();
     }
 
     /**
@@ -84,5 +120,11 @@ public class MavenCompilerFactory {
      */
     public static void clearCompilers() {
         compilers.clear();
+        shutdownAsyncCompilers();
+        asyncCompilers.clear();
+    }
+
+    private static void shutdownAsyncCompilers() {
+        asyncCompilers.values().forEach(AsyncMavenCompiler::shutdown);
     }
 }
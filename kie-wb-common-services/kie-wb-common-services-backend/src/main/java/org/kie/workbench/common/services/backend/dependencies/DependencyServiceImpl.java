@@ -14,17 +14,20 @@
 */
 package org.kie.workbench.common.services.backend.dependencies;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 import org.appformer.maven.integration.MavenRepository;
 import org.eclipse.aether.artifact.Artifact;
@@ -45,7 +48,28 @@ import static org.kie.workbench.common.services.backend.dependencies.DependencyT
 public class DependencyServiceImpl
         implements DependencyService {
 
+    private static final int LOADER_THREADS = Math.max( 1,
+                                                        Math.min( 4,
+                                                                  Runtime.getRuntime().availableProcessors() ) );
+
+    private final JarPackageNameIndex packageNameIndex;
+
+    // Threads are only started when dependencies are first loaded
+    private final ExecutorService loaderPool = Executors.newFixedThreadPool( LOADER_THREADS,
+                                                                             new LoaderThreadFactory() );
+
     public DependencyServiceImpl() {
+        this( null );
+    }
+
+    @Inject
+    public DependencyServiceImpl( final JarPackageNameIndex packageNameIndex ) {
+        this.packageNameIndex = packageNameIndex;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        loaderPool.shutdownNow();
     }
 
     @Override
@@ -69,7 +93,11 @@ public class DependencyServiceImpl
         final Artifact artifact = getMavenRepository().resolveArtifact( gav.toString() );
 
         if ( artifact != null ) {
-            return stripPackageNamesFromJar( artifact.getFile() );
+            if ( packageNameIndex != null ) {
+                return packageNameIndex.getPackageNames( gav,
+                                                         artifact.getFile() );
+            }
+            return JarPackageNameIndex.readPackageNames( artifact.getFile() );
         } else {
             return new HashSet<>();
         }
@@ -79,8 +107,20 @@ public class DependencyServiceImpl
     public EnhancedDependencies loadEnhancedDependencies( final Collection<Dependency> dependencies) {
         EnhancedDependencies result = new EnhancedDependencies();
 
+        // Each dependency, along with its transitive dependencies, is loaded in parallel
+        final List<CompletableFuture<NormalEnhancedDependency>> enhancedDependencies = new ArrayList<>( dependencies.size() );
         for ( final Dependency dependency : dependencies ) {
-            result.add( getEnhancedDependency( dependency ) );
+            enhancedDependencies.add( CompletableFuture.supplyAsync( () -> getEnhancedDependency( dependency ),
+                                                                     loaderPool ) );
+        }
+
+        try {
+            for ( final CompletableFuture<NormalEnhancedDependency> enhancedDependency : enhancedDependencies ) {
+                result.add( enhancedDependency.join() );
+            }
+        } catch ( CompletionException e ) {
+            enhancedDependencies.forEach( future -> future.cancel( true ) );
+            throw ExceptionUtilities.handleException( e.getCause() instanceof Exception ? ( Exception ) e.getCause() : e );
         }
 
         return result;
@@ -98,36 +138,21 @@ public class DependencyServiceImpl
         return enhancedDependency;
     }
 
-    private Set<String> stripPackageNamesFromJar( final File file ) {
-        final Set<String> packageNames = new HashSet<String>();
-        ZipFile zipFile = null;
-        try {
-            zipFile = new ZipFile( file );
-            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
-            while (entries.hasMoreElements()) {
-                String pathName = entries.nextElement().getName();
-
-                if ( pathName.endsWith( ".class" ) ) {
-                    String fqcn = pathName.replace( '/', '.' ).substring( 0, pathName.lastIndexOf( '.' ) );
-                    packageNames.add( fqcn.substring( 0, fqcn.lastIndexOf( '.' ) ) );
-                }
-            }
-        } catch (IOException e) {
-            throw ExceptionUtilities.handleException( e );
-        } finally {
-            if ( zipFile != null ) {
-                try {
-                    zipFile.close();
-                } catch (IOException e) {
-                    throw ExceptionUtilities.handleException( e );
-                }
-            }
-        }
-        return packageNames;
-    }
-
     protected MavenRepository getMavenRepository() {
         return MavenRepository.getMavenRepository();
     }
 
+    private static class LoaderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread( final Runnable runnable ) {
+            final Thread thread = new Thread( runnable,
+                                              "dependency-loader-" + threadCount.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        }
+    }
+
 }
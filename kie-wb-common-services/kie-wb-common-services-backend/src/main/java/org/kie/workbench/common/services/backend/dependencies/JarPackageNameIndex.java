@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.dependencies;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.project.model.GAV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the package names contained in the dependency jars, keyed by the artifact GAV and a checksum of the jar.
+ * Entries are kept in memory and stored on disk, one file per artifact, so they are reused across projects sharing
+ * the same artifacts and across restarts. A jar is scanned again only when its checksum changes.
+ */
+@ApplicationScoped
+public class JarPackageNameIndex {
+
+    public static final String INDEX_DIR_PROPERTY = "org.kie.workbench.dependencies.index.dir";
+
+    private static final Logger logger = LoggerFactory.getLogger( JarPackageNameIndex.class );
+
+    private static final String INDEX_FILE_SUFFIX = ".packages";
+
+    private final File indexDir;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong scans = new AtomicLong();
+
+    public JarPackageNameIndex() {
+        this( new File( System.getProperty( INDEX_DIR_PROPERTY,
+                                            new File( System.getProperty( "org.uberfire.nio.git.dir",
+                                                                          System.getProperty( "user.dir" ) ),
+                                                      ".niogit" + File.separator + ".package-index" ).getAbsolutePath() ) ) );
+    }
+
+    public JarPackageNameIndex( final File indexDir ) {
+        this.indexDir = indexDir;
+    }
+
+    /**
+     * Returns the package names of the given artifact jar, scanning the jar only if it is not indexed yet or if it
+     * changed since it was indexed.
+     * @param gav the artifact GAV.
+     * @param jar the artifact jar.
+     * @return the package names of the classes contained in the jar.
+     */
+    public Set<String> getPackageNames( final GAV gav,
+                                        final File jar ) {
+        final String key = gav.toString();
+        final String checksum = checksum( jar );
+
+        Entry entry = entries.get( key );
+        if ( entry == null || !entry.checksum.equals( checksum ) ) {
+            entry = readEntry( gav );
+            if ( entry == null || !entry.checksum.equals( checksum ) ) {
+                scans.incrementAndGet();
+                entry = new Entry( checksum,
+                                   Collections.unmodifiableSet( readPackageNames( jar ) ) );
+                writeEntry( gav,
+                            entry );
+            }
+            entries.put( key,
+                         entry );
+        }
+        return new HashSet<>( entry.packageNames );
+    }
+
+    public long getScans() {
+        return scans.get();
+    }
+
+    static Set<String> readPackageNames( final File file ) {
+        final Set<String> packageNames = new HashSet<String>();
+        ZipFile zipFile = null;
+        try {
+            zipFile = new ZipFile( file );
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while ( entries.hasMoreElements() ) {
+                String pathName = entries.nextElement().getName();
+
+                if ( pathName.endsWith( ".class" ) ) {
+                    String fqcn = pathName.replace( '/', '.' ).substring( 0, pathName.lastIndexOf( '.' ) );
+                    packageNames.add( fqcn.substring( 0, fqcn.lastIndexOf( '.' ) ) );
+                }
+            }
+        } catch ( IOException e ) {
+            throw ExceptionUtilities.handleException( e );
+        } finally {
+            if ( zipFile != null ) {
+                try {
+                    zipFile.close();
+                } catch ( IOException e ) {
+                    throw ExceptionUtilities.handleException( e );
+                }
+            }
+        }
+        return packageNames;
+    }
+
+    /**
+     * Uses the sha1 file Maven stores next to the downloaded artifacts when available. Otherwise, as for artifacts
+     * installed locally, the size and modification time of the jar identify its content.
+     */
+    String checksum( final File jar ) {
+        final File sha1 = new File( jar.getParentFile(),
+                                    jar.getName() + ".sha1" );
+        if ( sha1.isFile() ) {
+            try {
+                final String content = new String( Files.readAllBytes( sha1.toPath() ),
+                                                   StandardCharsets.UTF_8 ).trim();
+                if ( !content.isEmpty() ) {
+                    // The file may also contain the name of the jar after the checksum
+                    return "sha1:" + content.split( "\\s+" )[ 0 ];
+                }
+            } catch ( IOException e ) {
+                logger.debug( "Unable to read checksum file " + sha1,
+                              e );
+            }
+        }
+        return "file:" + jar.length() + ":" + jar.lastModified();
+    }
+
+    private File getIndexFile( final GAV gav ) {
+        return new File( indexDir,
+                         gav.getGroupId() + File.separator + gav.getArtifactId() + File.separator + gav.getVersion() + INDEX_FILE_SUFFIX );
+    }
+
+    private Entry readEntry( final GAV gav ) {
+        final File indexFile = getIndexFile( gav );
+        if ( !indexFile.isFile() ) {
+            return null;
+        }
+        try {
+            final List<String> lines = Files.readAllLines( indexFile.toPath(),
+                                                           StandardCharsets.UTF_8 );
+            if ( lines.isEmpty() ) {
+                return null;
+            }
+            return new Entry( lines.get( 0 ),
+                              Collections.unmodifiableSet( new HashSet<>( lines.subList( 1,
+                                                                                         lines.size() ) ) ) );
+        } catch ( IOException e ) {
+            logger.warn( "Unable to read package index file " + indexFile,
+                         e );
+            return null;
+        }
+    }
+
+    private void writeEntry( final GAV gav,
+                             final Entry entry ) {
+        final File indexFile = getIndexFile( gav );
+        try {
+            Files.createDirectories( indexFile.getParentFile().toPath() );
+            final List<String> lines = new ArrayList<>( entry.packageNames.size() + 1 );
+            lines.add( entry.checksum );
+            lines.addAll( entry.packageNames );
+            // Written aside and then moved, so concurrent readers never see a partial index file
+            final File tempFile = File.createTempFile( indexFile.getName(),
+                                                       ".tmp",
+                                                       indexFile.getParentFile() );
+            Files.write( tempFile.toPath(),
+                         lines,
+                         StandardCharsets.UTF_8 );
+            Files.move( tempFile.toPath(),
+                        indexFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING );
+        } catch ( IOException e ) {
+            logger.warn( "Unable to write package index file " + indexFile,
+                         e );
+        }
+    }
+
+    private static class Entry {
+
+        private final String checksum;
+
+        private final Set<String> packageNames;
+
+        private Entry( final String checksum,
+                       final Set<String> packageNames ) {
+            this.checksum = checksum;
+            this.packageNames = packageNames;
+        }
+    }
+}
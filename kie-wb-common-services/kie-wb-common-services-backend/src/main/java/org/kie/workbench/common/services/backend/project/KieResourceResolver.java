@@ -44,11 +44,12 @@ public class KieResourceResolver
 
     private KModuleService kModuleService;
 
+    private ProjectResolutionCache resolutionCache;
+
     public KieResourceResolver() {
 
     }
 
-    @Inject
     public KieResourceResolver( final @Named("ioStrategy") IOService ioService,
                                 final POMService pomService,
                                 final ConfigurationService configurationService,
@@ -65,6 +66,25 @@ public class KieResourceResolver
         this.kModuleService = kModuleService;
     }
 
+    @Inject
+    public KieResourceResolver( final @Named("ioStrategy") IOService ioService,
+                                final POMService pomService,
+                                final ConfigurationService configurationService,
+                                final CommentedOptionFactory commentedOptionFactory,
+                                final BackwardCompatibleUtil backward,
+                                final KModuleService kModuleService,
+                                final Instance<ProjectResourcePathResolver> resourcePathResolversInstance,
+                                final ProjectResolutionCache resolutionCache ) {
+        this( ioService,
+              pomService,
+              configurationService,
+              commentedOptionFactory,
+              backward,
+              kModuleService,
+              resourcePathResolversInstance );
+        this.resolutionCache = resolutionCache;
+    }
+
     @Override
     public KieProject resolveProject( final Path resource ) {
         try {
@@ -73,43 +93,70 @@ public class KieResourceResolver
                 return null;
             }
 
-            //Check if resource is the project root
-            org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
-
-            //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
-            if ( Files.isRegularFile( path ) ) {
-                path = path.getParent();
-            }
-            while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
-                if ( hasPom( path ) && hasKModule( path ) ) {
-                    return makeProject( path );
-                }
-                path = path.getParent();
+            final org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
+            if ( resolutionCache == null ) {
+                final org.uberfire.java.nio.file.Path projectRoot = resolveProjectRoot( path );
+                return projectRoot == null ? null : makeProject( projectRoot );
             }
-            if ( path.getNameCount() == 0 ) {
-                return null;
-            }
-            path = path.getParent();
-            if ( path.getNameCount() == 0 || path == null ) {
-                return null;
-            }
-            if ( !hasPom( path ) ) {
+
+            final String projectRootURI = resolutionCache.getProjectRoot( path.toUri().toString(),
+                                                                          uri -> {
+                                                                              final org.uberfire.java.nio.file.Path projectRoot = resolveProjectRoot( path );
+                                                                              return projectRoot == null ? null : projectRoot.toUri().toString();
+                                                                          } );
+            if ( projectRootURI == null ) {
                 return null;
             }
-            if ( !hasKModule( path ) ) {
-                return null;
+
+            //The project root is always the resource itself or one of its ancestors
+            org.uberfire.java.nio.file.Path projectRoot = path;
+            while ( projectRoot != null && !projectRoot.toUri().toString().equals( projectRootURI ) ) {
+                projectRoot = projectRoot.getParent();
             }
-            return makeProject( path );
+            return projectRoot == null ? null : makeProject( projectRoot );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    private org.uberfire.java.nio.file.Path resolveProjectRoot( final org.uberfire.java.nio.file.Path resource ) {
+        //Check if resource is the project root
+        org.uberfire.java.nio.file.Path path = resource;
+
+        //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
+        if ( Files.isRegularFile( path ) ) {
+            path = path.getParent();
+        }
+        while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
+            if ( hasPom( path ) && hasKModule( path ) ) {
+                return path;
+            }
+            path = path.getParent();
+        }
+        if ( path.getNameCount() == 0 ) {
+            return null;
+        }
+        path = path.getParent();
+        if ( path.getNameCount() == 0 || path == null ) {
+            return null;
+        }
+        if ( !hasPom( path ) ) {
+            return null;
+        }
+        if ( !hasKModule( path ) ) {
+            return null;
+        }
+        return path;
+    }
+
     @Override
     protected KieProject makeProject( final org.uberfire.java.nio.file.Path nioProjectRootPath ) {
         final KieProject project = simpleProjectInstance( nioProjectRootPath );
-        final POM pom = pomService.load( project.getPomXMLPath() );
+        final POM pom = resolutionCache == null ?
+                pomService.load( project.getPomXMLPath() ) :
+                resolutionCache.getPom( nioProjectRootPath.toUri().toString(),
+                                        () -> pomService.load( project.getPomXMLPath() ) );
         project.setPom( pom );
 
         addSecurityGroups( project );
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.NewProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.jboss.errai.marshalling.server.ServerMarshalling;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.guvnor.common.services.project.utils.ProjectResourcePaths.*;
+import static org.kie.workbench.common.services.backend.project.KieProjectResourcePaths.*;
+
+/**
+ * Caches the project root {@link KieResourceResolver} resolves for a resource path (or the lack of one), and the POM
+ * loaded for a project root, in bounded maps. Entries of a project are dropped whenever one of its pom.xml, kmodule.xml or project.imports files is added,
+ * updated or deleted, and every entry below a path is dropped when the path is deleted or renamed. Projects created,
+ * renamed or deleted through the project service are invalidated synchronously, as those events are fired by the
+ * same call. A root or POM resolved while its project was being invalidated is not stored.
+ * POMs are mutable, so the cache keeps its own copy and every caller gets a copy of it as well.
+ */
+@ApplicationScoped
+public class ProjectResolutionCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.workbench.project.resolution.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private static final String NO_PROJECT = "";
+
+    private final Map<String, String> projectRoots;
+
+    //Guarded by projectRoots
+    private final Map<String, POM> poms;
+
+    //Incremented on every invalidation, guarded by projectRoots
+    private long generation;
+
+    private final AtomicLong rootHits = new AtomicLong();
+
+    private final AtomicLong rootMisses = new AtomicLong();
+
+    private final AtomicLong pomHits = new AtomicLong();
+
+    private final AtomicLong pomMisses = new AtomicLong();
+
+    public ProjectResolutionCache() {
+        this( Integer.getInteger( CACHE_SIZE_PROPERTY,
+                                  DEFAULT_CACHE_SIZE ) );
+    }
+
+    public ProjectResolutionCache( final int maxEntries ) {
+        this.projectRoots = new BoundedMap<>( maxEntries );
+        this.poms = new BoundedMap<>( maxEntries );
+    }
+
+    /**
+     * Returns the URI of the project root the resource belongs to, resolving it with the given function on a miss.
+     * @param resourceURI the URI of the resource.
+     * @param resolver resolves the URI of the project root, or null if the resource does not belong to a project.
+     * @return the URI of the project root, or null if the resource does not belong to a project.
+     */
+    public String getProjectRoot( final String resourceURI,
+                                  final Function<String, String> resolver ) {
+        String projectRoot;
+        final long resolvedGeneration;
+        synchronized ( projectRoots ) {
+            projectRoot = projectRoots.get( resourceURI );
+            resolvedGeneration = generation;
+        }
+        if ( projectRoot != null ) {
+            rootHits.incrementAndGet();
+        } else {
+            rootMisses.incrementAndGet();
+            final String resolved = resolver.apply( resourceURI );
+            projectRoot = resolved == null ? NO_PROJECT : resolved;
+            synchronized ( projectRoots ) {
+                //The resolution may be stale if anything was invalidated meanwhile
+                if ( generation == resolvedGeneration ) {
+                    projectRoots.put( resourceURI,
+                                      projectRoot );
+                }
+            }
+        }
+        return NO_PROJECT.equals( projectRoot ) ? null : projectRoot;
+    }
+
+    /**
+     * Returns a copy of the POM of the given project root, loading it with the given supplier on a miss.
+     * @param projectRootURI the URI of the project root.
+     * @param loader loads the POM of the project root.
+     * @return the POM, which the caller is free to modify.
+     */
+    public POM getPom( final String projectRootURI,
+                       final Supplier<POM> loader ) {
+        final POM pom;
+        final long loadedGeneration;
+        synchronized ( projectRoots ) {
+            pom = poms.get( projectRootURI );
+            loadedGeneration = generation;
+        }
+        if ( pom != null ) {
+            pomHits.incrementAndGet();
+            return copy( pom );
+        }
+        pomMisses.incrementAndGet();
+        final POM loaded = loader.get();
+        if ( loaded != null ) {
+            final POM cached = copy( loaded );
+            synchronized ( projectRoots ) {
+                //The POM may be stale if anything was invalidated meanwhile
+                if ( generation == loadedGeneration ) {
+                    poms.put( projectRootURI,
+                              cached );
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns a deep copy of the given POM.
+     */
+    protected POM copy( final POM pom ) {
+        return ServerMarshalling.fromJSON( ServerMarshalling.toJSON( pom ),
+                                           POM.class );
+    }
+
+    /**
+     * Drops the entries of the resources below the given path, and of those resolved to it as project root.
+     */
+    public void invalidateProject( final String projectRootURI ) {
+        final String prefix = projectRootURI.endsWith( "/" ) ? projectRootURI : projectRootURI + "/";
+        synchronized ( projectRoots ) {
+            generation++;
+            final Iterator<Map.Entry<String, String>> it = projectRoots.entrySet().iterator();
+            while ( it.hasNext() ) {
+                final Map.Entry<String, String> entry = it.next();
+                if ( entry.getKey().equals( projectRootURI ) || entry.getKey().startsWith( prefix ) || entry.getValue().equals( projectRootURI ) ) {
+                    it.remove();
+                }
+            }
+            poms.keySet().removeIf( key -> key.equals( projectRootURI ) || key.startsWith( prefix ) );
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized ( projectRoots ) {
+            generation++;
+            projectRoots.clear();
+            poms.clear();
+        }
+    }
+
+    public long getRootHits() {
+        return rootHits.get();
+    }
+
+    public long getRootMisses() {
+        return rootMisses.get();
+    }
+
+    public long getPomHits() {
+        return pomHits.get();
+    }
+
+    public long getPomMisses() {
+        return pomMisses.get();
+    }
+
+    public void onNewProject( @Observes final NewProjectEvent event ) {
+        invalidate( event.getProject() );
+    }
+
+    public void onRenameProject( @Observes final RenameProjectEvent event ) {
+        invalidate( event.getOldProject() );
+        invalidate( event.getNewProject() );
+    }
+
+    public void onDeleteProject( @Observes final DeleteProjectEvent event ) {
+        invalidate( event.getProject() );
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidateBelow( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidateBelow( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            if ( isDeletedOrRenamed( entry.getValue() ) ) {
+                invalidateBelow( entry.getKey() );
+            } else {
+                invalidate( entry.getKey() );
+            }
+        }
+    }
+
+    private boolean isDeletedOrRenamed( final Collection<ResourceChange> changes ) {
+        for ( final ResourceChange change : changes ) {
+            if ( change.getType() == ResourceChangeType.DELETE || change.getType() == ResourceChangeType.RENAME ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidate( final Project project ) {
+        if ( project == null || project.getRootPath() == null ) {
+            return;
+        }
+        invalidateProject( project.getRootPath().toURI() );
+    }
+
+    //The path may be a folder containing projects, or a project file
+    private void invalidateBelow( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        if ( !invalidate( path ) ) {
+            invalidateProject( path.toURI() );
+        }
+    }
+
+    private boolean invalidate( final Path path ) {
+        if ( path == null ) {
+            return false;
+        }
+        final String uri = path.toURI();
+        final String projectRootURI;
+        if ( uri.endsWith( "/" + POM_PATH ) ) {
+            projectRootURI = uri.substring( 0, uri.length() - POM_PATH.length() - 1 );
+        } else if ( uri.endsWith( "/" + KMODULE_PATH ) ) {
+            projectRootURI = uri.substring( 0, uri.length() - KMODULE_PATH.length() - 1 );
+        } else if ( uri.endsWith( "/" + PROJECT_IMPORTS_PATH ) ) {
+            projectRootURI = uri.substring( 0, uri.length() - PROJECT_IMPORTS_PATH.length() - 1 );
+        } else {
+            return false;
+        }
+        invalidateProject( projectRootURI );
+        return true;
+    }
+
+    private static class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+
+        private final int maxEntries;
+
+        private BoundedMap( final int maxEntries ) {
+            super( 16,
+                   0.75f,
+                   true );
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<K, V> eldest ) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -345,6 +346,46 @@ public class BuilderTest
                                new ArrayList<String>() );
     }
 
+    @Test
+    public void testBuilderCloneDoesNotReadProjectResources() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final IOService spiedIOService = spy( ioService );
+        final Builder builder = new Builder( project,
+                                             spiedIOService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        final int buildMessages = builder.build().getMessages().size();
+        reset( spiedIOService );
+
+        final Builder clone = builder.clone();
+
+        verify( spiedIOService,
+                never() ).newInputStream( any( org.uberfire.java.nio.file.Path.class ) );
+        assertTrue( clone.isBuilt() );
+
+        //Changes to the clone should be validated but not leak into the original Builder
+        final URL urlToValidate = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl" );
+        final org.uberfire.java.nio.file.Path pathToValidate = p.getPath( urlToValidate.toURI() );
+        clone.deleteResource( pathToValidate );
+        assertFalse( clone.updateResource( pathToValidate,
+                                           new ByteArrayInputStream( "rule \"broken\" when then".getBytes() ) ).getAddedMessages().isEmpty() );
+
+        assertNotSame( builder.getKieFileSystem(),
+                       clone.getKieFileSystem() );
+        assertEquals( buildMessages,
+                      builder.build().getMessages().size() );
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl( ioService,
                                                     mock( KieProjectService.class ),
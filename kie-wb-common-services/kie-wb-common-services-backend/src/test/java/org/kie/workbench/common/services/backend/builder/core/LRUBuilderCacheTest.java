@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheTest
+        extends BuilderTestBase {
+
+    private LRUBuilderCache builderCache;
+
+    private Project project;
+
+    @Before
+    public void setUp() throws Exception {
+        super.startWeld();
+        setUpGuvnorM2Repo();
+
+        builderCache = getReference( LRUBuilderCache.class );
+
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+        project = getReference( KieProjectService.class ).resolveProject( Paths.convert( path ) );
+    }
+
+    @After
+    public void cleanUp() {
+        super.stopWeld();
+    }
+
+    @Test
+    public void testConcurrentCallersShareSingleBuilder() throws Exception {
+        final int callers = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool( callers );
+        try {
+            final List<Callable<Builder>> tasks = new ArrayList<>();
+            for ( int i = 0; i < callers; i++ ) {
+                tasks.add( () -> builderCache.assertBuilder( project ) );
+            }
+
+            assertNull( builderCache.getBuilder( project ) );
+
+            Builder first = null;
+            for ( Future<Builder> future : executor.invokeAll( tasks ) ) {
+                final Builder builder = future.get();
+                assertNotNull( builder );
+                if ( first == null ) {
+                    first = builder;
+                }
+                assertSame( first,
+                            builder );
+            }
+            assertSame( first,
+                        builderCache.getBuilder( project ) );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAssertBuilderByPom() throws Exception {
+        final Builder builder = builderCache.assertBuilder( project );
+
+        assertSame( builder,
+                    builderCache.assertBuilder( project.getPom() ) );
+    }
+
+    @Test(expected = NoBuilderFoundException.class)
+    public void testAssertBuilderByPomAfterInvalidation() throws Exception {
+        builderCache.assertBuilder( project );
+        builderCache.invalidateCache( project );
+
+        builderCache.assertBuilder( project.getPom() );
+    }
+
+    @Test(expected = NoBuilderFoundException.class)
+    public void testAssertBuilderByPomWithoutBuilder() throws Exception {
+        builderCache.assertBuilder( project.getPom() );
+    }
+
+    @Test
+    public void testBuilderCreatedWhileInvalidatingIsNotStored() throws Exception {
+        final Project invalidated = mock( Project.class );
+        final POM pom = new POM( new GAV( "org.test",
+                                          "invalidated",
+                                          "1.0" ) );
+        when( invalidated.getPom() ).thenReturn( pom );
+        final Builder stale = mock( Builder.class );
+        final Builder fresh = mock( Builder.class );
+        final LRUBuilderCache cache = new LRUBuilderCache() {
+            private boolean invalidate = true;
+
+            @Override
+            protected Builder newBuilder( final Project project ) {
+                //Simulates the Project being changed while its first Builder is created
+                if ( invalidate ) {
+                    invalidate = false;
+                    invalidateCache( project );
+                    return stale;
+                }
+                return fresh;
+            }
+        };
+
+        assertSame( stale,
+                    cache.assertBuilder( invalidated ) );
+        assertNull( cache.getBuilder( invalidated ) );
+
+        assertSame( fresh,
+                    cache.assertBuilder( invalidated ) );
+        assertSame( fresh,
+                    cache.getBuilder( invalidated ) );
+        assertSame( fresh,
+                    cache.assertBuilder( pom ) );
+    }
+
+    @Test(expected = NoBuilderFoundException.class)
+    public void testInvalidationAfterGavChangeDropsPreviousGav() throws Exception {
+        final Project changed = mock( Project.class );
+        final POM previous = new POM( new GAV( "org.test",
+                                               "changed",
+                                               "1.0" ) );
+        final POM current = new POM( new GAV( "org.test",
+                                              "changed",
+                                              "2.0" ) );
+        when( changed.getPom() ).thenReturn( previous );
+        final LRUBuilderCache cache = new LRUBuilderCache() {
+            @Override
+            protected Builder newBuilder( final Project project ) {
+                return mock( Builder.class );
+            }
+        };
+
+        cache.assertBuilder( changed );
+        when( changed.getPom() ).thenReturn( current );
+        cache.invalidateCache( changed );
+
+        cache.assertBuilder( previous );
+    }
+
+    @Test
+    public void testCallerWaitingOnDiscardedLockStartsOver() throws Exception {
+        final Project invalidated = mock( Project.class );
+        when( invalidated.getPom() ).thenReturn( new POM( new GAV( "org.test",
+                                                                   "invalidated",
+                                                                   "1.0" ) ) );
+        final CountDownLatch firstStarted = new CountDownLatch( 1 );
+        final CountDownLatch secondStarted = new CountDownLatch( 1 );
+        final CountDownLatch releaseFirst = new CountDownLatch( 1 );
+        final CountDownLatch releaseOthers = new CountDownLatch( 1 );
+        final AtomicInteger calls = new AtomicInteger();
+        final LRUBuilderCache cache = new LRUBuilderCache() {
+            @Override
+            protected Builder newBuilder( final Project project ) {
+                try {
+                    if ( calls.incrementAndGet() == 1 ) {
+                        firstStarted.countDown();
+                        releaseFirst.await( 10,
+                                            TimeUnit.SECONDS );
+                    } else {
+                        secondStarted.countDown();
+                        releaseOthers.await( 10,
+                                             TimeUnit.SECONDS );
+                    }
+                    return mock( Builder.class );
+                } catch ( InterruptedException e ) {
+                    throw new IllegalStateException( e );
+                }
+            }
+        };
+
+        final AtomicReference<Builder> waiterBuilder = new AtomicReference<>();
+        final Thread first = new Thread( () -> cache.assertBuilder( invalidated ) );
+        final Thread waiter = new Thread( () -> waiterBuilder.set( cache.assertBuilder( invalidated ) ) );
+        first.start();
+        assertTrue( firstStarted.await( 10,
+                                        TimeUnit.SECONDS ) );
+        //The waiter blocks on the lock of the first caller, which is discarded by the invalidation
+        waiter.start();
+        awaitBlocked( waiter );
+        cache.invalidateCache( invalidated );
+
+        final AtomicReference<Builder> latestBuilder = new AtomicReference<>();
+        final Thread latest = new Thread( () -> latestBuilder.set( cache.assertBuilder( invalidated ) ) );
+        latest.start();
+        assertTrue( secondStarted.await( 10,
+                                         TimeUnit.SECONDS ) );
+
+        //Once the first caller is done the waiter must wait for the latest one, instead of creating another Builder
+        releaseFirst.countDown();
+        first.join( 10000 );
+        awaitBlocked( waiter );
+
+        releaseOthers.countDown();
+        waiter.join( 10000 );
+        latest.join( 10000 );
+
+        assertEquals( 2,
+                      calls.get() );
+        assertSame( latestBuilder.get(),
+                    waiterBuilder.get() );
+        assertSame( latestBuilder.get(),
+                    cache.getBuilder( invalidated ) );
+    }
+
+    private static void awaitBlocked( final Thread thread ) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while ( thread.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 10 );
+        }
+        assertEquals( Thread.State.BLOCKED,
+                      thread.getState() );
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.compiler.nio;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.AsyncMavenCompiler;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncMavenCompilerTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final Map<String, Object> results = new HashMap<>();
+
+    private AFCompiler<CompilationResponse> compiler;
+
+    private AsyncMavenCompiler<CompilationResponse> asyncCompiler;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        compiler = mock(AFCompiler.class);
+        when(compiler.compileSync(any(CompilationRequest.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10,
+                          TimeUnit.SECONDS);
+            return new DefaultCompilationResponse(Boolean.TRUE);
+        });
+        asyncCompiler = new AsyncMavenCompiler<>(compiler,
+                                                 1,
+                                                 10);
+    }
+
+    @After
+    public void tearDown() {
+        asyncCompiler.shutdown();
+    }
+
+    @Test
+    public void testEqualRequestIsCoalescedWithQueuedOne() throws Exception {
+        final CompilationRequest running = request("file:///project1");
+        final CompilationRequest queued = request("file:///project1");
+        final CompilationRequest newer = request("file:///project1");
+
+        final CompletableFuture<CompilationResponse> runningResult = asyncCompiler.compileAsync(running);
+        assertTrue(started.await(10,
+                                 TimeUnit.SECONDS));
+        final CompletableFuture<CompilationResponse> queuedResult = asyncCompiler.compileAsync(queued);
+        final CompletableFuture<CompilationResponse> newerResult = asyncCompiler.compileAsync(newer);
+
+        assertSame(queuedResult,
+                   newerResult);
+        assertEquals(1,
+                     asyncCompiler.getQueueDepth());
+        assertEquals(1,
+                     asyncCompiler.getCoalesced());
+
+        release.countDown();
+        assertTrue(runningResult.get(10,
+                                     TimeUnit.SECONDS).isSuccessful());
+        assertTrue(newerResult.get(10,
+                                   TimeUnit.SECONDS).isSuccessful());
+
+        verify(compiler).compileSync(running);
+        verify(compiler).compileSync(queued);
+        verify(compiler,
+               never()).compileSync(newer);
+        assertEquals(2,
+                     asyncCompiler.getCompleted());
+        assertEquals(0,
+                     asyncCompiler.getQueueDepth());
+    }
+
+    @Test
+    public void testRequestsOnDifferentProjectsAreNotCoalesced() throws Exception {
+        release.countDown();
+        final CompilationRequest first = request("file:///project1");
+        final CompilationRequest second = request("file:///project2");
+
+        asyncCompiler.compileAsync(first).get(10,
+                                              TimeUnit.SECONDS);
+        asyncCompiler.compileAsync(second).get(10,
+                                               TimeUnit.SECONDS);
+
+        verify(compiler).compileSync(first);
+        verify(compiler).compileSync(second);
+        assertEquals(0,
+                     asyncCompiler.getCoalesced());
+    }
+
+    @Test
+    public void testDifferentRequestsOnTheSameProjectAreNotCoalesced() throws Exception {
+        final CompilationRequest running = request("file:///project1");
+        final CompilationRequest queued = request("file:///project1");
+        final CompilationRequest otherGoals = request("file:///project1");
+        when(otherGoals.getOriginalArgs()).thenReturn(new String[]{"clean", "install"});
+        final CompilationRequest otherResults = request("file:///project1");
+        when(otherResults.getMap()).thenReturn(new HashMap<>());
+        final CompilationRequest withLog = request("file:///project1");
+        when(withLog.getLogRequested()).thenReturn(Boolean.TRUE);
+
+        asyncCompiler.compileAsync(running);
+        assertTrue(started.await(10,
+                                 TimeUnit.SECONDS));
+        final CompletableFuture<CompilationResponse> queuedResult = asyncCompiler.compileAsync(queued);
+        final CompletableFuture<CompilationResponse> otherGoalsResult = asyncCompiler.compileAsync(otherGoals);
+        final CompletableFuture<CompilationResponse> otherResultsResult = asyncCompiler.compileAsync(otherResults);
+        final CompletableFuture<CompilationResponse> withLogResult = asyncCompiler.compileAsync(withLog);
+
+        assertNotSame(queuedResult,
+                      otherGoalsResult);
+        assertNotSame(queuedResult,
+                      otherResultsResult);
+        assertNotSame(queuedResult,
+                      withLogResult);
+        assertEquals(4,
+                     asyncCompiler.getQueueDepth());
+        assertEquals(0,
+                     asyncCompiler.getCoalesced());
+
+        release.countDown();
+        withLogResult.get(10,
+                          TimeUnit.SECONDS);
+        verify(compiler).compileSync(queued);
+        verify(compiler).compileSync(otherGoals);
+        verify(compiler).compileSync(otherResults);
+        verify(compiler).compileSync(withLog);
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testFailedCompilationCompletesExceptionally() throws Exception {
+        final CompilationRequest failing = request("file:///project1");
+        doThrow(new IllegalStateException("failed")).when(compiler).compileSync(failing);
+
+        asyncCompiler.compileAsync(failing).get(10,
+                                                TimeUnit.SECONDS);
+    }
+
+    private CompilationRequest request(final String uri) {
+        final Path path = mock(Path.class);
+        when(path.toUri()).thenReturn(URI.create(uri));
+        final CompilationRequest req = mock(CompilationRequest.class);
+        when(req.getInfo()).thenReturn(new WorkspaceCompilationInfo(path));
+        when(req.getOriginalArgs()).thenReturn(new String[]{"compile"});
+        when(req.getMavenRepo()).thenReturn("/tmp/repository");
+        when(req.getLogRequested()).thenReturn(Boolean.FALSE);
+        when(req.getMap()).thenReturn(results);
+        return req;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.dependencies;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.test.TempFiles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JarPackageNameIndexTest {
+
+    private static final GAV GAV = new GAV( "junit",
+                                            "junit",
+                                            "4.11" );
+
+    private TempFiles tempFiles;
+
+    private File indexDir;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        tempFiles = new TempFiles();
+        indexDir = Files.createTempDirectory( "package-index" ).toFile();
+        jar = tempFiles.createTempFile( "junit-4.11.jar" );
+
+        new TestJarWriter( jar,
+                           tempFiles )
+                .addFile( "org/junit/rules/SomeClass.class" )
+                .addFile( "org/junit/matchers/SomeClass.class" )
+                .close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tempFiles.deleteFiles();
+        FileUtils.deleteDirectory( indexDir );
+    }
+
+    @Test
+    public void testJarIsScannedOnce() throws Exception {
+        final JarPackageNameIndex index = new JarPackageNameIndex( indexDir );
+
+        final Set<String> packageNames = index.getPackageNames( GAV,
+                                                                jar );
+        assertEquals( 2,
+                      packageNames.size() );
+        assertTrue( packageNames.contains( "org.junit.rules" ) );
+        assertTrue( packageNames.contains( "org.junit.matchers" ) );
+
+        assertEquals( packageNames,
+                      index.getPackageNames( GAV,
+                                             jar ) );
+        assertEquals( 1,
+                      index.getScans() );
+    }
+
+    @Test
+    public void testIndexIsReusedFromDisk() throws Exception {
+        new JarPackageNameIndex( indexDir ).getPackageNames( GAV,
+                                                             jar );
+
+        final JarPackageNameIndex index = new JarPackageNameIndex( indexDir );
+        final Set<String> packageNames = index.getPackageNames( GAV,
+                                                                jar );
+
+        assertEquals( 0,
+                      index.getScans() );
+        assertEquals( 2,
+                      packageNames.size() );
+        assertTrue( packageNames.contains( "org.junit.rules" ) );
+    }
+
+    @Test
+    public void testChangedJarIsScannedAgain() throws Exception {
+        final JarPackageNameIndex index = new JarPackageNameIndex( indexDir );
+        index.getPackageNames( GAV,
+                               jar );
+
+        final File sha1 = new File( jar.getParentFile(),
+                                    jar.getName() + ".sha1" );
+        Files.write( sha1.toPath(),
+                     "e4c8ab6c2e1ad6e4b1ea24c4b64b3d2d2d3d5a1f".getBytes( StandardCharsets.UTF_8 ) );
+        try {
+            index.getPackageNames( GAV,
+                                   jar );
+            assertEquals( 2,
+                          index.getScans() );
+        } finally {
+            sha1.delete();
+        }
+    }
+}
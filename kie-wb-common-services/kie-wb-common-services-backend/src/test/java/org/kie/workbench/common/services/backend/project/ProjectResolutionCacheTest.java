@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collections;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectResolutionCacheTest {
+
+    private static final String PROJECT_ROOT = "default://master@repo/project";
+
+    private static final String RESOURCE = PROJECT_ROOT + "/src/main/resources/org/test/rule.drl";
+
+    private static final String OTHER_RESOURCE = "default://master@repo/other/src/main/resources/org/test/rule.drl";
+
+    @Mock
+    private Function<String, String> resolver;
+
+    @Mock
+    private Supplier<POM> pomLoader;
+
+    @Mock
+    private ResourceChange deletion;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private ProjectResolutionCache cache;
+
+    @Before
+    public void setup() {
+        cache = new ProjectResolutionCache( 10 ) {
+            @Override
+            protected POM copy( final POM pom ) {
+                return new POM( pom.getName(),
+                                pom.getDescription(),
+                                pom.getGav() );
+            }
+        };
+        when( resolver.apply( RESOURCE ) ).thenReturn( PROJECT_ROOT );
+        when( pomLoader.get() ).thenAnswer( invocation -> new POM( "project",
+                                                                   "description",
+                                                                   new GAV( "org.test",
+                                                                            "project",
+                                                                            "1.0" ) ) );
+        when( deletion.getType() ).thenReturn( ResourceChangeType.DELETE );
+    }
+
+    @Test
+    public void testProjectRootIsResolvedOnce() {
+        assertEquals( PROJECT_ROOT,
+                      cache.getProjectRoot( RESOURCE,
+                                            resolver ) );
+        assertEquals( PROJECT_ROOT,
+                      cache.getProjectRoot( RESOURCE,
+                                            resolver ) );
+
+        verify( resolver,
+                times( 1 ) ).apply( RESOURCE );
+        assertEquals( 1,
+                      cache.getRootHits() );
+        assertEquals( 1,
+                      cache.getRootMisses() );
+    }
+
+    @Test
+    public void testResourcesOutsideProjectsAreCached() {
+        assertNull( cache.getProjectRoot( OTHER_RESOURCE,
+                                          resolver ) );
+        assertNull( cache.getProjectRoot( OTHER_RESOURCE,
+                                          resolver ) );
+
+        verify( resolver,
+                times( 1 ) ).apply( OTHER_RESOURCE );
+    }
+
+    @Test
+    public void testPomUpdateInvalidatesProject() {
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+
+        cache.onResourceUpdated( new ResourceUpdatedEvent( path( PROJECT_ROOT + "/pom.xml" ),
+                                                           "",
+                                                           sessionInfo ) );
+
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testRootResolvedWhileInvalidatingIsNotStored() {
+        when( resolver.apply( RESOURCE ) ).thenAnswer( invocation -> {
+            //The project is deleted while its root is being resolved
+            cache.invalidateProject( PROJECT_ROOT );
+            return PROJECT_ROOT;
+        } );
+
+        assertEquals( PROJECT_ROOT,
+                      cache.getProjectRoot( RESOURCE,
+                                            resolver ) );
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testDeletedFolderInvalidatesProjectsBelow() {
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( path( "default://master@repo" ),
+                                                           "",
+                                                           sessionInfo ) );
+
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testBatchDeletionInvalidatesProjectsBelow() {
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+
+        cache.onBatchResourceChanges( new ResourceBatchChangesEvent( Collections.singletonMap( path( PROJECT_ROOT ),
+                                                                                               Collections.singletonList( deletion ) ),
+                                                                     "",
+                                                                     sessionInfo ) );
+
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testDeletedProjectIsInvalidated() {
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+
+        final Project project = mock( Project.class );
+        final Path rootPath = path( PROJECT_ROOT );
+        when( project.getRootPath() ).thenReturn( rootPath );
+        cache.onDeleteProject( new DeleteProjectEvent( project ) );
+
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testKModuleAddedInvalidatesResourcesOutsideProjects() {
+        assertNull( cache.getProjectRoot( OTHER_RESOURCE,
+                                          resolver ) );
+
+        cache.onResourceAdded( new ResourceAddedEvent( path( "default://master@repo/other/src/main/resources/META-INF/kmodule.xml" ),
+                                                       "",
+                                                       sessionInfo ) );
+
+        cache.getProjectRoot( OTHER_RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 2 ) ).apply( OTHER_RESOURCE );
+    }
+
+    @Test
+    public void testUnrelatedChangesDoNotInvalidate() {
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+
+        cache.onBatchResourceChanges( new ResourceBatchChangesEvent( Collections.singletonMap( path( RESOURCE ),
+                                                                                               Collections.<ResourceChange>emptyList() ),
+                                                                     "",
+                                                                     sessionInfo ) );
+
+        cache.getProjectRoot( RESOURCE,
+                              resolver );
+        verify( resolver,
+                times( 1 ) ).apply( RESOURCE );
+    }
+
+    @Test
+    public void testPomIsLoadedOnceAndCopied() {
+        final POM first = cache.getPom( PROJECT_ROOT,
+                                        pomLoader );
+        first.setName( "changed" );
+        final POM second = cache.getPom( PROJECT_ROOT,
+                                         pomLoader );
+        final POM third = cache.getPom( PROJECT_ROOT,
+                                        pomLoader );
+
+        verify( pomLoader,
+                times( 1 ) ).get();
+        assertEquals( "project",
+                      second.getName() );
+        assertNotSame( second,
+                       third );
+        assertEquals( 2,
+                      cache.getPomHits() );
+        assertEquals( 1,
+                      cache.getPomMisses() );
+    }
+
+    @Test
+    public void testPomUpdateInvalidatesPom() {
+        cache.getPom( PROJECT_ROOT,
+                      pomLoader );
+
+        cache.onResourceUpdated( new ResourceUpdatedEvent( path( PROJECT_ROOT + "/pom.xml" ),
+                                                           "",
+                                                           sessionInfo ) );
+
+        cache.getPom( PROJECT_ROOT,
+                      pomLoader );
+        verify( pomLoader,
+                times( 2 ) ).get();
+    }
+
+    @Test
+    public void testPomLoadedWhileInvalidatingIsNotStored() {
+        when( pomLoader.get() ).thenAnswer( invocation -> {
+            //The pom.xml is updated while it is being loaded
+            cache.invalidateProject( PROJECT_ROOT );
+            return new POM();
+        } );
+
+        assertNotNull( cache.getPom( PROJECT_ROOT,
+                                     pomLoader ) );
+        cache.getPom( PROJECT_ROOT,
+                      pomLoader );
+        verify( pomLoader,
+                times( 2 ) ).get();
+    }
+
+    private Path path( final String uri ) {
+        final Path path = mock( Path.class );
+        when( path.toURI() ).thenReturn( uri );
+        return path;
+    }
+}
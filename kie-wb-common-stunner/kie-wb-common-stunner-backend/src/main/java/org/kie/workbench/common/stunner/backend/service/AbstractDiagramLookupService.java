@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.stunner.backend.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,16 +29,16 @@ import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLoo
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
-import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentationImpl;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.core.service.DiagramLookupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractVFSLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractVFSLookupManager<DiagramRepresentation, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
@@ -57,25 +58,40 @@ public abstract class AbstractDiagramLookupService<M extends Metadata, D extends
     }
 
     @Override
-    protected D getItemByPath(final Path path) {
-        return diagramService.getDiagramByPath(path);
+    protected DiagramRepresentation getItemByPath(final Path path) {
+        return diagramService.getDiagramRepresentationByPath(path);
     }
 
+    /**
+     * Lists the representations through the diagram service, which only loads the diagrams that changed since
+     * they were last listed.
+     */
     @Override
-    protected List<D> getItems(final DiagramLookupRequest request) {
+    public List<DiagramRepresentation> getItemsByPath(final org.uberfire.java.nio.file.Path root) {
+        try {
+            return new ArrayList<>(diagramService.getDiagramRepresentationsByPath(Paths.convert(root)));
+        } catch (Exception e) {
+            LOG.error("Error while loading from VFS the items with path [" + root + "].",
+                      e);
+        }
+        return null;
+    }
+
+    @Override
+    protected List<DiagramRepresentation> getItems(final DiagramLookupRequest request) {
         org.uberfire.java.nio.file.Path root = parseCriteriaPath(request);
         return getItemsByPath(root);
     }
 
     @Override
     protected boolean matches(final String criteria,
-                              final Diagram item) {
+                              final DiagramRepresentation item) {
         return true;
     }
 
     @Override
-    protected DiagramRepresentation buildResult(final Diagram item) {
-        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation buildResult(final DiagramRepresentation item) {
+        return item;
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
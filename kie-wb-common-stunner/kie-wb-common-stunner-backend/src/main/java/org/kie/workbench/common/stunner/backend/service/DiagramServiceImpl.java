@@ -138,7 +138,7 @@ public class DiagramServiceImpl
 
     @Override
     protected Metadata doSave(final Diagram diagram,
-                              final String raw,
+                              final byte[] raw,
                               final String metadata) {
         try {
             getIoService().startBatch(fileSystem);
@@ -147,7 +147,7 @@ public class DiagramServiceImpl
             final org.uberfire.java.nio.file.Path path =
                     null != _path ? Paths.convert(_path) : getDiagramsPath().resolve(name);
             // Serialize the diagram's raw data.
-            LOG.debug("Serializing raw data: " + raw);
+            LOG.debug("Serializing raw data: " + raw.length + " bytes");
             getIoService().write(path,
                                  raw);
             final String metadataFileName = getMetadataFileName(name);
@@ -191,6 +191,11 @@ public class DiagramServiceImpl
         return true;
     }
 
+    @Override
+    protected org.uberfire.java.nio.file.Path getMetadataPath(final Path path) {
+        return getDiagramsPath().resolve(getMetadataFileName(path.getFileName()));
+    }
+
     private InputStream doLoadMetadataStreamByDiagramPath(final Path dPath) {
         org.uberfire.java.nio.file.Path path = getDiagramsPath().resolve(getMetadataFileName(dPath.getFileName()));
         if (null != path) {
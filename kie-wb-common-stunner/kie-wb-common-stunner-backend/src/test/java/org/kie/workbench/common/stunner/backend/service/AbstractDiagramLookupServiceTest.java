@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.backend.service;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractDiagramLookupServiceTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private BaseDiagramService<Metadata, Diagram<Graph, Metadata>> diagramService;
+
+    @Mock
+    private org.uberfire.java.nio.file.Path root;
+
+    @Mock
+    private org.uberfire.java.nio.file.Path rootFileName;
+
+    @Mock
+    private DiagramRepresentation representation1;
+
+    @Mock
+    private DiagramRepresentation representation2;
+
+    private AbstractDiagramLookupService<Metadata, Diagram<Graph, Metadata>> tested;
+
+    @Before
+    public void setup() throws Exception {
+        when(root.getFileName()).thenReturn(rootFileName);
+        when(root.toUri()).thenReturn(URI.create("default://master@diagrams/"));
+        tested = new AbstractDiagramLookupService<Metadata, Diagram<Graph, Metadata>>(ioService,
+                                                                                      diagramService) {
+        };
+    }
+
+    @Test
+    public void testItemsAreListedByTheDiagramService() {
+        when(diagramService.getDiagramRepresentationsByPath(any(Path.class)))
+                .thenReturn(Arrays.asList(representation1,
+                                          representation2));
+        final List<DiagramRepresentation> result = tested.getItemsByPath(root);
+        assertEquals(Arrays.asList(representation1,
+                                   representation2),
+                     result);
+        verify(diagramService,
+               never()).getDiagramByPath(any(Path.class));
+        verify(diagramService,
+               never()).getDiagramRepresentationByPath(any(Path.class));
+        verifyZeroInteractions(ioService);
+    }
+
+    @Test
+    public void testItemsCannotBeListed() {
+        when(diagramService.getDiagramRepresentationsByPath(any(Path.class)))
+                .thenThrow(new IllegalStateException("Cannot list the diagrams."));
+        assertNull(tested.getItemsByPath(root));
+    }
+}
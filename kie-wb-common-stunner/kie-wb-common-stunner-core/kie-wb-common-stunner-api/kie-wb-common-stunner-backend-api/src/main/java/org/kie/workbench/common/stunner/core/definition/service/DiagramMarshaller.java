@@ -17,6 +17,9 @@ package org.kie.workbench.common.stunner.core.definition.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -30,6 +33,11 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
  */
 public interface DiagramMarshaller<G extends Graph, M extends Metadata, D extends Diagram<G, M>> {
 
+    /**
+     * The save option that selects the format a diagram is stored in, for marshallers supporting several ones.
+     */
+    String FORMAT_OPTION = "stunner.diagram.format";
+
     /**
      * Constructs a graph instance of type <code>G</code> by consuming the input stream.
      * @param metadata The diagram's metadata. Marshaller classes can update metadata, if applies, here.
@@ -48,6 +56,34 @@ public interface DiagramMarshaller<G extends Graph, M extends Metadata, D extend
      */
     String marshall(final D diagram) throws IOException;
 
+    /**
+     * Serializes a diagram instance of type <code>D</code> into the given output stream, using UTF-8.
+     * The stream is not closed. Marshallers that can write the diagram progressively should override this method,
+     * by default the diagram is serialized as string first.
+     * @param diagram The diagram instance to serialize.
+     * @param output The output stream for the diagram's raw value.
+     * @throws IOException System I/O error.
+     */
+    default void marshall(final D diagram,
+                          final OutputStream output) throws IOException {
+        output.write(marshall(diagram).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serializes a diagram instance of type <code>D</code> into the given output stream, using the given save options.
+     * The stream is not closed. By default the options are ignored.
+     * @param diagram The diagram instance to serialize.
+     * @param output The output stream for the diagram's raw value.
+     * @param options The save options, such as <code>FORMAT_OPTION</code>.
+     * @throws IOException System I/O error.
+     */
+    default void marshall(final D diagram,
+                          final OutputStream output,
+                          final Map<String, ?> options) throws IOException {
+        marshall(diagram,
+                 output);
+    }
+
     /**
      * Provides a un/marshaller instance for the Diagram's metadata.
      * @return The diagram's metadata marshaller.
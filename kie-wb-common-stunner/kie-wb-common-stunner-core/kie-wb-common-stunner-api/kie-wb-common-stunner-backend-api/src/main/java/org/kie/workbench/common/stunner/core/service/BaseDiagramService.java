@@ -16,9 +16,12 @@
 
 package org.kie.workbench.common.stunner.core.service;
 
+import java.util.Collection;
+
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.uberfire.backend.vfs.Path;
 
 /**
@@ -33,6 +36,18 @@ public interface BaseDiagramService<M extends Metadata, D extends Diagram<Graph,
      */
     D getDiagramByPath(final Path path);
 
+    /**
+     * Returns the representation of a Diagram by the given path in the service, without loading the diagram's graph.
+     * Implementations can throw unchecked exceptions.
+     */
+    DiagramRepresentation getDiagramRepresentationByPath(final Path path);
+
+    /**
+     * Returns the representations of the Diagrams in the given root path which can be loaded.
+     * Implementations can throw unchecked exceptions.
+     */
+    Collection<DiagramRepresentation> getDiagramRepresentationsByPath(final Path root);
+
     /**
      * Checks if this service accepts a given Diagram by its path.
      */
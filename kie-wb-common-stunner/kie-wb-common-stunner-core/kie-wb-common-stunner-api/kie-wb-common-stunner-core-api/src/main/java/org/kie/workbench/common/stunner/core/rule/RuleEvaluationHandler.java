@@ -78,4 +78,12 @@ public interface RuleEvaluationHandler<R extends Rule, C extends RuleEvaluationC
      */
     RuleViolations evaluate(final R rule,
                             final C context);
+
+    /**
+     * Once all the rules have been evaluated for the given
+     * context, this method allows the handler to release any
+     * state it keeps for that evaluation.
+     */
+    default void onEvaluationCompleted(final C context) {
+    }
 }
@@ -84,6 +84,10 @@ public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
                                                        annotationType);
     }
 
+    protected RuntimeTypeMetadata getMetadata(final T object) {
+        return RuntimeAdapterUtils.getMetadata(object);
+    }
+
     protected String getDefinitionId(final Class<?> type) {
         return RuntimeAdapterUtils.getDefinitionId(type);
     }
@@ -21,24 +21,27 @@ import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeTypeMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
 public class RuntimeAdapterUtils {
 
-    @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        // The first annotated field of each type in the hierarchy, until one has a value.
+        Class<?> declaringType = null;
+        for (FieldAccessor field : getMetadata(object).getAnnotatedFields(annotationType)) {
+            if (field.isDeclaredBy(declaringType)) {
+                continue;
+            }
+            declaringType = field.getField().getDeclaringClass();
+            V result = field.getValue(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -47,16 +50,13 @@ public class RuntimeAdapterUtils {
                                                final Set<String> fieldNames) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
         if (null != fieldNames) {
+            final RuntimeTypeMetadata metadata = getMetadata(object);
             for (String fieldName : fieldNames) {
-                Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
-                    V result1 = getFieldValue(object,
-                                              c,
-                                              fieldName);
+                for (FieldAccessor field : metadata.getFields(fieldName)) {
+                    V result1 = field.getValue(object);
                     if (null != result1) {
                         result.add(result1);
                     }
-                    c = c.getSuperclass();
                 }
             }
         }
@@ -65,128 +65,60 @@ public class RuntimeAdapterUtils {
 
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getFieldValue(object,
-                                     c,
-                                     fieldName);
+        for (FieldAccessor field : getMetadata(object).getFields(fieldName)) {
+            V result = field.getValue(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        List<FieldAccessor> fields = RuntimeTypeMetadata.get(sourceType).getDeclaredAnnotatedFields(annotationType);
+        return !fields.isEmpty() ? fields.get(0).getValue(object) : null;
     }
 
-    @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        FieldAccessor field = RuntimeTypeMetadata.get(sourceType).getDeclaredField(fieldName);
+        return null != field ? field.getValue(object) : null;
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            Field result = getField(c,
-                                    fieldName);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        FieldAccessor field = getMetadata(object).getField(fieldName);
+        return null != field ? field.getField() : null;
     }
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        FieldAccessor field = RuntimeTypeMetadata.get(sourceType).getDeclaredField(fieldName);
+        return null != field ? field.getField() : null;
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
                                                               final Class<T> annotationType) {
-        Class<?> c = type;
-        while (!c.getName().equals(Object.class.getName())) {
-            T result = c.getAnnotation(annotationType);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        return RuntimeTypeMetadata.get(type).getClassAnnotation(annotationType);
     }
 
     public static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                final Class<T> annotationType) {
         if (null != type && null != annotationType) {
             Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
+            for (FieldAccessor field : RuntimeTypeMetadata.get(type).getAnnotatedFields(annotationType)) {
+                result.add(field.getField());
             }
             return result;
         }
         return null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
-            }
-            return result;
-        }
-        return null;
+    public static RuntimeTypeMetadata getMetadata(final Object object) {
+        return RuntimeTypeMetadata.get(object.getClass());
     }
 
     public static String getDefinitionId(final Class<?> type) {
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reflection metadata of a definition, property set or property type, resolved once per type and then shared by
+ * the runtime adapters. Fields are held in lookup order, which is the declaration order of the type followed by
+ * the ones of its super types, and are read and written through method handles.
+ */
+public final class RuntimeTypeMetadata {
+
+    private static final ClassValue<RuntimeTypeMetadata> METADATA = new ClassValue<RuntimeTypeMetadata>() {
+        @Override
+        protected RuntimeTypeMetadata computeValue(final Class<?> type) {
+            return new RuntimeTypeMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<FieldAccessor> fields;
+    private final Map<String, List<FieldAccessor>> fieldsByName;
+    private final ConcurrentMap<Class<? extends Annotation>, List<FieldAccessor>> annotatedFields = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> classAnnotations = new ConcurrentHashMap<>();
+
+    public static RuntimeTypeMetadata get(final Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    private RuntimeTypeMetadata(final Class<?> type) {
+        this.type = type;
+        final List<FieldAccessor> fields = new ArrayList<>();
+        final Map<String, List<FieldAccessor>> fieldsByName = new LinkedHashMap<>();
+        Class<?> c = type;
+        while (null != c && !c.getName().equals(Object.class.getName())) {
+            for (Field field : c.getDeclaredFields()) {
+                final FieldAccessor accessor = new FieldAccessor(field);
+                fields.add(accessor);
+                fieldsByName.computeIfAbsent(field.getName(),
+                                             name -> new ArrayList<>(1)).add(accessor);
+            }
+            c = c.getSuperclass();
+        }
+        this.fields = Collections.unmodifiableList(fields);
+        this.fieldsByName = fieldsByName;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the fields named as given, one per type in the hierarchy declaring it.
+     */
+    public List<FieldAccessor> getFields(final String fieldName) {
+        final List<FieldAccessor> result = fieldsByName.get(fieldName);
+        return null != result ? result : Collections.emptyList();
+    }
+
+    /**
+     * @return the first field named as given, or null if there is none.
+     */
+    public FieldAccessor getField(final String fieldName) {
+        final List<FieldAccessor> result = getFields(fieldName);
+        return !result.isEmpty() ? result.get(0) : null;
+    }
+
+    /**
+     * @return the field named as given declared by this type, or null if it does not declare it.
+     */
+    public FieldAccessor getDeclaredField(final String fieldName) {
+        final FieldAccessor result = getField(fieldName);
+        return null != result && result.isDeclaredBy(type) ? result : null;
+    }
+
+    /**
+     * @return all the fields of the type hierarchy annotated with the given annotation.
+     */
+    public List<FieldAccessor> getAnnotatedFields(final Class<? extends Annotation> annotationType) {
+        return annotatedFields.computeIfAbsent(annotationType,
+                                               a -> {
+                                                   final List<FieldAccessor> result = new ArrayList<>();
+                                                   for (FieldAccessor field : fields) {
+                                                       if (null != field.getField().getAnnotation(a)) {
+                                                           result.add(field);
+                                                       }
+                                                   }
+                                                   return Collections.unmodifiableList(result);
+                                               });
+    }
+
+    /**
+     * @return the first field of the type hierarchy annotated with the given annotation, or null if there is none.
+     */
+    public FieldAccessor getAnnotatedField(final Class<? extends Annotation> annotationType) {
+        final List<FieldAccessor> result = getAnnotatedFields(annotationType);
+        return !result.isEmpty() ? result.get(0) : null;
+    }
+
+    /**
+     * @return the fields declared by this type annotated with the given annotation.
+     */
+    public List<FieldAccessor> getDeclaredAnnotatedFields(final Class<? extends Annotation> annotationType) {
+        final List<FieldAccessor> result = new ArrayList<>();
+        for (FieldAccessor field : getAnnotatedFields(annotationType)) {
+            if (field.isDeclaredBy(type)) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the given annotation of the type, or of its closest super type annotated with it, or null if none is.
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getClassAnnotation(final Class<A> annotationType) {
+        return (A) classAnnotations.computeIfAbsent(annotationType,
+                                                    a -> {
+                                                        Class<?> c = type;
+                                                        while (null != c && !c.getName().equals(Object.class.getName())) {
+                                                            final Annotation result = c.getAnnotation(a);
+                                                            if (null != result) {
+                                                                return Optional.of(result);
+                                                            }
+                                                            c = c.getSuperclass();
+                                                        }
+                                                        return Optional.empty();
+                                                    }).orElse(null);
+    }
+
+    /**
+     * Reads and writes a field through method handles resolved when the metadata is built.
+     */
+    public static final class FieldAccessor {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+                                                                            Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+                                                                            Object.class,
+                                                                            Object.class);
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldAccessor(final Field field) {
+            this.field = field;
+            field.setAccessible(true);
+            MethodHandle getter = null;
+            MethodHandle setter = null;
+            if (!Modifier.isStatic(field.getModifiers())) {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                try {
+                    getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                } catch (IllegalAccessException e) {
+                    getter = null;
+                }
+                // Final fields can't be set through a method handle, these are set reflectively.
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    try {
+                        setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                    } catch (IllegalAccessException e) {
+                        setter = null;
+                    }
+                }
+            }
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public boolean isDeclaredBy(final Class<?> type) {
+            return field.getDeclaringClass().equals(type);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <V> V getValue(final Object object) throws IllegalAccessException {
+            if (null == getter) {
+                return (V) field.get(object);
+            }
+            try {
+                return (V) getter.invokeExact(object);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        public void setValue(final Object object,
+                             final Object value) throws IllegalAccessException {
+            if (null == setter) {
+                field.set(object,
+                          value);
+                return;
+            }
+            try {
+                setter.invokeExact(object,
+                                   value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+}
@@ -16,16 +16,16 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeTypeMetadata;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeTypeMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.HasInheritance;
 import org.kie.workbench.common.stunner.core.definition.annotation.Definition;
@@ -137,15 +137,12 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
 
     @Override
     public Set<?> getPropertySets(final T definition) {
-        Collection<Field> fields = getFieldAnnotations(definition.getClass(),
-                                                       PropertySet.class);
+        List<FieldAccessor> fields = getMetadata(definition).getAnnotatedFields(PropertySet.class);
         if (null != fields) {
             Set<Object> result = new LinkedHashSet<>();
             fields.forEach(field -> {
                 try {
-                    Object v = _getValue(field,
-                                         PropertySet.class,
-                                         definition);
+                    Object v = field.getValue(definition);
                     result.add(v);
                 } catch (Exception e) {
                     LOG.error("Error obtaining annotated property sets for Definition with id " + getId(definition));
@@ -165,14 +162,11 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
             if (null != propertySetProperties) {
                 result.addAll(propertySetProperties);
             }
-            Collection<Field> fields = getFieldAnnotations(definition.getClass(),
-                                                           Property.class);
+            List<FieldAccessor> fields = getMetadata(definition).getAnnotatedFields(Property.class);
             if (null != fields) {
                 fields.forEach(field -> {
                     try {
-                        Object v = _getValue(field,
-                                             Property.class,
-                                             definition);
+                        Object v = field.getValue(definition);
                         result.add(v);
                     } catch (Exception e) {
                         LOG.error("Error obtaining annotated properties for Definition with id " + getId(definition));
@@ -184,17 +178,6 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T definition) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            return (V) field.get(definition);
-        }
-        return null;
-    }
-
     @Override
     public Class<? extends ElementFactory> getGraphFactoryType(final T definition) {
         Definition annotation = getDefinitionAnnotation(definition.getClass());
@@ -237,16 +220,12 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
         throw new UnsupportedOperationException("Not implemented yet. Must keep some collection for this. ");
     }
 
+    @SuppressWarnings("unchecked")
     private boolean isBaseType(final Class<?> type) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                for (Class a : DEF_ANNOTATIONS) {
-                    Annotation annotation = field.getAnnotation(a);
-                    if (null != annotation) {
-                        return true;
-                    }
-                }
+        RuntimeTypeMetadata metadata = RuntimeTypeMetadata.get(type);
+        for (Class a : DEF_ANNOTATIONS) {
+            if (!metadata.getDeclaredAnnotatedFields(a).isEmpty()) {
+                return true;
             }
         }
         return false;
@@ -17,13 +17,18 @@
 package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 import javax.enterprise.inject.Instance;
+import javax.xml.stream.XMLStreamException;
 
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
@@ -35,6 +40,8 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.factory.diagram.DiagramFactory;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentationImpl;
 import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
 import org.kie.workbench.common.stunner.core.registry.diagram.DiagramRegistry;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
@@ -46,6 +53,7 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
+import org.uberfire.java.nio.file.NoSuchFileException;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
@@ -66,6 +74,8 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     private final BackendRegistryFactory registryFactory;
     private Collection<DefinitionSetService> definitionSetServices = new LinkedList<>();
     private DiagramRegistry<D> registry;
+    private final DiagramRepresentationCache representations = new DiagramRepresentationCache();
+    private final DiagramHeaderReader headerReader = new DiagramHeaderReader();
 
     public AbstractVFSDiagramService(final DefinitionManager definitionManager,
                                      final FactoryManager factoryManager,
@@ -104,9 +114,13 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
             final D diagram = factoryManager.newDiagram(name,
                                                         defSetId,
                                                         metadata);
-            final String[] raw = serizalize(diagram);
+            // The diagram is fully marshalled before writing, so a failure does not leave a partial asset.
+            final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            serialize(diagram,
+                      raw);
             ioService.write(kiePath,
-                            raw[0]);
+                            raw.toByteArray());
+            representations.remove(kiePath);
             return Paths.convert(kiePath);
         } catch (final Exception e) {
             LOG.error("Cannot create diagram in path [" + kiePath + "]",
@@ -133,26 +147,11 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         if (accepts(file)) {
             DefinitionSetService services = getServiceByPath(file);
             if (null != services) {
-                final String defSetId = getDefinitionSetId(services);
                 final String name = parseFileName(file,
                                                   services);
-                // Check if any metadata definition exist.
-                M metadata = null;
-                InputStream metaDataStream = loadMetadataForPath(file);
-                if (null != metaDataStream) {
-                    try {
-                        metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
-                    } catch (java.io.IOException e) {
-                        LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
-                                  e);
-                    }
-                }
-                if (null == metadata) {
-                    metadata = (M) buildMetadataInstance(file,
-                                                         defSetId,
-                                                         name);
-                }
-                metadata.setPath(file);
+                final M metadata = loadMetadata(file,
+                                                services,
+                                                name);
                 // Parse and load the diagram raw data.
                 final InputStream is = loadPath(file);
                 try {
@@ -173,6 +172,129 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
     }
 
+    /**
+     * Returns the representation of the diagram in the given path. Representations are cached until the diagram or
+     * its metadata change, so the diagram is only loaded again after that.
+     * @return The diagram's representation, or <code>null</code> if there is no file for the given path or the
+     * diagram cannot be loaded.
+     */
+    public DiagramRepresentation getDiagramRepresentationByPath(final org.uberfire.backend.vfs.Path file) {
+        if (accepts(file)) {
+            final org.uberfire.java.nio.file.Path path = Paths.convert(file);
+            if (!ioService.exists(path)) {
+                representations.remove(path);
+                return null;
+            }
+            return getDiagramRepresentation(file,
+                                            DiagramRepresentationCache.getVersion(ioService.readAttributes(path)));
+        }
+        throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+    }
+
+    private DiagramRepresentation getDiagramRepresentation(final org.uberfire.backend.vfs.Path file,
+                                                           final String diagramVersion) {
+        return representations.get(Paths.convert(file),
+                                   diagramVersion + "/" + getMetadataVersion(file),
+                                   () -> loadDiagramRepresentation(file));
+    }
+
+    private String getMetadataVersion(final org.uberfire.backend.vfs.Path file) {
+        final org.uberfire.java.nio.file.Path metadataPath = getMetadataPath(file);
+        if (null != metadataPath) {
+            try {
+                return DiagramRepresentationCache.getVersion(ioService.readAttributes(metadataPath));
+            } catch (final NoSuchFileException e) {
+                // The diagram has no metadata file.
+            }
+        }
+        return "";
+    }
+
+    private DiagramRepresentation loadDiagramRepresentation(final org.uberfire.backend.vfs.Path file) {
+        try {
+            final DiagramRepresentation representation = readDiagramRepresentation(file);
+            if (null != representation) {
+                return representation;
+            }
+        } catch (final Exception e) {
+            LOG.debug("Cannot read the header for diagram's path [" + file + "], loading the whole diagram.",
+                      e);
+        }
+        try {
+            final D diagram = getDiagramByPath(file);
+            return null != diagram ? new DiagramRepresentationImpl.DiagramRepresentationBuilder(diagram).build() : null;
+        } catch (final Exception e) {
+            LOG.error("Cannot load diagram for path [" + file + "]",
+                      e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the diagram's representation from its metadata and the root element of its content, which is read
+     * as a stream, so the diagram is not unmarshalled.
+     * @return The diagram's representation, or <code>null</code> if it cannot be built this way.
+     * @throws XMLStreamException If the diagram's content is not XML.
+     */
+    protected DiagramRepresentation readDiagramRepresentation(final org.uberfire.backend.vfs.Path file) throws XMLStreamException, java.io.IOException {
+        final DefinitionSetService services = getServiceByPath(file);
+        if (null == services) {
+            return null;
+        }
+        final DiagramHeaderReader.DiagramHeader header;
+        try (final InputStream is = ioService.newInputStream(Paths.convert(file))) {
+            header = headerReader.read(is);
+        }
+        final String name = parseFileName(file,
+                                          services);
+        final M metadata = loadMetadata(file,
+                                        services,
+                                        name);
+        if (isEmpty(metadata.getTitle())) {
+            metadata.setTitle(isEmpty(header.getName()) ? name : header.getName());
+        }
+        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(name,
+                                                                          metadata).build();
+    }
+
+    private static boolean isEmpty(final String s) {
+        return null == s || s.trim().isEmpty();
+    }
+
+    /**
+     * Drops the cached representation of the diagram in the given path, for the ones changed by other means
+     * than this service.
+     */
+    protected void invalidateDiagramRepresentation(final org.uberfire.backend.vfs.Path file) {
+        if (null != file) {
+            representations.remove(Paths.convert(file));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private M loadMetadata(final org.uberfire.backend.vfs.Path file,
+                           final DefinitionSetService services,
+                           final String name) {
+        // Check if any metadata definition exist.
+        M metadata = null;
+        InputStream metaDataStream = loadMetadataForPath(file);
+        if (null != metaDataStream) {
+            try {
+                metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
+            } catch (java.io.IOException e) {
+                LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
+                          e);
+            }
+        }
+        if (null == metadata) {
+            metadata = (M) buildMetadataInstance(file,
+                                                 getDefinitionSetId(services),
+                                                 name);
+        }
+        metadata.setPath(file);
+        return metadata;
+    }
+
     private String parseFileName(final org.uberfire.backend.vfs.Path file,
                                  final DefinitionSetService services) {
         final String n = file.getFileName();
@@ -185,27 +307,43 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     }
 
     public M saveOrUpdate(final D diagram) {
-        return register(diagram);
+        return saveOrUpdate(diagram,
+                            Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Saves the diagram using the given save options, such as <code>DiagramMarshaller.FORMAT_OPTION</code>.
+     */
+    public M saveOrUpdate(final D diagram,
+                          final Map<String, ?> options) {
+        return register(diagram,
+                        options);
     }
 
     public boolean delete(final D diagram) {
         Path path = diagram.getMetadata().getPath();
+        invalidateDiagramRepresentation(path);
         return doDelete(path);
     }
 
     protected abstract boolean doDelete(final Path path);
 
     protected abstract M doSave(final D diagram,
-                                final String raw,
+                                final byte[] raw,
                                 final String metadata);
 
-    @SuppressWarnings("unchecked")
-    private M register(final D diagram) {
+    private M register(final D diagram,
+                       final Map<String, ?> options) {
         try {
-            String[] raw = serizalize(diagram);
-            return doSave(diagram,
-                          raw[0],
-                          raw[1]);
+            final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            serialize(diagram,
+                      raw,
+                      options);
+            final M metadata = doSave(diagram,
+                                      raw.toByteArray(),
+                                      serializeMetadata(diagram));
+            invalidateDiagramRepresentation(metadata.getPath());
+            return metadata;
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
@@ -213,20 +351,47 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         }
     }
 
+    /**
+     * Serializes the diagram's metadata as string.
+     */
+    protected String serializeMetadata(final D diagram) throws java.io.IOException {
+        return getDiagramMarshaller(diagram).getMetadataMarshaller().marshall(diagram.getMetadata());
+    }
+
+    /**
+     * Serializes the diagram's raw data into the given output stream, without building it as string first when
+     * the concrete marshalling service supports it. The stream is not closed.
+     */
+    protected void serialize(final D diagram,
+                             final OutputStream output) throws java.io.IOException {
+        serialize(diagram,
+                  output,
+                  Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Serializes the diagram's raw data into the given output stream using the given save options, such as
+     * <code>DiagramMarshaller.FORMAT_OPTION</code>. The stream is not closed.
+     */
     @SuppressWarnings("unchecked")
-    protected String[] serizalize(final D diagram) throws java.io.IOException {
+    protected void serialize(final D diagram,
+                             final OutputStream output,
+                             final Map<String, ?> options) throws java.io.IOException {
+        getDiagramMarshaller(diagram).marshall((Diagram<Graph, Metadata>) diagram,
+                                               output,
+                                               options);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> getDiagramMarshaller(final D diagram) {
         final String defSetId = diagram.getMetadata().getDefinitionSetId();
-        final DefinitionSetService services = getServiceById(defSetId);
         // Serialize using the concrete marshalling service.
-        DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = services.getDiagramMarshaller();
-        final String rawData = marshaller.marshall((Diagram<Graph, Metadata>) diagram);
-        final Metadata metadata = diagram.getMetadata();
-        final String metadataRaw = marshaller.getMetadataMarshaller().marshall(metadata);
-        return new String[]{rawData, metadataRaw};
+        final DefinitionSetService services = getServiceById(defSetId);
+        return services.getDiagramMarshaller();
     }
 
     public boolean contains(final D item) {
-        return null != getDiagramByPath(item.getMetadata().getPath());
+        return null != getDiagramRepresentationByPath(item.getMetadata().getPath());
     }
 
     public Collection<D> getDiagramsByPath(final org.uberfire.java.nio.file.Path root) {
@@ -263,8 +428,56 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         }
     }
 
+    /**
+     * Returns the representations of the diagrams in the given root path which can be loaded, using the cached
+     * ones for the diagrams that did not change.
+     */
+    public Collection<DiagramRepresentation> getDiagramRepresentationsByPath(final Path rootPath) {
+        try {
+            final org.uberfire.java.nio.file.Path root = Paths.convert(rootPath);
+            final Collection<DiagramRepresentation> result = new ArrayList<DiagramRepresentation>();
+            if (ioService.exists(root)) {
+                walkFileTree(checkNotNull("root",
+                                          root),
+                             new SimpleFileVisitor<org.uberfire.java.nio.file.Path>() {
+                                 @Override
+                                 public FileVisitResult visitFile(final org.uberfire.java.nio.file.Path _file,
+                                                                  final BasicFileAttributes attrs) throws IOException {
+                                     checkNotNull("file",
+                                                  _file);
+                                     checkNotNull("attrs",
+                                                  attrs);
+                                     org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
+                                     if (accepts(file)) {
+                                         final DiagramRepresentation representation =
+                                                 getDiagramRepresentation(file,
+                                                                          DiagramRepresentationCache.getVersion(attrs.lastModifiedTime(),
+                                                                                                                attrs.size()));
+                                         if (null != representation) {
+                                             result.add(representation);
+                                         }
+                                     }
+                                     return FileVisitResult.CONTINUE;
+                                 }
+                             });
+            }
+            return result;
+        } catch (Exception e) {
+            LOG.error("Error while obtaining diagram representations.",
+                      e);
+            throw e;
+        }
+    }
+
     protected abstract InputStream loadMetadataForPath(final org.uberfire.backend.vfs.Path path);
 
+    /**
+     * Returns the path of the file that keeps the metadata for the given diagram, if it is kept apart from it.
+     */
+    protected org.uberfire.java.nio.file.Path getMetadataPath(final org.uberfire.backend.vfs.Path path) {
+        return null;
+    }
+
     protected abstract Metadata buildMetadataInstance(final org.uberfire.backend.vfs.Path path,
                                                       final String defSetId,
                                                       final String title);
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the root element of a diagram's XML content using StAX, so the diagram representations can be built
+ * without unmarshalling the whole diagram. The stream is read only until the root element is found.
+ */
+public class DiagramHeaderReader {
+
+    private final XMLInputFactory factory;
+
+    public DiagramHeaderReader() {
+        this.factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD,
+                            false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                            false);
+    }
+
+    /**
+     * Returns the header for the given diagram content.
+     * @throws XMLStreamException If the content is not XML, so the diagram must be fully loaded instead.
+     */
+    public DiagramHeader read(final InputStream input) throws XMLStreamException {
+        final XMLStreamReader reader = factory.createXMLStreamReader(input);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    final Map<String, String> attributes = new HashMap<>();
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes.put(reader.getAttributeLocalName(i),
+                                       reader.getAttributeValue(i));
+                    }
+                    return new DiagramHeader(reader.getNamespaceURI(),
+                                             reader.getLocalName(),
+                                             attributes);
+                }
+            }
+            throw new XMLStreamException("No root element found.");
+        } finally {
+            reader.close();
+        }
+    }
+
+    public static final class DiagramHeader {
+
+        private final String namespace;
+        private final String element;
+        private final Map<String, String> attributes;
+
+        DiagramHeader(final String namespace,
+                      final String element,
+                      final Map<String, String> attributes) {
+            this.namespace = namespace;
+            this.element = element;
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+
+        public String getNamespace() {
+            return namespace;
+        }
+
+        public String getElement() {
+            return element;
+        }
+
+        public String getId() {
+            return attributes.get("id");
+        }
+
+        public String getName() {
+            return attributes.get("name");
+        }
+
+        public String getAttribute(final String name) {
+            return attributes.get(name);
+        }
+    }
+}
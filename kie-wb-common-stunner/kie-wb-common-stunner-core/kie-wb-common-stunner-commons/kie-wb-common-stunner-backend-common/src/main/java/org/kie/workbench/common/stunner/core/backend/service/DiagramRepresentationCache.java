@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
+
+/**
+ * Keeps the representations of the most recently used diagrams in the VFS, keyed by the diagram's path and the
+ * version of the files they were built from, so listing and looking up diagrams does not have to load them again
+ * until they change. The version is given by the last modified time and size of the diagram file, and of its
+ * metadata file if any. Diagrams that cannot be loaded are kept too, without representation, so they are not
+ * loaded again for every listing either.
+ */
+final class DiagramRepresentationCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private static final String LAST_MODIFIED_TIME = "lastModifiedTime";
+    private static final String SIZE = "size";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16,
+                                                                              0.75f,
+                                                                              true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Returns the representation for the given version of the diagram, which is only loaded if the cached one
+     * is for another version. The loader can return <code>null</code> if the diagram cannot be loaded.
+     */
+    DiagramRepresentation get(final Path path,
+                              final String version,
+                              final Supplier<DiagramRepresentation> loader) {
+        final String key = path.toUri().toString();
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (null != entry && entry.version.equals(version)) {
+                return entry.representation;
+            }
+        }
+        final DiagramRepresentation representation = loader.get();
+        synchronized (entries) {
+            entries.put(key,
+                        new Entry(version,
+                                  representation));
+        }
+        return representation;
+    }
+
+    void remove(final Path path) {
+        synchronized (entries) {
+            entries.remove(path.toUri().toString());
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String getVersion(final FileTime lastModifiedTime,
+                             final long size) {
+        return (null != lastModifiedTime ? lastModifiedTime.toMillis() : 0) + ":" + size;
+    }
+
+    static String getVersion(final Map<String, Object> attributes) {
+        final Object size = attributes.get(SIZE);
+        return getVersion((FileTime) attributes.get(LAST_MODIFIED_TIME),
+                          size instanceof Number ? ((Number) size).longValue() : -1);
+    }
+
+    private static final class Entry {
+
+        private final String version;
+        private final DiagramRepresentation representation;
+
+        private Entry(final String version,
+                      final DiagramRepresentation representation) {
+            this.version = version;
+            this.representation = representation;
+        }
+    }
+}
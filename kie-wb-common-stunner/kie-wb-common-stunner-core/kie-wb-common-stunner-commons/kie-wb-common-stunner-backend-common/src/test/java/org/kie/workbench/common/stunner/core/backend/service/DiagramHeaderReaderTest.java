@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DiagramHeaderReaderTest {
+
+    private DiagramHeaderReader tested;
+
+    @Before
+    public void setup() throws Exception {
+        tested = new DiagramHeaderReader();
+    }
+
+    @Test
+    public void testReadRootElement() throws Exception {
+        final DiagramHeaderReader.DiagramHeader header =
+                tested.read(stream("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                           "<!-- a comment -->\n" +
+                                           "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" id=\"_defs\" name=\"evaluation\">" +
+                                           "<bpmn2:process id=\"evaluation.process\" name=\"process\"/>" +
+                                           "</bpmn2:definitions>"));
+        assertEquals("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                     header.getNamespace());
+        assertEquals("definitions",
+                     header.getElement());
+        assertEquals("_defs",
+                     header.getId());
+        assertEquals("evaluation",
+                     header.getName());
+        assertNull(header.getAttribute("unknown"));
+    }
+
+    @Test
+    public void testReadOnlyTheHeaderOfTruncatedContent() throws Exception {
+        final DiagramHeaderReader.DiagramHeader header =
+                tested.read(stream("<definitions id=\"_defs\"><process id=\"p1\"><task"));
+        assertEquals("_defs",
+                     header.getId());
+        assertNull(header.getName());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testContentIsNotXml() throws Exception {
+        tested.read(stream("{\"name\":\"diagram\"}"));
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testEmptyContent() throws Exception {
+        tested.read(stream(""));
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
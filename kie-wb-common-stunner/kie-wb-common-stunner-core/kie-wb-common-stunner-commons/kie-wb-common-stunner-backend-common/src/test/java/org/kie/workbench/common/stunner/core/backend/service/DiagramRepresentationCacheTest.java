@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DiagramRepresentationCacheTest {
+
+    @Mock
+    private DiagramRepresentation representation;
+
+    private DiagramRepresentationCache tested;
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() throws Exception {
+        tested = new DiagramRepresentationCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testRepresentationIsLoadedOncePerVersion() {
+        final Path path = mockPath("diagram1.bpmn");
+        assertEquals(representation,
+                     tested.get(path,
+                                "1:10",
+                                load(representation)));
+        assertEquals(representation,
+                     tested.get(path,
+                                "1:10",
+                                load(representation)));
+        assertEquals(1,
+                     loads.get());
+        tested.get(path,
+                   "2:10",
+                   load(representation));
+        assertEquals(2,
+                     loads.get());
+    }
+
+    @Test
+    public void testDiagramsThatCannotBeLoadedAreNotLoadedAgain() {
+        final Path path = mockPath("broken.bpmn");
+        assertNull(tested.get(path,
+                              "1:10",
+                              load(null)));
+        assertNull(tested.get(path,
+                              "1:10",
+                              load(null)));
+        assertEquals(1,
+                     loads.get());
+    }
+
+    @Test
+    public void testRemove() {
+        final Path path = mockPath("diagram1.bpmn");
+        tested.get(path,
+                   "1:10",
+                   load(representation));
+        tested.remove(path);
+        tested.get(path,
+                   "1:10",
+                   load(representation));
+        assertEquals(2,
+                     loads.get());
+    }
+
+    @Test
+    public void testEntriesAreBounded() {
+        for (int i = 0; i < DiagramRepresentationCache.MAX_ENTRIES + 10; i++) {
+            tested.get(mockPath("diagram" + i + ".bpmn"),
+                       "1:10",
+                       load(representation));
+        }
+        assertEquals(DiagramRepresentationCache.MAX_ENTRIES,
+                     tested.size());
+    }
+
+    @Test
+    public void testVersion() {
+        final FileTime lastModifiedTime = mock(FileTime.class);
+        when(lastModifiedTime.toMillis()).thenReturn(1000L);
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("lastModifiedTime",
+                       lastModifiedTime);
+        attributes.put("size",
+                       10L);
+        assertEquals("1000:10",
+                     DiagramRepresentationCache.getVersion(attributes));
+        assertEquals(DiagramRepresentationCache.getVersion(lastModifiedTime,
+                                                           10),
+                     DiagramRepresentationCache.getVersion(attributes));
+        assertNotEquals(DiagramRepresentationCache.getVersion(lastModifiedTime,
+                                                              11),
+                        DiagramRepresentationCache.getVersion(attributes));
+    }
+
+    private Supplier<DiagramRepresentation> load(final DiagramRepresentation result) {
+        return () -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static Path mockPath(final String fileName) {
+        final Path path = mock(Path.class);
+        when(path.toUri()).thenReturn(URI.create("default://master@diagrams/" + fileName));
+        return path;
+    }
+}
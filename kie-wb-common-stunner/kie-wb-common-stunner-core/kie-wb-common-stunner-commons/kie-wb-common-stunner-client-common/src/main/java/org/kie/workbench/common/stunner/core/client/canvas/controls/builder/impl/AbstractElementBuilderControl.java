@@ -23,12 +23,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
+import javax.enterprise.event.Observes;
 
 import org.kie.workbench.common.stunner.core.client.api.ClientDefinitionManager;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.AbstractCanvasHandlerControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.ElementBuilderControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.request.ElementBuildRequest;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.util.CanvasLayoutUtils;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManager;
@@ -57,6 +63,8 @@ import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilde
 import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.util.UUID;
 
+import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
+
 public abstract class AbstractElementBuilderControl extends AbstractCanvasHandlerControl<AbstractCanvasHandler>
         implements ElementBuilderControl<AbstractCanvasHandler> {
 
@@ -70,6 +78,8 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     private final GraphBoundsIndexer graphBoundsIndexer;
     private final CanvasLayoutUtils canvasLayoutUtils;
     private RequiresCommandManager.CommandManagerProvider<AbstractCanvasHandler> commandManagerProvider;
+    // The bounds index is built on the first lookup and reused until the canvas elements change.
+    private boolean boundsIndexed;
 
     public AbstractElementBuilderControl(final ClientDefinitionManager clientDefinitionManager,
                                          final ClientFactoryService clientFactoryServices,
@@ -87,6 +97,12 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
         this.canvasLayoutUtils = canvasLayoutUtils;
     }
 
+    @Override
+    public void enable(final AbstractCanvasHandler canvasHandler) {
+        super.enable(canvasHandler);
+        this.boundsIndexed = false;
+    }
+
     @Override
     public void setCommandManagerProvider(final RequiresCommandManager.CommandManagerProvider<AbstractCanvasHandler> provider) {
         this.commandManagerProvider = provider;
@@ -192,6 +208,7 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     @Override
     protected void doDisable() {
         graphBoundsIndexer.destroy();
+        boundsIndexed = false;
         commandManagerProvider = null;
     }
 
@@ -272,8 +289,11 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     public Node<View<?>, Edge> getParent(final double _x,
                                          final double _y) {
         if (_x > -1 && _y > -1) {
-            final String rootUUID = canvasHandler.getDiagram().getMetadata().getCanvasRootUUID();
-            graphBoundsIndexer.setRootUUID(rootUUID).build(canvasHandler.getDiagram().getGraph());
+            if (!boundsIndexed) {
+                final String rootUUID = canvasHandler.getDiagram().getMetadata().getCanvasRootUUID();
+                graphBoundsIndexer.setRootUUID(rootUUID).build(canvasHandler.getDiagram().getGraph());
+                boundsIndexed = true;
+            }
             final Node<View<?>, Edge> r = graphBoundsIndexer.getAt(_x,
                                                                    _y);
             return r;
@@ -281,6 +301,36 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
         return null;
     }
 
+    void onCanvasElementAddedEvent(final @Observes CanvasElementAddedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateBounds(event.getCanvasHandler());
+    }
+
+    void onCanvasElementRemovedEvent(final @Observes CanvasElementRemovedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateBounds(event.getCanvasHandler());
+    }
+
+    void onCanvasElementUpdatedEvent(final @Observes CanvasElementUpdatedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateBounds(event.getCanvasHandler());
+    }
+
+    void onCanvasElementsClearEvent(final @Observes CanvasElementsClearEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateBounds(event.getCanvasHandler());
+    }
+
+    private void invalidateBounds(final CanvasHandler context) {
+        if (null != canvasHandler && canvasHandler.equals(context)) {
+            boundsIndexed = false;
+        }
+    }
+
     public Point2D getChildCoordinates(final Node<View<?>, Edge> parent,
                                        final double _x,
                                        final double _y) {
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.canvas.controls.builder.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.client.api.ClientDefinitionManager;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.util.CanvasLayoutUtils;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
+import org.kie.workbench.common.stunner.core.client.service.ClientFactoryService;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsIndexer;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ElementBuilderControlImplTest {
+
+    private static final String ROOT_UUID = "root-uuid1";
+
+    @Mock
+    private ClientDefinitionManager clientDefinitionManager;
+
+    @Mock
+    private ClientFactoryService clientFactoryServices;
+
+    @Mock
+    private GraphUtils graphUtils;
+
+    @Mock
+    private RuleManager ruleManager;
+
+    @Mock
+    private CanvasCommandFactory<AbstractCanvasHandler> canvasCommandFactory;
+
+    @Mock
+    private GraphBoundsIndexer graphBoundsIndexer;
+
+    @Mock
+    private CanvasLayoutUtils canvasLayoutUtils;
+
+    @Mock
+    private AbstractCanvasHandler canvasHandler;
+
+    @Mock
+    private AbstractCanvasHandler otherCanvasHandler;
+
+    @Mock
+    private Diagram diagram;
+
+    @Mock
+    private Metadata metadata;
+
+    @Mock
+    private Graph graph;
+
+    @Mock
+    private Node parent;
+
+    @Mock
+    private Element element;
+
+    private ElementBuilderControlImpl tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        when(canvasHandler.getDiagram()).thenReturn(diagram);
+        when(diagram.getMetadata()).thenReturn(metadata);
+        when(diagram.getGraph()).thenReturn(graph);
+        when(metadata.getCanvasRootUUID()).thenReturn(ROOT_UUID);
+        when(graphBoundsIndexer.setRootUUID(anyString())).thenReturn(graphBoundsIndexer);
+        when(graphBoundsIndexer.getAt(anyDouble(),
+                                      anyDouble())).thenReturn(parent);
+        tested = new ElementBuilderControlImpl(clientDefinitionManager,
+                                               clientFactoryServices,
+                                               graphUtils,
+                                               ruleManager,
+                                               canvasCommandFactory,
+                                               graphBoundsIndexer,
+                                               canvasLayoutUtils);
+        tested.enable(canvasHandler);
+    }
+
+    @Test
+    public void testBoundsAreIndexedOnceForSeveralLookups() {
+        assertEquals(parent,
+                     tested.getParent(10d,
+                                      20d));
+        assertEquals(parent,
+                     tested.getParent(15d,
+                                      25d));
+        verify(graphBoundsIndexer,
+               times(1)).setRootUUID(ROOT_UUID);
+        verify(graphBoundsIndexer,
+               times(1)).build(graph);
+        verify(graphBoundsIndexer,
+               times(2)).getAt(anyDouble(),
+                               anyDouble());
+    }
+
+    @Test
+    public void testNoLookupForUnknownCoordinates() {
+        assertNull(tested.getParent(-1,
+                                    -1));
+        verify(graphBoundsIndexer,
+               never()).build(any(Graph.class));
+    }
+
+    @Test
+    public void testBoundsAreIndexedAgainAfterElementsChange() {
+        tested.getParent(10d,
+                         20d);
+        tested.onCanvasElementUpdatedEvent(new CanvasElementUpdatedEvent(canvasHandler,
+                                                                         element));
+        tested.getParent(10d,
+                         20d);
+        verify(graphBoundsIndexer,
+               times(2)).build(graph);
+    }
+
+    @Test
+    public void testChangesOnOtherCanvasesAreIgnored() {
+        tested.getParent(10d,
+                         20d);
+        tested.onCanvasElementUpdatedEvent(new CanvasElementUpdatedEvent(otherCanvasHandler,
+                                                                         element));
+        tested.getParent(10d,
+                         20d);
+        verify(graphBoundsIndexer,
+               times(1)).build(graph);
+    }
+
+    @Test
+    public void testBoundsAreIndexedAgainAfterEnablingAgain() {
+        tested.getParent(10d,
+                         20d);
+        tested.disable();
+        tested.enable(canvasHandler);
+        tested.getParent(10d,
+                         20d);
+        verify(graphBoundsIndexer,
+               times(2)).build(graph);
+    }
+}
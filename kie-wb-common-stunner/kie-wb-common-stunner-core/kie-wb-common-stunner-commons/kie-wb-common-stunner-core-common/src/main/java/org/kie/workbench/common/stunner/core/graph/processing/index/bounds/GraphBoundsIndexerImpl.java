@@ -37,6 +37,8 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private final NodeBoundsGrid<Node<View, Edge>> nodesGrid = new NodeBoundsGrid<>();
+    private boolean indexed = false;
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
 
@@ -48,6 +50,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        clearIndex();
         return this;
     }
 
@@ -102,7 +105,20 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
+        if (!indexed) {
+            buildIndex();
+        }
+        final Node result = nodesGrid.getAt(x,
+                                            y);
+        return result;
+    }
+
+    /**
+     * Traverses the graph once and keeps the absolute bounds of every node, so subsequent
+     * lookups (eg: on each mouse move during a drag) do not traverse the graph again.
+     */
+    private void buildIndex() {
+        nodesGrid.clear();
         childrenTraverseProcessor.traverse(graph,
                                            new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
 
@@ -110,16 +126,30 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                                                public void onNodeTraverse(final Node<View, Edge> node,
                                                                           final double parentX,
                                                                           final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
+                                                   if (isRoot(node)) {
+                                                       nodesGrid.addMatchAll(node);
+                                                   } else {
+                                                       final double[] absCoords = getNodeAbsoluteCoordinates(node,
+                                                                                                             parentX,
+                                                                                                             parentY);
+                                                       nodesGrid.add(node,
+                                                                     absCoords[0],
+                                                                     absCoords[1],
+                                                                     absCoords[2],
+                                                                     absCoords[3]);
                                                    }
                                                }
                                            }));
-        return result[0];
+        indexed = true;
+    }
+
+    private void clearIndex() {
+        nodesGrid.clear();
+        indexed = false;
+    }
+
+    private boolean isRoot(final Node node) {
+        return null != rootUUID && node.getUUID().equals(rootUUID);
     }
 
     private abstract class NodeBoundsTraverseCallback {
@@ -197,36 +227,16 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        clearIndex();
         return this;
     }
 
     @Override
     public void destroy() {
+        clearIndex();
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
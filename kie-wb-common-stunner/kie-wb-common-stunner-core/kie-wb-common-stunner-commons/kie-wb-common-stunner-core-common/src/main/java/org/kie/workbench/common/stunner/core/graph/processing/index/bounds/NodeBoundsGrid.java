@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over absolute element bounds. Point queries only test the elements which bounds overlap the
+ * grid cell that contains the point. Elements are ordered by insertion, so for overlapping bounds the element
+ * added last (the top-most one in the traversal order) wins.
+ */
+class NodeBoundsGrid<T> {
+
+    static final double DEFAULT_CELL_SIZE = 100d;
+
+    // Elements spanning more cells than this (eg: lanes, big containers) are kept apart and always tested.
+    private static final int MAX_CELLS_PER_ELEMENT = 256;
+
+    private final double cellSize;
+    private final List<T> elements = new ArrayList<>();
+    private final List<double[]> bounds = new ArrayList<>();
+    private final Map<Long, List<Integer>> cells = new HashMap<>();
+    private final List<Integer> oversized = new ArrayList<>();
+    private int matchAllIndex = -1;
+
+    NodeBoundsGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    NodeBoundsGrid(final double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    void add(final T element,
+             final double ulX,
+             final double ulY,
+             final double lrX,
+             final double lrY) {
+        final int index = register(element,
+                                   new double[]{ulX, ulY, lrX, lrY});
+        final int minCellX = cell(ulX);
+        final int minCellY = cell(ulY);
+        final int maxCellX = cell(lrX);
+        final int maxCellY = cell(lrY);
+        final long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        if (cellCount > MAX_CELLS_PER_ELEMENT) {
+            oversized.add(index);
+            return;
+        }
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                cells.computeIfAbsent(key(cx,
+                                          cy),
+                                      k -> new ArrayList<>()).add(index);
+            }
+        }
+    }
+
+    /**
+     * Adds an element that matches any point, whatever its bounds are (eg: the canvas root).
+     */
+    void addMatchAll(final T element) {
+        matchAllIndex = register(element,
+                                 null);
+    }
+
+    T getAt(final double x,
+            final double y) {
+        int result = matchAllIndex;
+        final List<Integer> candidates = cells.get(key(cell(x),
+                                                       cell(y)));
+        if (null != candidates) {
+            result = Math.max(result,
+                              findLast(candidates,
+                                       x,
+                                       y));
+        }
+        result = Math.max(result,
+                          findLast(oversized,
+                                   x,
+                                   y));
+        return result > -1 ? elements.get(result) : null;
+    }
+
+    int size() {
+        return elements.size();
+    }
+
+    void clear() {
+        elements.clear();
+        bounds.clear();
+        cells.clear();
+        oversized.clear();
+        matchAllIndex = -1;
+    }
+
+    private int register(final T element,
+                         final double[] elementBounds) {
+        elements.add(element);
+        bounds.add(elementBounds);
+        return elements.size() - 1;
+    }
+
+    private int findLast(final List<Integer> indexes,
+                         final double x,
+                         final double y) {
+        for (int i = indexes.size() - 1; i >= 0; i--) {
+            final int index = indexes.get(i);
+            final double[] b = bounds.get(index);
+            if (x >= b[0] && x <= b[2] && y >= b[1] && y <= b[3]) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int cell(final double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static long key(final int cx,
+                            final int cy) {
+        return (((long) cx) << 32) | (cy & 0xffffffffL);
+    }
+}
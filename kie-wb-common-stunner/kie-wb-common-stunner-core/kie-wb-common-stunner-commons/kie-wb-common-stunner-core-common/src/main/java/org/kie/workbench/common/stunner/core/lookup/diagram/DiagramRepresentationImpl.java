@@ -20,6 +20,7 @@ import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.NonPortable;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.uberfire.backend.vfs.Path;
 
 @Portable
@@ -79,18 +80,31 @@ public final class DiagramRepresentationImpl implements DiagramRepresentation {
     @NonPortable
     public static final class DiagramRepresentationBuilder {
 
-        private final Diagram diagram;
+        private final String name;
+        private final Metadata metadata;
         private final DiagramRepresentation representation;
         private String shapeSetId;
 
         public DiagramRepresentationBuilder(final Diagram diagram) {
-            this.diagram = diagram;
+            this(diagram.getName(),
+                 diagram.getMetadata());
+        }
+
+        /**
+         * Builds the representation for the diagram with the given name and metadata, without having to load
+         * the diagram itself.
+         */
+        public DiagramRepresentationBuilder(final String name,
+                                            final Metadata metadata) {
+            this.name = name;
+            this.metadata = metadata;
             this.representation = null;
         }
 
         public DiagramRepresentationBuilder(final DiagramRepresentation representation) {
             this.representation = representation;
-            this.diagram = null;
+            this.name = null;
+            this.metadata = null;
         }
 
         public DiagramRepresentationBuilder setShapeSetId(final String shapeSetId) {
@@ -99,13 +113,13 @@ public final class DiagramRepresentationImpl implements DiagramRepresentation {
         }
 
         public DiagramRepresentation build() {
-            if (null != diagram) {
-                return new DiagramRepresentationImpl(diagram.getName(),
-                                                     diagram.getMetadata().getTitle(),
-                                                     diagram.getMetadata().getDefinitionSetId(),
-                                                     null != shapeSetId ? shapeSetId : diagram.getMetadata().getShapeSetId(),
-                                                     diagram.getMetadata().getPath(),
-                                                     diagram.getMetadata().getThumbData());
+            if (null != metadata) {
+                return new DiagramRepresentationImpl(name,
+                                                     metadata.getTitle(),
+                                                     metadata.getDefinitionSetId(),
+                                                     null != shapeSetId ? shapeSetId : metadata.getShapeSetId(),
+                                                     metadata.getPath(),
+                                                     metadata.getThumbData());
             }
             return new DiagramRepresentationImpl(representation.getName(),
                                                  representation.getTitle(),
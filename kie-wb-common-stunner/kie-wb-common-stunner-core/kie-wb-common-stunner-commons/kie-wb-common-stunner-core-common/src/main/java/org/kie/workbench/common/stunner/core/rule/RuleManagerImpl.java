@@ -16,10 +16,17 @@
 
 package org.kie.workbench.common.stunner.core.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -36,16 +43,28 @@ import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull
 public class RuleManagerImpl implements RuleManager {
 
     private static Logger LOGGER = Logger.getLogger(RuleManagerImpl.class.getName());
+    private static final int MAX_INDEXED_RULE_SETS = 32;
 
     private final RuleHandlerRegistry registry;
 
+    /*
+        Rules and handlers are indexed on first use, so each evaluation only visits the
+        rules that some handler for the context type is able to evaluate:
+        - Handlers by context type and then by rule type.
+        - Rules by rule set and then by rule type (extensions are kept apart). Rule sets are
+        expected to be immutable once built, as the ones provided by the definition set adapters.
+        Any change on the registry clears the indexes.
+     */
+    private final Map<Class<?>, Map<Class<?>, List<RuleEvaluationHandler>>> handlersIndex = new HashMap<>();
+    private final Map<RuleSet, RuleSetIndex> ruleSetIndex = new HashMap<>();
+
     protected RuleManagerImpl() {
         this(null);
     }
 
     @Inject
     public RuleManagerImpl(final RegistryFactory registryFactory) {
-        this.registry = null != registryFactory ? registryFactory.newRuleHandlerRegistry() : null;
+        this.registry = null != registryFactory ? new IndexedRuleHandlerRegistry(registryFactory.newRuleHandlerRegistry()) : null;
     }
 
     @Override
@@ -66,23 +85,50 @@ public class RuleManagerImpl implements RuleManager {
         final DefaultRuleViolations results = new DefaultRuleViolations();
         final boolean hasRules = ruleSet.getRules().iterator().hasNext();
         if (hasRules) {
-            final boolean[] hasEvaluations = {false};
-            ruleSet.getRules().forEach(rule -> {
-                final Optional<RuleViolations> violations = evaluate(rule,
-                                                                     context);
-                if (violations.isPresent()) {
-                    hasEvaluations[0] = true;
-                    LOGGER.info("Rule Evaluation [" + rule + ", " + violations + "]");
-                    results.addViolations(violations.get());
+            final RuleSetIndex rules = getRuleSetIndex(ruleSet);
+            boolean hasEvaluations = false;
+            final Map<Class<?>, List<RuleEvaluationHandler>> handlersByRuleType = getHandlersByRuleType(context.getType());
+            try {
+                for (final Map.Entry<Class<?>, List<RuleEvaluationHandler>> entry : handlersByRuleType.entrySet()) {
+                    for (final Rule rule : rules.getRules(entry.getKey())) {
+                        hasEvaluations |= addViolations(rule,
+                                                        evaluateRule(rule,
+                                                                     context,
+                                                                     entry.getValue()),
+                                                        results);
+                    }
                 }
-            });
-            if (!hasEvaluations[0] && context.isDefaultDeny()) {
+            } finally {
+                completeEvaluation(handlersByRuleType,
+                                   context);
+            }
+            for (final RuleExtension extension : rules.getExtensions()) {
+                hasEvaluations |= addViolations(extension,
+                                                evaluateExtension(extension,
+                                                                  context),
+                                                results);
+            }
+            if (!hasEvaluations && context.isDefaultDeny()) {
                 return getDefaultViolationForContext(context);
             }
         }
         return results;
     }
 
+    private boolean addViolations(final Rule rule,
+                                  final Optional<RuleViolations> violations,
+                                  final DefaultRuleViolations results) {
+        if (violations.isPresent()) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST,
+                           "Rule Evaluation [" + rule + ", " + violations + "]");
+            }
+            results.addViolations(violations.get());
+            return true;
+        }
+        return false;
+    }
+
     private RuleViolations getDefaultViolationForContext(final RuleEvaluationContext context) {
         return new DefaultRuleViolations().addViolation(
                 new ContextOperationNotAllowedViolation(context)
@@ -94,32 +140,31 @@ public class RuleManagerImpl implements RuleManager {
         return registry;
     }
 
-    private Optional<RuleViolations> evaluate(final Rule rule,
-                                              final RuleEvaluationContext context) {
-        if (rule instanceof RuleExtension) {
-            return evaluateExtension((RuleExtension) rule,
-                                     context);
+    @SuppressWarnings("unchecked")
+    private Optional<RuleViolations> evaluateRule(final Rule rule,
+                                                  final RuleEvaluationContext context,
+                                                  final List<RuleEvaluationHandler> candidates) {
+        final DefaultRuleViolations results = new DefaultRuleViolations();
+        boolean accepted = false;
+        for (final RuleEvaluationHandler handler : candidates) {
+            if (handler.accepts(rule,
+                                context)) {
+                accepted = true;
+                results.addViolations(handler.evaluate(rule,
+                                                       context));
+            }
         }
-        return evaluateRule(rule,
-                            context);
+        return accepted ? Optional.of(results) : Optional.empty();
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateRule(final Rule rule,
-                                                  final RuleEvaluationContext context) {
-        checkNotNull("rule",
-                     rule);
-        checkNotNull("context",
-                     context);
-        final Collection<RuleEvaluationHandler> handlers = getHandler(rule,
-                                                                      context);
-        final DefaultRuleViolations results = new DefaultRuleViolations();
-        if (!handlers.isEmpty()) {
-            handlers.forEach(h -> results.addViolations(h.evaluate(rule,
-                                                                   context)));
-            return Optional.of(results);
+    private void completeEvaluation(final Map<Class<?>, List<RuleEvaluationHandler>> handlersByRuleType,
+                                    final RuleEvaluationContext context) {
+        for (final List<RuleEvaluationHandler> handlers : handlersByRuleType.values()) {
+            for (final RuleEvaluationHandler handler : handlers) {
+                handler.onEvaluationCompleted(context);
+            }
         }
-        return Optional.empty();
     }
 
     @SuppressWarnings("unchecked")
@@ -135,14 +180,64 @@ public class RuleManagerImpl implements RuleManager {
                                                                         context)) : Optional.empty();
     }
 
-    private Collection<RuleEvaluationHandler> getHandler(final Rule rule,
-                                                         final RuleEvaluationContext context) {
-        final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(context.getType());
-        return handlers.stream()
-                .filter(h -> accepts(h,
-                                     rule,
-                                     context))
-                .collect(Collectors.toList());
+    /**
+     * Returns the handlers for the given context type grouped by the type of the rules they evaluate.
+     * Handler acceptance is based on:
+     * 1- Rule and context types - for performance and computing purposes, resolved once per context type.
+     * 2- Once types are known accepted - do a second acceptance evaluation based
+     * on the context's state at runtime.
+     * 3.- Once 1) AND 2) - the handler is able to perform more complex runtime
+     * evaluation, the evaluation can be delegated to it.
+     */
+    private Map<Class<?>, List<RuleEvaluationHandler>> getHandlersByRuleType(final Class<?> contextType) {
+        synchronized (handlersIndex) {
+            Map<Class<?>, List<RuleEvaluationHandler>> handlersByRuleType = handlersIndex.get(contextType);
+            if (null == handlersByRuleType) {
+                handlersByRuleType = new LinkedHashMap<>();
+                final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(contextType);
+                if (null != handlers) {
+                    for (final RuleEvaluationHandler handler : handlers) {
+                        if (acceptsContextType(handler,
+                                               contextType)) {
+                            List<RuleEvaluationHandler> ruleTypeHandlers = handlersByRuleType.get(handler.getRuleType());
+                            if (null == ruleTypeHandlers) {
+                                ruleTypeHandlers = new LinkedList<>();
+                                handlersByRuleType.put(handler.getRuleType(),
+                                                       ruleTypeHandlers);
+                            }
+                            ruleTypeHandlers.add(handler);
+                        }
+                    }
+                }
+                handlersIndex.put(contextType,
+                                  handlersByRuleType);
+            }
+            return handlersByRuleType;
+        }
+    }
+
+    private RuleSetIndex getRuleSetIndex(final RuleSet ruleSet) {
+        synchronized (ruleSetIndex) {
+            RuleSetIndex index = ruleSetIndex.get(ruleSet);
+            if (null == index) {
+                if (ruleSetIndex.size() >= MAX_INDEXED_RULE_SETS) {
+                    ruleSetIndex.clear();
+                }
+                index = new RuleSetIndex(ruleSet);
+                ruleSetIndex.put(ruleSet,
+                                 index);
+            }
+            return index;
+        }
+    }
+
+    private void clearIndexes() {
+        synchronized (handlersIndex) {
+            handlersIndex.clear();
+        }
+        synchronized (ruleSetIndex) {
+            ruleSetIndex.clear();
+        }
     }
 
     private Optional<RuleExtensionHandler> getExtensionHandler(final RuleExtension rule,
@@ -154,22 +249,99 @@ public class RuleManagerImpl implements RuleManager {
                            context) ? Optional.of(handler) : Optional.empty();
     }
 
-    /**
-     * Handler acceptance based on:
-     * 1- Rule and context types - for performance and computing purposes.
-     * 2- Once types are known accepted - do a second acceptance evaluation based
-     * on the context's state at runtime.
-     * 3.- Once 1) AND 2) - the handler is able to perform more complex runtime
-     * evaluation, the evaluation can be delegated to it.
-     */
+    private boolean acceptsContextType(final RuleEvaluationHandler handler,
+                                       final Class<?> contextType) {
+        return handler.getContextType().equals(contextType)
+                || RuleEvaluationContext.class.equals(handler.getContextType());
+    }
+
     @SuppressWarnings("unchecked")
     private boolean accepts(final RuleEvaluationHandler handler,
                             final Rule rule,
                             final RuleEvaluationContext context) {
         return handler.getRuleType().equals(rule.getClass())
-                && (handler.getContextType().equals(context.getType())
-                || RuleEvaluationContext.class.equals(handler.getContextType()))
+                && acceptsContextType(handler,
+                                      context.getType())
                 && handler.accepts(rule,
                                    context);
     }
+
+    /**
+     * The rules of a rule set, indexed by rule type.
+     */
+    private static class RuleSetIndex {
+
+        private final Map<Class<?>, List<Rule>> rulesByType = new HashMap<>();
+        private final List<RuleExtension> extensions = new ArrayList<>();
+
+        private RuleSetIndex(final RuleSet ruleSet) {
+            for (final Rule rule : ruleSet.getRules()) {
+                if (rule instanceof RuleExtension) {
+                    extensions.add((RuleExtension) rule);
+                } else {
+                    List<Rule> rules = rulesByType.get(rule.getClass());
+                    if (null == rules) {
+                        rules = new ArrayList<>();
+                        rulesByType.put(rule.getClass(),
+                                        rules);
+                    }
+                    rules.add(rule);
+                }
+            }
+        }
+
+        private List<Rule> getRules(final Class<?> ruleType) {
+            final List<Rule> rules = rulesByType.get(ruleType);
+            return null != rules ? rules : Collections.emptyList();
+        }
+
+        private List<RuleExtension> getExtensions() {
+            return extensions;
+        }
+    }
+
+    /**
+     * Clears the rule and handler indexes whenever the handlers registered change.
+     */
+    private class IndexedRuleHandlerRegistry implements RuleHandlerRegistry {
+
+        private final RuleHandlerRegistry delegate;
+
+        private IndexedRuleHandlerRegistry(final RuleHandlerRegistry delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Collection<RuleEvaluationHandler> getHandlersByContext(final Class<?> context) {
+            return delegate.getHandlersByContext(context);
+        }
+
+        @Override
+        public <T extends RuleExtensionHandler> T getExtensionHandler(final Class<T> type) {
+            return delegate.getExtensionHandler(type);
+        }
+
+        @Override
+        public void register(final RuleEvaluationHandler item) {
+            delegate.register(item);
+            clearIndexes();
+        }
+
+        @Override
+        public boolean remove(final RuleEvaluationHandler item) {
+            final boolean removed = delegate.remove(item);
+            clearIndexes();
+            return removed;
+        }
+
+        @Override
+        public boolean contains(final RuleEvaluationHandler item) {
+            return delegate.contains(item);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+    }
 }
@@ -43,6 +43,12 @@ public class ElementCardinalityEvaluationHandler implements RuleEvaluationHandle
     private final CardinalityEvaluationHandler cardinalityEvaluationHandler;
     private final GraphEvaluationHandlerUtils evalUtils;
 
+    // The label count of the graph for the context being evaluated. The rule manager evaluates
+    // all the occurrences rules against the same context, so the graph is scanned just once.
+    // It's released once the evaluation completes, so neither the context nor its graph are retained.
+    private ElementCardinalityContext labelCountContext;
+    private Map<String, Integer> labelCount;
+
     protected ElementCardinalityEvaluationHandler() {
         this(null,
              null);
@@ -89,11 +95,11 @@ public class ElementCardinalityEvaluationHandler implements RuleEvaluationHandle
         final Optional<Element<? extends View<?>>> candidate = context.getCandidate();
         final String role = rule.getRole();
         final Set<String> roles = Collections.singleton(role);
-        final Map<String, Integer> graphLabelCount = countLabels(context.getGraph(),
-                                                                 roles);
+        final Map<String, Integer> graphLabelCount = getLabelCount(context);
         // Ensure processing the role even if not used along the graph, so
         // cardinality min rules can be evaluated.
-        final int count = graphLabelCount.isEmpty() ? 0 : graphLabelCount.get(role);
+        final Integer roleCount = graphLabelCount.get(role);
+        final int count = null != roleCount ? roleCount : 0;
         final Optional<CardinalityContext.Operation> operation = context.getOperation();
         results.addViolations(
                 cardinalityEvaluationHandler
@@ -109,6 +115,23 @@ public class ElementCardinalityEvaluationHandler implements RuleEvaluationHandle
         return results;
     }
 
+    @Override
+    public synchronized void onEvaluationCompleted(final ElementCardinalityContext context) {
+        if (context == labelCountContext) {
+            labelCountContext = null;
+            labelCount = null;
+        }
+    }
+
+    private synchronized Map<String, Integer> getLabelCount(final ElementCardinalityContext context) {
+        if (context != labelCountContext) {
+            labelCount = countLabels(context.getGraph(),
+                                     null);
+            labelCountContext = context;
+        }
+        return labelCount;
+    }
+
     Map<String, Integer> countLabels(final Graph<?, ? extends Node> target,
                                      final Set<String> filter) {
         return GraphUtils.getLabelsCount(target,
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseCallback;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphBoundsIndexerImplTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private ChildrenTraverseProcessor childrenTraverseProcessor;
+    private GraphBoundsIndexerImpl tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        final ChildrenTraverseProcessor processor = new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl());
+        this.childrenTraverseProcessor = mock(ChildrenTraverseProcessor.class);
+        doAnswer(invocation -> {
+            processor.traverse((Graph) invocation.getArguments()[0],
+                               (ChildrenTraverseCallback) invocation.getArguments()[1]);
+            return null;
+        }).when(childrenTraverseProcessor).traverse(any(Graph.class),
+                                                    any(ChildrenTraverseCallback.class));
+        this.tested = new GraphBoundsIndexerImpl(childrenTraverseProcessor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAt() {
+        final Node node1 = newNode("node1",
+                                   0,
+                                   0,
+                                   100,
+                                   100);
+        final Node node2 = newNode("node2",
+                                   300,
+                                   300,
+                                   100,
+                                   100);
+        tested.build((Graph) graphTestHandler.graph);
+
+        assertEquals(node1,
+                     tested.getAt(50,
+                                  50));
+        assertEquals(node2,
+                     tested.getAt(350,
+                                  400));
+        assertNull(tested.getAt(200,
+                                200));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAtChildUsesAbsoluteCoordinates() {
+        final Node parent = newNode("parent",
+                                    1000,
+                                    1000,
+                                    600,
+                                    600);
+        final Node child = newNode("child",
+                                   100,
+                                   100,
+                                   50,
+                                   50);
+        graphTestHandler.setChild(parent,
+                                  child);
+        tested.build((Graph) graphTestHandler.graph);
+
+        assertEquals(child,
+                     tested.getAt(1120,
+                                  1120));
+        assertEquals(parent,
+                     tested.getAt(1020,
+                                  1020));
+        assertEquals(parent,
+                     tested.getAt(1500,
+                                  1500));
+        assertNull(tested.getAt(120,
+                                120));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAtRootMatchesAnyPoint() {
+        final Node root = newNode("root",
+                                  0,
+                                  0,
+                                  10,
+                                  10);
+        final Node child = newNode("child",
+                                   500,
+                                   500,
+                                   50,
+                                   50);
+        graphTestHandler.setChild(root,
+                                  child);
+        tested.setRootUUID("root").build((Graph) graphTestHandler.graph);
+
+        assertEquals(root,
+                     tested.getAt(5000,
+                                  5000));
+        assertEquals(child,
+                     tested.getAt(520,
+                                  520));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGraphIsTraversedOnlyOncePerBuild() {
+        newNode("node1",
+                0,
+                0,
+                100,
+                100);
+        tested.build((Graph) graphTestHandler.graph);
+        for (int i = 0; i < 100; i++) {
+            tested.getAt(i,
+                         i);
+        }
+        verify(childrenTraverseProcessor,
+               times(1)).traverse(any(Graph.class),
+                                  any(ChildrenTraverseCallback.class));
+
+        tested.build((Graph) graphTestHandler.graph);
+        tested.getAt(0,
+                     0);
+        verify(childrenTraverseProcessor,
+               times(2)).traverse(any(Graph.class),
+                                  any(ChildrenTraverseCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAtOversizedNode() {
+        final Node lane = newNode("lane",
+                                  0,
+                                  0,
+                                  10000,
+                                  10000);
+        final Node task = newNode("task",
+                                  9000,
+                                  9000,
+                                  100,
+                                  100);
+        tested.build((Graph) graphTestHandler.graph);
+
+        assertEquals(lane,
+                     tested.getAt(5000,
+                                  5000));
+        assertEquals(task,
+                     tested.getAt(9050,
+                                  9050));
+    }
+
+    private Node newNode(final String uuid,
+                         final double x,
+                         final double y,
+                         final double w,
+                         final double h) {
+        return graphTestHandler.newViewNode(uuid,
+                                            Optional.empty(),
+                                            x,
+                                            y,
+                                            w,
+                                            h);
+    }
+}
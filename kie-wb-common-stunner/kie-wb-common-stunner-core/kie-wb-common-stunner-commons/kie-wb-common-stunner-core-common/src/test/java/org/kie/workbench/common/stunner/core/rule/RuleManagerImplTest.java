@@ -260,4 +260,57 @@ public class RuleManagerImplTest {
         assertTrue(violations.contains(ruleViolation2));
         assertTrue(violations.contains(ruleViolation3));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlersAreResolvedOncePerContextType() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        verify(registry,
+               times(1)).getHandlersByContext(any(Class.class));
+        tested.registry().register(mock(RuleEvaluationHandler.class));
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        verify(registry,
+               times(2)).getHandlersByContext(any(Class.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlersNotAskedForOtherRuleTypes() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        when(handler2.getRuleType()).thenReturn(RuleExtension.class);
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler1.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations1);
+        final RuleViolations result = tested.evaluate(ruleSet,
+                                                      ruleEvaluationContext);
+        final Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertEquals(1,
+                     violations.size());
+        assertTrue(violations.contains(ruleViolation1));
+        verify(handler2,
+               never()).accepts(any(Rule.class),
+                                any(RuleEvaluationContext.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlersNotifiedOnceEvaluationCompleted() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler1.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations1);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        verify(handler1,
+               times(1)).onEvaluationCompleted(eq(ruleEvaluationContext));
+    }
 }
@@ -288,4 +288,30 @@ public class ElementCardinalityEvaluationHandlerTest extends AbstractGraphRuleHa
         assertNotNull(violations);
         assertTrue(violations.violations(RuleViolation.Type.WARNING).iterator().hasNext());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLabelCountReleasedOnceEvaluationCompleted() {
+        final Map<String, Integer> count = new HashMap<String, Integer>(1) {{
+            put(CANDIDATE_ROLE1,
+                1);
+        }};
+        doReturn(count).when(tested).countLabels(any(Graph.class),
+                                                 anySet());
+        when(context.getCandidate()).thenReturn(Optional.empty());
+        when(context.getOperation()).thenReturn(Optional.empty());
+        tested.evaluate(RULE_NO_LIMIT,
+                        context);
+        tested.evaluate(RULE_MAX_1,
+                        context);
+        verify(tested,
+               times(1)).countLabels(any(Graph.class),
+                                     anySet());
+        tested.onEvaluationCompleted(context);
+        tested.evaluate(RULE_NO_LIMIT,
+                        context);
+        verify(tested,
+               times(2)).countLabels(any(Graph.class),
+                                     anySet());
+    }
 }
@@ -16,7 +16,9 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
 import javax.enterprise.inject.Instance;
 
@@ -24,6 +26,7 @@ import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
 import org.kie.workbench.common.stunner.core.backend.service.AbstractVFSDiagramService;
 import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
@@ -128,11 +131,15 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                      final Map<String, ?> attributes,
                      final OpenOption... comment) {
         try {
-            String[] raw = serizalize(diagram);
+            final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            serialize(diagram,
+                      raw,
+                      attributes);
             getIoService().write(Paths.convert(path),
-                                 raw[0],
-                                 attributes,
+                                 raw.toByteArray(),
+                                 getFileAttributes(attributes),
                                  comment);
+            invalidateDiagramRepresentation(path);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
@@ -141,9 +148,19 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
         return path;
     }
 
+    // The save options are not stored as file attributes.
+    private Map<String, ?> getFileAttributes(final Map<String, ?> attributes) {
+        if (null == attributes || !attributes.containsKey(DiagramMarshaller.FORMAT_OPTION)) {
+            return attributes;
+        }
+        final Map<String, Object> fileAttributes = new HashMap<>(attributes);
+        fileAttributes.remove(DiagramMarshaller.FORMAT_OPTION);
+        return fileAttributes;
+    }
+
     @Override
     protected ProjectMetadata doSave(final ProjectDiagram diagram,
-                                     final String raw,
+                                     final byte[] raw,
                                      final String metadata) {
         try {
             Path _path = diagram.getMetadata().getPath();
@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.bpmn.backend;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -116,6 +117,25 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         return result;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void marshall(final Diagram diagram,
+                         final OutputStream output) throws IOException {
+        LOG.debug("Starting diagram marshalling...");
+
+        final Bpmn2Marshaller marshaller = new Bpmn2Marshaller(definitionManager,
+                                                               oryxManager);
+        // Marshall the diagram definition
+        marshaller.marshall(diagram,
+                            output);
+
+        // Update diagram's settings.
+        updateRootUUID(diagram.getMetadata(),
+                       diagram.getGraph());
+
+        LOG.debug("Diagram marshalling finished successfully.");
+    }
+
     public JBPMBpmn2ResourceImpl marshallToBpmn2Resource(final Diagram<Graph, Metadata> diagram) throws IOException {
         final Bpmn2Marshaller marshaller = new Bpmn2Marshaller(definitionManager,
                                                                oryxManager);
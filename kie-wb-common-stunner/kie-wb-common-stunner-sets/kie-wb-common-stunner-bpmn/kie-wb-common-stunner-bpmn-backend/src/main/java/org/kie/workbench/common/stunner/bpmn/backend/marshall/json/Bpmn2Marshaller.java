@@ -18,10 +18,10 @@ package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 
 import bpsim.impl.BpsimFactoryImpl;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.jboss.drools.impl.DroolsFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonUnmarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
@@ -45,11 +45,23 @@ public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
     }
 
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
-        JBPMBpmn2ResourceImpl res = marshallToBpmn2Resource(diagram);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        res.save(outputStream,
+        marshall(diagram,
+                 outputStream);
+        return outputStream.toString("UTF-8");
+    }
+
+    /**
+     * Writes the BPMN2 XML for the diagram into the given stream, which is not closed. The HTML entities the
+     * resource serializes are unescaped while writing, so no copy of the whole XML is held in memory.
+     */
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream outputStream) throws IOException {
+        JBPMBpmn2ResourceImpl res = marshallToBpmn2Resource(diagram);
+        HtmlUnescapingOutputStream unescapingStream = new HtmlUnescapingOutputStream(outputStream);
+        res.save(unescapingStream,
                  new HashMap<>());
-        return StringEscapeUtils.unescapeHtml4(outputStream.toString("UTF-8"));
+        unescapingStream.finish();
     }
 
     public JBPMBpmn2ResourceImpl marshallToBpmn2Resource(final Diagram<Graph, Metadata> diagram) throws IOException {
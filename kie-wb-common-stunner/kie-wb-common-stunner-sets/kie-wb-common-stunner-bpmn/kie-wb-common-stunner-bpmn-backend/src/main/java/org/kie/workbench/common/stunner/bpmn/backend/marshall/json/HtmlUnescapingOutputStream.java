@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * Unescapes the HTML 4 entities of the UTF-8 content written through it, as
+ * <code>StringEscapeUtils.unescapeHtml4</code> does for a whole string, but without holding the content in memory.
+ * Only the characters of a possible entity, from its <code>&amp;</code> up to its <code>;</code>, are buffered.
+ */
+class HtmlUnescapingOutputStream extends FilterOutputStream {
+
+    private final ByteArrayOutputStream entity = new ByteArrayOutputStream(16);
+    private boolean inEntity = false;
+
+    HtmlUnescapingOutputStream(final OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (inEntity) {
+            if (b == ';') {
+                entity.write(b);
+                writeEntity();
+                return;
+            }
+            if (isEntityChar(b)) {
+                entity.write(b);
+                return;
+            }
+            writeRawEntity();
+        }
+        if (b == '&') {
+            inEntity = true;
+            entity.write(b);
+        } else {
+            out.write(b);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b,
+                      final int off,
+                      final int len) throws IOException {
+        int start = off;
+        final int end = off + len;
+        for (int i = off; i < end; i++) {
+            if (inEntity || b[i] == '&') {
+                if (i > start) {
+                    out.write(b,
+                              start,
+                              i - start);
+                }
+                write(b[i]);
+                start = i + 1;
+            }
+        }
+        if (end > start) {
+            out.write(b,
+                      start,
+                      end - start);
+        }
+    }
+
+    /**
+     * Writes any pending characters as they are, as no entity can end the content, and flushes the stream.
+     */
+    public void finish() throws IOException {
+        if (inEntity) {
+            writeRawEntity();
+        }
+        flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void writeEntity() throws IOException {
+        final String raw = new String(entity.toByteArray(),
+                                      StandardCharsets.US_ASCII);
+        out.write(StringEscapeUtils.unescapeHtml4(raw).getBytes(StandardCharsets.UTF_8));
+        entity.reset();
+        inEntity = false;
+    }
+
+    private void writeRawEntity() throws IOException {
+        entity.writeTo(out);
+        entity.reset();
+        inEntity = false;
+    }
+
+    // Named and numeric entities only consist of these characters between the '&' and the ';'.
+    private static boolean isEntityChar(final int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '#';
+    }
+}
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 
 import org.codehaus.jackson.Base64Variant;
@@ -193,11 +195,27 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
         Graph<DefinitionSet, Node> graph;
         Index<?, ?> index;
+        GraphCommandExecutionContext executionContext;
+        final Map<String, GraphObjectBuilder<?, ?>> buildersById = new HashMap<>();
 
         @Override
         public GraphObjectBuilder.BuilderContext init(final Graph<DefinitionSet, Node> graph) {
             this.graph = graph;
             this.index = indexBuilder.build(graph);
+            this.executionContext = new EmptyRulesCommandExecutionContext(definitionManager,
+                                                                          factoryManager,
+                                                                          ruleManager,
+                                                                          index);
+            // All builders are known once the generator is closed, index them so lookups
+            // of outgoing and child nodes do not scan every builder.
+            buildersById.clear();
+            for (GraphObjectBuilder<?, ?> builder : builders) {
+                final String nodeId = ((AbstractObjectBuilder<?, ?>) builder).nodeId;
+                if (null != nodeId) {
+                    buildersById.putIfAbsent(nodeId,
+                                             builder);
+                }
+            }
             return this;
         }
 
@@ -211,6 +229,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return builders;
         }
 
+        @Override
+        public GraphObjectBuilder<?, ?> getBuilder(final String nodeId) {
+            return buildersById.get(nodeId);
+        }
+
         @Override
         public DefinitionManager getDefinitionManager() {
             return definitionManager;
@@ -228,11 +251,6 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
         @SuppressWarnings("unchecked")
         public CommandResult<RuleViolation> execute(final Command<GraphCommandExecutionContext, RuleViolation> command) {
-            GraphCommandExecutionContext executionContext =
-                    new EmptyRulesCommandExecutionContext(definitionManager,
-                                                          factoryManager,
-                                                          ruleManager,
-                                                          index);
             return commandManager.execute(executionContext,
                                           command);
         }
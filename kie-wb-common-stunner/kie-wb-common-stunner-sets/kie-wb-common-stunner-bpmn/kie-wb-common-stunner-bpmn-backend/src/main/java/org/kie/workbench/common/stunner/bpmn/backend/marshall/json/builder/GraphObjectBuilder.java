@@ -63,6 +63,11 @@ public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
 
         Collection<GraphObjectBuilder<?, ?>> getBuilders();
 
+        /**
+         * Returns the builder for the given node identifier, or <code>null</code> if there is none.
+         */
+        GraphObjectBuilder<?, ?> getBuilder(final String nodeId);
+
         DefinitionManager getDefinitionManager();
 
         FactoryManager getFactoryManager();
@@ -31,6 +31,7 @@ import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQ
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourcesQuery;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringMapPageRow;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
@@ -69,15 +70,21 @@ public class FindBpmnProcessIdsQuery extends FindResourcesQuery implements Named
     public void validateTerms(Set<ValueIndexTerm> queryTerms) throws IllegalArgumentException {
         this.checkInvalidAndRequiredTerms(queryTerms,
                                           NAME,
-                                          new String[]{ValueResourceIndexTerm.class.getSimpleName()},
-                                          new Predicate[]{t -> {
-                                              if (!(t instanceof ValueResourceIndexTerm)) {
-                                                  return false;
-                                              } else {
-                                                  return ((ValueResourceIndexTerm) t).getTerm().equals(ResourceType.BPMN2.toString());
-                                              }
-                                          }});
-        this.checkTermsSize(1,
+                                          new String[]{
+                                                  ValueResourceIndexTerm.class.getSimpleName(),
+                                                  null // not required
+                                          },
+                                          new Predicate[]{
+                                                  t -> {
+                                                      if (!(t instanceof ValueResourceIndexTerm)) {
+                                                          return false;
+                                                      } else {
+                                                          return ((ValueResourceIndexTerm) t).getTerm().equals(ResourceType.BPMN2.toString());
+                                                      }
+                                                  },
+                                                  t -> t instanceof ValueProjectRootPathIndexTerm
+                                          });
+        this.checkTermsSize(2,
                             queryTerms);
     }
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HtmlUnescapingOutputStreamTest {
+
+    private static final String[] PARTS = new String[]{
+            "&", ";", "#", "x", "X", "amp", "lt", "gt", "quot", "eacute", "thetasym", "41", "1a", "&#", "&#x",
+            "<bpmn2:task name=\"", "\">", " ", "é", "€", "#x1F600;"
+    };
+
+    @Test
+    public void testNamedEntities() throws Exception {
+        assertEquals("<a b=\"c & d\">é</a>",
+                     unescape("&lt;a b=&quot;c &amp; d&quot;&gt;&eacute;&lt;/a&gt;"));
+    }
+
+    @Test
+    public void testNumericEntities() throws Exception {
+        assertEquals("A\nA😀",
+                     unescape("&#65;&#xA;&#X41;&#x1F600;"));
+    }
+
+    @Test
+    public void testNoEntities() throws Exception {
+        assertEquals("&amp &unknown; &#; &#x; &#1a; & ;",
+                     unescape("&amp &unknown; &#; &#x; &#1a; & ;"));
+    }
+
+    @Test
+    public void testPendingEntityIsWrittenOnFinish() throws Exception {
+        assertEquals("a &lt",
+                     unescape("a &lt"));
+    }
+
+    @Test
+    public void testEntitiesSplitAcrossWrites() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HtmlUnescapingOutputStream tested = new HtmlUnescapingOutputStream(output);
+        tested.write("a &l".getBytes(StandardCharsets.UTF_8));
+        tested.write('t');
+        tested.write("; &#".getBytes(StandardCharsets.UTF_8));
+        tested.write("65; b".getBytes(StandardCharsets.UTF_8));
+        tested.finish();
+        assertEquals("a < A b",
+                     output.toString("UTF-8"));
+    }
+
+    @Test
+    public void testSameAsUnescapingTheWholeString() throws Exception {
+        final Random random = new Random(1234);
+        for (int i = 0; i < 10000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int size = random.nextInt(12);
+            for (int j = 0; j < size; j++) {
+                builder.append(PARTS[random.nextInt(PARTS.length)]);
+            }
+            final String raw = builder.toString();
+            assertEquals(raw,
+                         StringEscapeUtils.unescapeHtml4(raw),
+                         unescape(raw,
+                                  random));
+        }
+    }
+
+    private static String unescape(final String raw) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HtmlUnescapingOutputStream tested = new HtmlUnescapingOutputStream(output);
+        tested.write(raw.getBytes(StandardCharsets.UTF_8));
+        tested.finish();
+        return output.toString("UTF-8");
+    }
+
+    // Writes the content in chunks of random size, byte by byte or as arrays.
+    private static String unescape(final String raw,
+                                   final Random random) throws IOException {
+        final byte[] bytes = raw.getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HtmlUnescapingOutputStream tested = new HtmlUnescapingOutputStream(output);
+        int position = 0;
+        while (position < bytes.length) {
+            final int length = Math.min(1 + random.nextInt(5),
+                                        bytes.length - position);
+            if (random.nextBoolean()) {
+                tested.write(bytes,
+                             position,
+                             length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    tested.write(bytes[position + i]);
+                }
+            }
+            position += length;
+        }
+        tested.finish();
+        return output.toString("UTF-8");
+    }
+}
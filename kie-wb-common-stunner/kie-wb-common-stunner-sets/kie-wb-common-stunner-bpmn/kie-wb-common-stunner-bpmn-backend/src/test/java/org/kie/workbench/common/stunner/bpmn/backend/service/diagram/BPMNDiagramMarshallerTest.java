@@ -17,15 +17,18 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import javax.enterprise.inject.spi.BeanManager;
 
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.eclipse.bpmn2.Activity;
 import org.eclipse.bpmn2.DataInput;
 import org.eclipse.bpmn2.DataInputAssociation;
@@ -1759,6 +1762,42 @@ public class BPMNDiagramMarshallerTest {
                       7);
     }
 
+    @Test
+    public void testMarshallToOutputStream() throws Exception {
+        for (String fileName : new String[]{BPMN_BASIC, BPMN_EVALUATION, BPMN_LANES, BPMN_SCRIPTTASK, BPMN_USERTASKASSIGNMENTS, BPMN_SIMULATIONPROPERTIES}) {
+            Diagram<Graph, Metadata> diagram = unmarshall(fileName);
+            String expected = marshallAsString(diagram);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            tested.marshall(diagram,
+                            output);
+            assertEquals(expected,
+                         output.toString("UTF-8"));
+            // Round trip.
+            Diagram<Graph, Metadata> diagram2 = unmarshall(new ByteArrayInputStream(output.toByteArray()));
+            assertDiagram(diagram2,
+                          countNodes(diagram));
+            assertEquals(diagram.getMetadata().getTitle(),
+                         diagram2.getMetadata().getTitle());
+        }
+    }
+
+    // What marshalling a diagram used to do: save the resource as string and unescape it as a whole.
+    private String marshallAsString(final Diagram<Graph, Metadata> diagram) throws Exception {
+        JBPMBpmn2ResourceImpl resource = tested.marshallToBpmn2Resource(diagram);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        resource.save(output,
+                      new HashMap<>());
+        return StringEscapeUtils.unescapeHtml4(output.toString("UTF-8"));
+    }
+
+    private static int countNodes(final Diagram<Graph, Metadata> diagram) {
+        int count = 0;
+        for (Object node : diagram.getGraph().nodes()) {
+            count++;
+        }
+        return count;
+    }
+
     @Test
     public void testMarshallScriptTask() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_SCRIPTTASK);
@@ -21,6 +21,7 @@ import java.util.Set;
 
 import org.junit.Test;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
 import org.kie.workbench.common.services.refactoring.service.ResourceType;
 import org.kie.workbench.common.stunner.bpmn.backend.query.FindBpmnProcessIdsQuery;
@@ -64,5 +65,12 @@ public class FindBpmnProcessIdsQueryTest {
         } catch (IllegalArgumentException iae) {
             fail("The activation term is acceptable here, but an exception was thrown.");
         }
+
+        queryTerms.add(new ValueProjectRootPathIndexTerm("default://master@repo/project"));
+        try {
+            query.validateTerms(queryTerms);
+        } catch (IllegalArgumentException iae) {
+            fail("The project root path term is acceptable here, but an exception was thrown.");
+        }
     }
 }
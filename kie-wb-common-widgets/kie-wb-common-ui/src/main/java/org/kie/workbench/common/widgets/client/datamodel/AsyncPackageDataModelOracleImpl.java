@@ -25,11 +25,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
 
+import com.google.gwt.core.client.Scheduler;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -57,7 +59,7 @@ import org.uberfire.commons.validation.PortablePreconditions;
 @Dependent
 public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOracle {
 
-    private Caller<IncrementalDataModelService> service;
+    private IncrementalDataModelServiceCoalescer updates;
     private Instance<DynamicValidator> validatorInstance;
     private DynamicValidator validator;
 
@@ -162,8 +164,21 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     @Inject
     public AsyncPackageDataModelOracleImpl( final Caller<IncrementalDataModelService> service,
                                             final Instance<DynamicValidator> validatorInstance ) {
-        this.service = service;
         this.validatorInstance = validatorInstance;
+        this.updates = new IncrementalDataModelServiceCoalescer( service,
+                                                                 new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+                                                                     @Override
+                                                                     public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                                                         AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
+                                                                                                                                       dataModel );
+                                                                     }
+                                                                 } );
+    }
+
+    @PostConstruct
+    public void setup() {
+        //Incremental content requested while handling one event is loaded with a single call to the server
+        updates.setScheduler( Scheduler.get() );
     }
 
     public Map<String, ModelField[]> getFilteredFactTypes() {
@@ -324,23 +339,22 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( isFactTypeAnEvent == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
-                    if ( isFactTypeAnEvent == null ) {
-                        isFactTypeAnEvent = false;
-                        filteredEventTypes.put( factType,
-                                                isFactTypeAnEvent );
-                    }
-                    callback.callback( isFactTypeAnEvent );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
+                                        if ( isFactTypeAnEvent == null ) {
+                                            isFactTypeAnEvent = false;
+                                            filteredEventTypes.put( factType,
+                                                                    isFactTypeAnEvent );
+                                        }
+                                        callback.callback( isFactTypeAnEvent );
+                                    }
+                                } );
 
         } else {
             callback.callback( isFactTypeAnEvent );
@@ -359,18 +373,17 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeSource == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final TypeSource typeSource = filteredTypeSources.get( factType );
-                    callback.callback( typeSource );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        final TypeSource typeSource = filteredTypeSources.get( factType );
+                                        callback.callback( typeSource );
+                                    }
+                                } );
 
         } else {
             callback.callback( typeSource );
@@ -407,17 +420,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( superTypes == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( filteredSuperTypes.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        callback.callback( filteredSuperTypes.get( factType ) );
+                                    }
+                                } );
 
         } else {
             callback.callback( superTypes );
@@ -436,23 +448,22 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
-                    if ( typeAnnotations == null ) {
-                        typeAnnotations = Collections.EMPTY_SET;
-                        filteredTypeAnnotations.put( factType,
-                                                     typeAnnotations );
-                    }
-                    callback.callback( typeAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
+                                        if ( typeAnnotations == null ) {
+                                            typeAnnotations = Collections.EMPTY_SET;
+                                            filteredTypeAnnotations.put( factType,
+                                                                         typeAnnotations );
+                                        }
+                                        callback.callback( typeAnnotations );
+                                    }
+                                } );
 
         } else {
             callback.callback( typeAnnotations );
@@ -471,23 +482,22 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeFieldsAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
-                    if ( typeFieldsAnnotations == null ) {
-                        typeFieldsAnnotations = Collections.EMPTY_MAP;
-                        filteredTypeFieldsAnnotations.put( factType,
-                                                           typeFieldsAnnotations );
-                    }
-                    callback.callback( typeFieldsAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
+                                        if ( typeFieldsAnnotations == null ) {
+                                            typeFieldsAnnotations = Collections.EMPTY_MAP;
+                                            filteredTypeFieldsAnnotations.put( factType,
+                                                                               typeFieldsAnnotations );
+                                        }
+                                        callback.callback( typeFieldsAnnotations );
+                                    }
+                                } );
 
         } else {
             callback.callback( typeFieldsAnnotations );
@@ -561,24 +571,22 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( fields == null || fields.length == 0 ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-
-                    // This will stop an infinite loop if there are no fields to be found
-                    if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
-                        callback.callback( new ModelField[ 0 ] );
-                    } else {
-                        getFieldCompletions( factType,
-                                             callback );
-                    }
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fgcnByFactName );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                fgcnByFactName,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        // This will stop an infinite loop if there are no fields to be found
+                                        if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
+                                            callback.callback( new ModelField[ 0 ] );
+                                        } else {
+                                            getFieldCompletions( factType,
+                                                                 callback );
+                                        }
+                                    }
+                                } );
 
         } else {
             callback.callback( fields );
@@ -874,19 +882,18 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
-                    callback.callback( getMethodInfos( parameterCount,
-                                                       methodInformation ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnByFactName );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                fqcnByFactName,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
+                                        callback.callback( getMethodInfos( parameterCount,
+                                                                           methodInformation ) );
+                                    }
+                                } );
 
         } else {
             callback.callback( getMethodInfos( parameterCount,
@@ -925,19 +932,18 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodParams( methodInformation,
-                                                        methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnFactName );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                fqcnFactName,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                        callback.callback( getMethodParams( methodInformation,
+                                                                            methodNameWithParams ) );
+                                    }
+                                } );
 
         } else {
             callback.callback( getMethodParams( methodInformation,
@@ -971,19 +977,18 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodInfo( methodInformation,
-                                                      methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                        callback.callback( getMethodInfo( methodInformation,
+                                                                          methodNameWithParams ) );
+                                    }
+                                } );
 
         } else {
             callback.callback( getMethodInfo( methodInformation,
@@ -1043,17 +1048,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( projectMethodInformation.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            updates.getUpdates( resourcePath,
+                                imports,
+                                factType,
+                                new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                    @Override
+                                    public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                        callback.callback( projectMethodInformation.get( factType ) );
+                                    }
+                                } );
 
         } else {
             callback.callback( methodInformation );
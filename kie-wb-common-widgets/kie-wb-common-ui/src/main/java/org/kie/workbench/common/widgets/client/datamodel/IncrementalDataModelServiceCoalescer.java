@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.core.client.Scheduler;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Collects the requests for incremental content of FactTypes made while handling one browser event and sends them
+ * to the server as a single batch when the event has been handled. The payload received is applied once and then
+ * handed to every callback waiting for it. Without a Scheduler every request is sent on its own, straight away.
+ */
+class IncrementalDataModelServiceCoalescer {
+
+    private final Caller<IncrementalDataModelService> service;
+
+    private final RemoteCallback<PackageDataModelOracleIncrementalPayload> populator;
+
+    private Scheduler scheduler;
+
+    private Path pendingResourcePath;
+    private Imports pendingImports;
+    private Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> pendingCallbacks = new LinkedHashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+
+    IncrementalDataModelServiceCoalescer( final Caller<IncrementalDataModelService> service,
+                                          final RemoteCallback<PackageDataModelOracleIncrementalPayload> populator ) {
+        this.service = service;
+        this.populator = populator;
+    }
+
+    void setScheduler( final Scheduler scheduler ) {
+        this.scheduler = scheduler;
+    }
+
+    void getUpdates( final Path resourcePath,
+                     final Imports imports,
+                     final String factType,
+                     final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback ) {
+        if ( scheduler == null ) {
+            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+                @Override
+                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                    populator.callback( dataModel );
+                    callback.callback( dataModel );
+                }
+            } ).getUpdates( resourcePath,
+                            imports,
+                            factType );
+            return;
+        }
+
+        //Requests for another resource or other imports can't be part of the pending batch
+        if ( !pendingCallbacks.isEmpty() && ( resourcePath != pendingResourcePath || imports != pendingImports ) ) {
+            flush();
+        }
+        if ( pendingCallbacks.isEmpty() ) {
+            pendingResourcePath = resourcePath;
+            pendingImports = imports;
+            scheduler.scheduleFinally( new Scheduler.ScheduledCommand() {
+                @Override
+                public void execute() {
+                    flush();
+                }
+            } );
+        }
+        List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = pendingCallbacks.get( factType );
+        if ( callbacks == null ) {
+            callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+            pendingCallbacks.put( factType,
+                                  callbacks );
+        }
+        callbacks.add( callback );
+    }
+
+    void flush() {
+        if ( pendingCallbacks.isEmpty() ) {
+            return;
+        }
+        final Path resourcePath = pendingResourcePath;
+        final Imports imports = pendingImports;
+        final Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> batch = pendingCallbacks;
+        pendingResourcePath = null;
+        pendingImports = null;
+        pendingCallbacks = new LinkedHashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+
+        final RemoteCallback<PackageDataModelOracleIncrementalPayload> fanOut = new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            @Override
+            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                populator.callback( dataModel );
+                for ( List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks : batch.values() ) {
+                    for ( RemoteCallback<PackageDataModelOracleIncrementalPayload> callback : callbacks ) {
+                        callback.callback( dataModel );
+                    }
+                }
+            }
+        };
+
+        if ( batch.size() == 1 ) {
+            service.call( fanOut ).getUpdates( resourcePath,
+                                               imports,
+                                               batch.keySet().iterator().next() );
+        } else {
+            final Set<String> factTypes = new HashSet<String>( batch.keySet() );
+            service.call( fanOut ).getBatchUpdates( resourcePath,
+                                                    imports,
+                                                    factTypes );
+        }
+    }
+}
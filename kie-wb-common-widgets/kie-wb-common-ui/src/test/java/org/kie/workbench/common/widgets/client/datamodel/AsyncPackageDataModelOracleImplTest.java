@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.enterprise.inject.Instance;
 
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -688,6 +689,14 @@ public class AsyncPackageDataModelOracleImplTest {
 
                 return null;
             }
+
+            @Override
+            public PackageDataModelOracleIncrementalPayload getBatchUpdates( Path resourcePath,
+                                                                             Imports imports,
+                                                                             Set<String> factTypes ) {
+                callback.callback( defaultPayload );
+                return null;
+            }
         };
 
         @Override
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.gwt.core.client.Scheduler;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalDataModelServiceCoalescerTest {
+
+    @Mock
+    private Caller<IncrementalDataModelService> caller;
+
+    @Mock
+    private IncrementalDataModelService service;
+
+    @Mock
+    private Scheduler scheduler;
+
+    @Mock
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> populator;
+
+    @Mock
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> callback1;
+
+    @Mock
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> callback2;
+
+    @Mock
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> callback3;
+
+    @Mock
+    private Path resourcePath;
+
+    private Imports imports = new Imports();
+
+    private PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+
+    private ArgumentCaptor<RemoteCallback> remoteCallbackCaptor = ArgumentCaptor.forClass( RemoteCallback.class );
+
+    private IncrementalDataModelServiceCoalescer coalescer;
+
+    @Before
+    public void setup() {
+        when( caller.call( remoteCallbackCaptor.capture() ) ).thenReturn( service );
+        coalescer = new IncrementalDataModelServiceCoalescer( caller,
+                                                              populator );
+    }
+
+    @Test
+    public void testRequestsAreSentStraightAwayWithoutScheduler() {
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Person",
+                              callback1 );
+
+        verify( service ).getUpdates( resourcePath,
+                                      imports,
+                                      "Person" );
+        remoteCallbackCaptor.getValue().callback( payload );
+        verify( populator ).callback( payload );
+        verify( callback1 ).callback( payload );
+    }
+
+    @Test
+    public void testRequestsOfOneEventAreSentInOneBatch() {
+        coalescer.setScheduler( scheduler );
+
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Person",
+                              callback1 );
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Address",
+                              callback2 );
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Person",
+                              callback3 );
+
+        final ArgumentCaptor<Scheduler.ScheduledCommand> commandCaptor = ArgumentCaptor.forClass( Scheduler.ScheduledCommand.class );
+        verify( scheduler ).scheduleFinally( commandCaptor.capture() );
+        verify( caller,
+                never() ).call( any( RemoteCallback.class ) );
+
+        commandCaptor.getValue().execute();
+
+        verify( service ).getBatchUpdates( resourcePath,
+                                           imports,
+                                           new HashSet<String>( asList( "Person",
+                                                                        "Address" ) ) );
+        verify( service,
+                never() ).getUpdates( any( Path.class ),
+                                      any( Imports.class ),
+                                      anyString() );
+
+        remoteCallbackCaptor.getValue().callback( payload );
+        verify( populator,
+                times( 1 ) ).callback( payload );
+        verify( callback1 ).callback( payload );
+        verify( callback2 ).callback( payload );
+        verify( callback3 ).callback( payload );
+    }
+
+    @Test
+    public void testSingleRequestUsesSingleFactTypeCall() {
+        coalescer.setScheduler( scheduler );
+
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Person",
+                              callback1 );
+        coalescer.flush();
+
+        verify( service ).getUpdates( resourcePath,
+                                      imports,
+                                      "Person" );
+        verify( service,
+                never() ).getBatchUpdates( any( Path.class ),
+                                           any( Imports.class ),
+                                           any( Set.class ) );
+    }
+
+    @Test
+    public void testRequestsWithOtherImportsAreNotBatchedTogether() {
+        coalescer.setScheduler( scheduler );
+
+        final Imports otherImports = new Imports();
+        coalescer.getUpdates( resourcePath,
+                              imports,
+                              "Person",
+                              callback1 );
+        coalescer.getUpdates( resourcePath,
+                              otherImports,
+                              "Address",
+                              callback2 );
+        coalescer.flush();
+
+        verify( service ).getUpdates( resourcePath,
+                                      imports,
+                                      "Person" );
+        verify( service ).getUpdates( resourcePath,
+                                      otherImports,
+                                      "Address" );
+    }
+}
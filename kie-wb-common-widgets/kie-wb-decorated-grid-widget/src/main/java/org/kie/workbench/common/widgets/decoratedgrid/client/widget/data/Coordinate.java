@@ -27,20 +27,17 @@ public class Coordinate {
     public Coordinate() {
         this.row = 0;
         this.col = 0;
-        this.displayString = "(R" + this.row + ",C" + this.col + ")";
     }
 
     public Coordinate( Coordinate c ) {
         this.row = c.row;
         this.col = c.col;
-        this.displayString = "(R" + c.row + ",C" + c.col + ")";
     }
 
     public Coordinate( int row,
                        int col ) {
         this.row = row;
         this.col = col;
-        this.displayString = "(R" + row + ",C" + col + ")";
     }
 
     public int getCol() {
@@ -74,6 +71,10 @@ public class Coordinate {
 
     @Override
     public String toString() {
+        //Built on demand as many Coordinates are created when indexing large tables
+        if ( displayString == null ) {
+            displayString = "(R" + row + ",C" + col + ")";
+        }
         return displayString;
     }
 
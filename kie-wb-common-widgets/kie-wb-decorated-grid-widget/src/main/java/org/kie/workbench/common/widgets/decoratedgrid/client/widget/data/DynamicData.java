@@ -136,7 +136,17 @@ public class DynamicData
         data.add( index,
                   rowData );
 
-        assertModelMerging();
+        //Rows of a different shape can only be handled by re-asserting the whole model
+        if ( data.size() == 1 || rowData.size() != data.get( index == 0 ? 1 : 0 ).size() || rowData.size() > visibleColumns.size() ) {
+            assertModelMerging();
+            return;
+        }
+        shiftRowIndexes( index + 1,
+                         1 );
+        assertModelMerging( index,
+                            index,
+                            0,
+                            rowData.size() - 1 );
     }
 
     /**
@@ -205,7 +215,15 @@ public class DynamicData
 
     public DynamicDataRow deleteRow( int index ) {
         DynamicDataRow row = data.remove( index );
-        assertModelMerging();
+        if ( data.size() == 0 ) {
+            return row;
+        }
+        shiftRowIndexes( index,
+                         -1 );
+        assertModelMerging( index,
+                            index - 1,
+                            0,
+                            data.get( 0 ).size() - 1 );
         return row;
     }
 
@@ -297,7 +315,7 @@ public class DynamicData
         //Delete "grouped" row and replace with individual rows
         List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                              bRecursive );
-        deleteRow( startRowIndex );
+        data.remove( startRowIndex );
         data.addAll( startRowIndex,
                      expandedRow );
 
@@ -335,7 +353,10 @@ public class DynamicData
             throw new IllegalArgumentException( "c cannot be null" );
         }
         data.get( c.getRow() ).get( c.getCol() ).setValue( value );
-        assertModelMerging();
+        assertModelMerging( c.getRow(),
+                            c.getRow(),
+                            c.getCol(),
+                            c.getCol() );
     }
 
     /**
@@ -463,47 +484,118 @@ public class DynamicData
         }
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
+            assertRowIndexes( iRow );
+        }
+    }
 
-            int colCount = 0;
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+    //Index rows from firstRow onwards. Rows up to lastRow are re-initialised. Indexes of the following rows only
+    //depend upon the row before, so indexing stops at the first of them whose HTML coordinates are unchanged.
+    private void assertModelIndexes( int firstRow,
+                                     int lastRow ) {
+        for ( int iRow = firstRow; iRow < data.size(); iRow++ ) {
+            if ( iRow <= lastRow ) {
+                initialiseRowIndexes( iRow );
+                assertRowIndexes( iRow );
+            } else if ( !assertRowIndexes( iRow ) ) {
+                return;
+            }
+        }
+    }
+
+    //Index a single row, returning true if the HTML coordinate of any cell changed
+    private boolean assertRowIndexes( int iRow ) {
+        boolean isChanged = false;
+        DynamicDataRow row = data.get( iRow );
 
-                int newRow = iRow;
-                int newCol = colCount;
-                CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
-                indexCell.setCoordinate( new Coordinate( iRow,
-                                                         iCol ) );
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
 
-                // Don't index hidden columns; indexing is used to
-                // map between HTML elements and the data behind
-                if ( visibleColumns.get( iCol ) ) {
+            int newRow = iRow;
+            int newCol = colCount;
+            CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
+            indexCell.setCoordinate( new Coordinate( iRow,
+                                                     iCol ) );
 
-                    if ( indexCell.getRowSpan() != 0 ) {
-                        newRow = iRow;
-                        newCol = colCount++;
+            // Don't index hidden columns; indexing is used to
+            // map between HTML elements and the data behind
+            if ( visibleColumns.get( iCol ) ) {
 
-                        CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
-                        cell.setPhysicalCoordinate( new Coordinate( iRow,
-                                                                    iCol ) );
+                if ( indexCell.getRowSpan() != 0 ) {
+                    newRow = iRow;
+                    newCol = colCount++;
+
+                    CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
+                    cell.setPhysicalCoordinate( new Coordinate( iRow,
+                                                                iCol ) );
 
-                    } else {
-                        DynamicDataRow priorRow = data.get( iRow - 1 );
-                        CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
-                        Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                        newRow = priorHtmlCoordinate.getRow();
-                        newCol = priorHtmlCoordinate.getCol();
-                    }
                 } else {
-                    final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
-                    CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                    DynamicDataRow priorRow = data.get( iRow - 1 );
+                    CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
                     Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
                     newRow = priorHtmlCoordinate.getRow();
                     newCol = priorHtmlCoordinate.getCol();
                 }
-                indexCell.setHtmlCoordinate( new Coordinate( newRow,
-                                                             newCol ) );
+            } else {
+                final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
+                CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
+                newRow = priorHtmlCoordinate.getRow();
+                newCol = priorHtmlCoordinate.getCol();
             }
+            Coordinate htmlCoordinate = new Coordinate( newRow,
+                                                        newCol );
+            if ( !htmlCoordinate.equals( indexCell.getHtmlCoordinate() ) ) {
+                isChanged = true;
+            }
+            indexCell.setHtmlCoordinate( htmlCoordinate );
         }
+        return isChanged;
+    }
+
+    //Initialise a row's coordinates to the state left by removeModelMerging()
+    private void initialiseRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            CellValue<?> cell = row.get( iCol );
+            Coordinate c = new Coordinate( iRow,
+                                           iCol );
+            cell.setCoordinate( c );
+            cell.setHtmlCoordinate( c );
+            cell.setPhysicalCoordinate( c );
+        }
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            if ( visibleColumns.get( iCol ) ) {
+                row.get( colCount++ ).setPhysicalCoordinate( new Coordinate( iRow,
+                                                                             iCol ) );
+            }
+        }
+    }
+
+    //Move the coordinates of rows from firstRow onwards following the insertion or deletion of a row
+    private void shiftRowIndexes( int firstRow,
+                                  int delta ) {
+        for ( int iRow = firstRow; iRow < data.size(); iRow++ ) {
+            DynamicDataRow row = data.get( iRow );
+            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+                CellValue<?> cell = row.get( iCol );
+                cell.setCoordinate( shift( cell.getCoordinate(),
+                                           delta ) );
+                cell.setHtmlCoordinate( shift( cell.getHtmlCoordinate(),
+                                               delta ) );
+                cell.setPhysicalCoordinate( shift( cell.getPhysicalCoordinate(),
+                                                   delta ) );
+            }
+        }
+    }
+
+    private Coordinate shift( Coordinate c,
+                              int delta ) {
+        if ( c == null ) {
+            return null;
+        }
+        return new Coordinate( c.getRow() + delta,
+                               c.getCol() );
     }
 
     /**
@@ -512,7 +604,6 @@ public class DynamicData
      * to the add/remove methods provided publicly herein, such as bulk move
      * operations.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public void assertModelMerging() {
 
         if ( data.size() == 0 ) {
@@ -527,76 +618,144 @@ public class DynamicData
         //Only apply merging if merged
         if ( isMerged ) {
 
-            int minRowIndex = 0;
-            int maxRowIndex = data.size();
-
-            //Add an empty row to the end of the data to simplify detection of merged cells that run to the end of the table
-            DynamicDataRow blankRow = new DynamicDataRow();
+            //Look in columns for cells with identical values
             for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue cv = new CellValue( null );
-                Coordinate c = new Coordinate( data.size(),
-                                               iCol );
-                cv.setCoordinate( c );
-                cv.setHtmlCoordinate( c );
-                cv.setPhysicalCoordinate( c );
-                blankRow.add( cv );
+                assertColumnMerging( iCol,
+                                     0,
+                                     data.size() - 1 );
             }
-            data.add( blankRow );
-            maxRowIndex++;
 
-            //Look in columns for cells with identical values
-            for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue<?> cell1 = data.get( minRowIndex ).get( iCol );
-                CellValue<?> cell2 = null;
-                for ( int iRow = minRowIndex + 1; iRow < maxRowIndex; iRow++ ) {
-                    cell1.setRowSpan( 1 );
-                    cell2 = data.get( iRow ).get( iCol );
-
-                    //Merge if both cells contain the same value and neither is grouped
-                    boolean bSplit = true;
-                    if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
-                        if ( cell1.getValue().equals( cell2.getValue() ) ) {
-                            bSplit = false;
-                            if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                            if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                        }
-                    } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
-                        bSplit = false;
-                        if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                        if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                    }
+        }
 
-                    if ( bSplit ) {
-                        mergeCells( cell1,
-                                    cell2 );
-                        cell1 = cell2;
-                    }
+        // Set indexes after merging has been corrected
+        assertModelIndexes();
+
+    }
 
+    //Ensure merging and indexing is reflected in the model after rows firstRow to lastRow (inclusive) of columns
+    //firstCol to lastCol (inclusive) have changed, or a row has been deleted at firstRow (when lastRow < firstRow).
+    //Only the runs of merged cells adjacent to the changed rows can change and are merged again, followed by the
+    //indexes of those rows and of the rows below that depend upon them.
+    private void assertModelMerging( int firstRow,
+                                     int lastRow,
+                                     int firstCol,
+                                     int lastCol ) {
+
+        if ( data.size() == 0 ) {
+            return;
+        }
+
+        int minRowIndex = firstRow;
+        int maxRowIndex = lastRow;
+        for ( int iCol = firstCol; iCol <= lastCol; iCol++ ) {
+            if ( isMerged ) {
+                int startRowIndex = ( firstRow > 0 ? findMergedCellStart( firstRow - 1,
+                                                                          iCol ) : 0 );
+                int endRowIndex = ( lastRow < data.size() - 1 ? findMergedCellEnd( lastRow + 1,
+                                                                                   iCol ) : data.size() - 1 );
+                endRowIndex = assertColumnMerging( iCol,
+                                                   startRowIndex,
+                                                   endRowIndex );
+                minRowIndex = Math.min( minRowIndex,
+                                        startRowIndex );
+                maxRowIndex = Math.max( maxRowIndex,
+                                        endRowIndex );
+            } else {
+                for ( int iRow = firstRow; iRow <= lastRow; iRow++ ) {
+                    data.get( iRow ).get( iCol ).setRowSpan( 1 );
                 }
             }
+        }
+
+        // Set indexes after merging has been corrected
+        assertModelIndexes( minRowIndex,
+                            maxRowIndex );
+    }
+
+    //Merge cells with identical values in a column from the start row, which must be the top of a merged cell, to at
+    //least the end row (inclusive). Cells are compared with the top of their merged cell, so a change can affect the
+    //merging below the end row: merging continues until it splits at a row that was already the top of a merged cell,
+    //from where the existing merging still holds. Returns the last row merged.
+    private int assertColumnMerging( int iCol,
+                                     int startRowIndex,
+                                     int endRowIndex ) {
+        int iCell1Row = startRowIndex;
+        CellValue<?> cell1 = data.get( iCell1Row ).get( iCol );
+        for ( int iRow = startRowIndex + 1; iRow <= data.size(); iRow++ ) {
+            cell1.setRowSpan( 1 );
+
+            //Cells run to the end of the table
+            if ( iRow == data.size() ) {
+                mergeCells( iCol,
+                            iCell1Row,
+                            iRow );
+                return iRow - 1;
+            }
 
-            //Remove dummy blank row
-            data.remove( blankRow );
+            CellValue<?> cell2 = data.get( iRow ).get( iCol );
+            if ( isSplit( cell1,
+                          cell2 ) ) {
+                mergeCells( iCol,
+                            iCell1Row,
+                            iRow );
+                if ( iRow > endRowIndex && cell2.getRowSpan() != 0 ) {
+                    return iRow - 1;
+                }
+                iCell1Row = iRow;
+                cell1 = cell2;
+            }
+        }
+        return data.size() - 1;
+    }
 
+    //Merge if both cells contain the same value and neither is grouped
+    private boolean isSplit( CellValue<?> cell1,
+                             CellValue<?> cell2 ) {
+        boolean bSplit = true;
+        if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
+            if ( cell1.getValue().equals( cell2.getValue() ) ) {
+                bSplit = false;
+                if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+                if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+            }
+        } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
+            bSplit = false;
+            if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+            if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
         }
+        return bSplit;
+    }
 
-        // Set indexes after merging has been corrected
-        assertModelIndexes();
+    //Find the top row of the merged cell containing the given row
+    private int findMergedCellStart( int iRow,
+                                     int iCol ) {
+        while ( iRow > 0 && data.get( iRow ).get( iCol ).getRowSpan() == 0 ) {
+            iRow--;
+        }
+        return iRow;
+    }
 
+    //Find the bottom row of the merged cell containing the given row
+    private int findMergedCellEnd( int iRow,
+                                   int iCol ) {
+        while ( iRow < data.size() - 1 && data.get( iRow + 1 ).get( iCol ).getRowSpan() == 0 ) {
+            iRow++;
+        }
+        return iRow;
     }
 
     //Expand a grouped row and return a list of expanded rows
@@ -653,19 +812,17 @@ public class DynamicData
         return nc;
     }
 
-    //Merge between the two provided cells
-    private void mergeCells( CellValue<?> cell1,
-                             CellValue<?> cell2 ) {
-        int iStartRowIndex = cell1.getCoordinate().getRow();
-        int iEndRowIndex = cell2.getCoordinate().getRow();
-        int iColIndex = cell1.getCoordinate().getCol();
+    //Merge the cells of a column between the start row (inclusive) and end row (exclusive)
+    private void mergeCells( int iColIndex,
+                             int iStartRowIndex,
+                             int iEndRowIndex ) {
 
         //Any rows that are grouped need row span of zero
         for ( int iRow = iStartRowIndex; iRow < iEndRowIndex; iRow++ ) {
             DynamicDataRow row = data.get( iRow );
             row.get( iColIndex ).setRowSpan( 0 );
         }
-        cell1.setRowSpan( iEndRowIndex - iStartRowIndex );
+        data.get( iStartRowIndex ).get( iColIndex ).setRowSpan( iEndRowIndex - iStartRowIndex );
 
     }
 
@@ -687,7 +844,7 @@ public class DynamicData
             if ( row instanceof GroupedDynamicDataRow ) {
                 List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                                      true );
-                deleteRow( iRow );
+                data.remove( iRow );
                 data.addAll( iRow,
                              expandedRow );
                 iRow = iRow + expandedRow.size() - 1;
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks edits, row additions and row deletions on a synthetic merged table leave the same merging and indexing as
+ * re-asserting the whole model.
+ */
+public class DynamicDataTestsWithIncrementalMerging {
+
+    private static final int ROWS = 500;
+
+    private static final int COLUMNS = 10;
+
+    private static final int OPERATIONS = 200;
+
+    private final Random random = new Random( 1234 );
+
+    private DynamicData data;
+
+    @Before
+    public void setup() {
+        data = new DynamicData();
+        for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+            data.addColumn( iCol,
+                            new ArrayList<CellValue<? extends Comparable<?>>>(),
+                            iCol != 3 );
+        }
+        data.setMerged( true );
+        populate();
+    }
+
+    @Test
+    public void testEdits() {
+        for ( int i = 0; i < OPERATIONS; i++ ) {
+            data.set( new Coordinate( random.nextInt( data.size() ),
+                                      random.nextInt( COLUMNS ) ),
+                      randomValue() );
+        }
+        assertSameAsFullMerge();
+    }
+
+    @Test
+    public void testRowAdditions() {
+        for ( int i = 0; i < OPERATIONS; i++ ) {
+            data.addRow( random.nextInt( data.size() + 1 ),
+                         makeRow() );
+        }
+        assertSameAsFullMerge();
+    }
+
+    @Test
+    public void testRowDeletions() {
+        for ( int i = 0; i < OPERATIONS; i++ ) {
+            data.deleteRow( random.nextInt( data.size() ) );
+        }
+        assertSameAsFullMerge();
+    }
+
+    //Columns further to the right have shorter runs of identical values
+    private void populate() {
+        for ( int iRow = 0; iRow < ROWS; iRow++ ) {
+            final DynamicDataRow row = new DynamicDataRow();
+            for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+                row.add( new CellValue<String>( "v" + ( iRow / ( COLUMNS - iCol + 1 ) ) % 3 ) );
+            }
+            data.addRow( row );
+        }
+    }
+
+    private DynamicDataRow makeRow() {
+        final DynamicDataRow row = new DynamicDataRow();
+        for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+            row.add( new CellValue<String>( randomValue() ) );
+        }
+        return row;
+    }
+
+    private String randomValue() {
+        return "v" + random.nextInt( 3 );
+    }
+
+    private void assertSameAsFullMerge() {
+        final String incremental = describe();
+        data.assertModelMerging();
+        assertEquals( describe(),
+                      incremental );
+    }
+
+    private String describe() {
+        final StringBuilder sb = new StringBuilder();
+        for ( DynamicDataRow row : data ) {
+            for ( CellValue<?> cell : row ) {
+                sb.append( cell.getRowSpan() )
+                        .append( cell.getCoordinate() )
+                        .append( cell.getHtmlCoordinate() )
+                        .append( cell.getPhysicalCoordinate() )
+                        .append( ' ' );
+            }
+            sb.append( '\n' );
+        }
+        return sb.toString();
+    }
+}